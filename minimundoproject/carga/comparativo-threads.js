@@ -0,0 +1,89 @@
+// Teste de carga comparativo: threads de plataforma x threads virtuais.
+//
+// 1. Suba a aplicação em cada modo:
+//      THREADS_VIRTUAIS=false ./mvnw spring-boot:run
+//      THREADS_VIRTUAIS=true  ./mvnw spring-boot:run
+// 2. Rode o mesmo cenário contra cada uma e compare vazão (http_reqs) e p(99):
+//      k6 run -e MODO=plataforma carga/comparativo-threads.js
+//      k6 run -e MODO=virtual    carga/comparativo-threads.js
+//    O resumo de cada modo é gravado em carga/resultado-<MODO>.json (tabela no README.md).
+//
+// O cenário mistura login (bcrypt) com listagens de projetos e tarefas (JDBC),
+// em rajadas acima do pool padrão do Tomcat (200 threads).
+import http from 'k6/http';
+import { check } from 'k6';
+import { Counter } from 'k6/metrics';
+import { textSummary } from 'https://jslib.k6.io/k6-summary/0.0.2/index.js';
+
+const BASE = __ENV.BASE_URL || 'http://localhost:8080';
+const MODO = __ENV.MODO || 'indefinido';
+
+export const options = {
+    scenarios: {
+        rajadas: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '20s', target: 100 },
+                { duration: '40s', target: 600 },
+                { duration: '20s', target: 0 },
+            ],
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    tags: { modo: MODO },
+};
+
+const JSON_HEADERS = { 'Content-Type': 'application/json' };
+
+// Respostas 503 (sem conexão do banco dentro da espera máxima)
+const recusadas = new Counter('recusadas_503');
+
+export function setup() {
+    const email = `carga-${Date.now()}@minimundo.com`;
+    const credenciais = JSON.stringify({ nome: 'Carga', email, senha: '123456' });
+    const registro = http.post(`${BASE}/api/auth/register`, credenciais, { headers: JSON_HEADERS });
+    const token = registro.json('token');
+    const auth = { headers: Object.assign({ Authorization: `Bearer ${token}` }, JSON_HEADERS) };
+
+    const projeto = http.post(`${BASE}/api/projetos`,
+        JSON.stringify({ nome: `Projeto carga ${Date.now()}`, descricao: 'Teste de carga' }), auth);
+    const projetoId = projeto.json('id');
+    for (let i = 0; i < 100; i++) {
+        http.post(`${BASE}/api/tarefas`,
+            JSON.stringify({ projetoId, descricao: `Tarefa ${i}` }), auth);
+    }
+    return { email, token, projetoId };
+}
+
+export default function (dados) {
+    const auth = { headers: { Authorization: `Bearer ${dados.token}` } };
+
+    if (Math.random() < 0.1) {
+        const login = http.post(`${BASE}/api/auth/login`,
+            JSON.stringify({ email: dados.email, senha: '123456' }), { headers: JSON_HEADERS });
+        contar503(login);
+        check(login, { 'login 200': (r) => r.status === 200 });
+        return;
+    }
+
+    const projetos = http.get(`${BASE}/api/projetos`, auth);
+    contar503(projetos);
+    check(projetos, { 'projetos 200': (r) => r.status === 200 });
+
+    const tarefas = http.get(`${BASE}/api/tarefas?projetoId=${dados.projetoId}`, auth);
+    contar503(tarefas);
+    check(tarefas, { 'tarefas 200': (r) => r.status === 200 });
+}
+
+function contar503(resposta) {
+    if (resposta.status === 503)
+        recusadas.add(1);
+}
+
+export function handleSummary(resumo) {
+    return {
+        stdout: textSummary(resumo, { indent: ' ', enableColors: true }),
+        [`carga/resultado-${MODO}.json`]: JSON.stringify(resumo, null, 2),
+    };
+}
@@ -0,0 +1,31 @@
+package com.projectasks.minimundoproject.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.projectasks.minimundoproject.MinimundoprojectApplication;
+
+/**
+ * Sobe a aplicação sem servidor web, com um H2 em memória exclusivo e logs reduzidos
+ */
+public final class ContextoBenchmark {
+
+    private ContextoBenchmark() {
+    }
+
+    public static ConfigurableApplicationContext iniciar() {
+        return new SpringApplicationBuilder(MinimundoprojectApplication.class)
+            .web(WebApplicationType.NONE)
+            .logStartupInfo(false)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:benchmark-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1",
+                "spring.jpa.show-sql=false",
+                "spring.devtools.restart.enabled=false",
+                "logging.level.root=WARN",
+                "logging.level.com.projectasks=WARN",
+                "logging.level.org.hibernate.SQL=WARN",
+                "logging.level.org.springframework.security=WARN")
+            .run();
+    }
+}
@@ -0,0 +1,90 @@
+package com.projectasks.minimundoproject.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.projectasks.minimundoproject.model.Projeto;
+import com.projectasks.minimundoproject.model.Tarefa;
+import com.projectasks.minimundoproject.model.Tarefa.StatusTarefa;
+import com.projectasks.minimundoproject.model.Usuario;
+import com.projectasks.minimundoproject.util.JwtUtil;
+
+/**
+ * Massa de dados e objetos compartilhados pelos benchmarks
+ */
+public final class DadosBenchmark {
+
+    public static final String SEGREDO = "minimundo-secret-key-2024-super-segura-change-in-production-please";
+
+    private DadosBenchmark() {
+    }
+
+    /**
+     * JwtUtil configurado como no application.properties, sem subir o Spring
+     */
+    public static JwtUtil novoJwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SEGREDO);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxSize", 10_000);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        return jwtUtil;
+    }
+
+    public static Usuario usuario(long id) {
+        Usuario usuario = new Usuario();
+        usuario.setId(id);
+        usuario.setNome("Usuário " + id);
+        usuario.setEmail("usuario" + id + "@minimundo.com");
+        usuario.setSenha("$2a$10$abcdefghijklmnopqrstuv");
+        usuario.setCreatedAt(LocalDateTime.now());
+        return usuario;
+    }
+
+    public static Projeto projeto(long id, Usuario usuario) {
+        Projeto projeto = new Projeto();
+        projeto.setId(id);
+        projeto.setNome("Projeto " + id);
+        projeto.setDescricao("Descrição do projeto " + id + " com um texto de tamanho realista para a listagem");
+        projeto.setOrcamentoDisponivel(new BigDecimal("150000.00"));
+        projeto.setUsuario(usuario);
+        projeto.setCreatedAt(LocalDateTime.now());
+        projeto.setUpdatedAt(LocalDateTime.now());
+        return projeto;
+    }
+
+    /**
+     * Tarefas em memória (com IDs); uma a cada cinco depende da anterior
+     */
+    public static List<Tarefa> tarefas(Projeto projeto, int quantidade) {
+        List<Tarefa> tarefas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Tarefa tarefa = novaTarefa(projeto, i, i > 0 && i % 5 == 0 ? tarefas.get(i - 1) : null);
+            tarefa.setId(projeto.getId() * 100_000 + i + 1);
+            tarefa.setCreatedAt(LocalDateTime.now());
+            tarefa.setUpdatedAt(LocalDateTime.now());
+            tarefas.add(tarefa);
+        }
+        return tarefas;
+    }
+
+    /**
+     * Tarefa sem ID, pronta para ser persistida
+     */
+    public static Tarefa novaTarefa(Projeto projeto, int indice, Tarefa predecessora) {
+        LocalDate inicio = LocalDate.of(2024, 1, 1).plusDays(indice);
+        Tarefa tarefa = new Tarefa();
+        tarefa.setDescricao("Tarefa " + indice + " - levantamento, execução e revisão da etapa");
+        tarefa.setProjeto(projeto);
+        tarefa.setDataInicio(inicio);
+        tarefa.setDataFim(inicio.plusDays(indice % 7));
+        tarefa.setStatus(indice % 3 == 0 ? StatusTarefa.CONCLUIDA : StatusTarefa.NAO_CONCLUIDA);
+        tarefa.setTarefaPredecessora(predecessora);
+        return tarefa;
+    }
+}
@@ -0,0 +1,105 @@
+package com.projectasks.minimundoproject.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.projectasks.minimundoproject.benchmark.ContextoBenchmark;
+import com.projectasks.minimundoproject.benchmark.DadosBenchmark;
+import com.projectasks.minimundoproject.dto.response.TarefaResponse;
+import com.projectasks.minimundoproject.model.Projeto;
+import com.projectasks.minimundoproject.model.Tarefa;
+import com.projectasks.minimundoproject.model.Usuario;
+import com.projectasks.minimundoproject.repository.ProjetoRepository;
+import com.projectasks.minimundoproject.repository.TarefaRepository;
+import com.projectasks.minimundoproject.repository.UsuarioRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * TarefaService.findByProjeto contra o H2 em memória da aplicação,
+ * populado com projetos e tarefas (incluindo cadeias de predecessoras).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ConsultaTarefasBenchmark {
+
+    private static final int PROJETOS = 20;
+
+    @Param({"50", "500"})
+    private int tarefasPorProjeto;
+
+    private ConfigurableApplicationContext contexto;
+    private TarefaService tarefaService;
+    private Long usuarioId;
+    private final List<Long> projetoIds = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        contexto = ContextoBenchmark.iniciar();
+        tarefaService = contexto.getBean(TarefaService.class);
+        popular();
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<TarefaResponse> findByProjeto() {
+        Long projetoId = projetoIds.get(ThreadLocalRandom.current().nextInt(projetoIds.size()));
+        return tarefaService.findByProjeto(projetoId, usuarioId, null, null);
+    }
+
+    private void popular() {
+        UsuarioRepository usuarioRepository = contexto.getBean(UsuarioRepository.class);
+        ProjetoRepository projetoRepository = contexto.getBean(ProjetoRepository.class);
+        TarefaRepository tarefaRepository = contexto.getBean(TarefaRepository.class);
+        EntityManager entityManager = contexto.getBean(EntityManager.class);
+        TransactionTemplate transacao = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+
+        Usuario usuario = DadosBenchmark.usuario(0L);
+        usuario.setId(null);
+        usuarioId = usuarioRepository.save(usuario).getId();
+
+        for (int p = 1; p <= PROJETOS; p++) {
+            int numero = p;
+            transacao.executeWithoutResult(status -> {
+                Projeto projeto = DadosBenchmark.projeto(numero, entityManager.getReference(Usuario.class, usuarioId));
+                projeto.setId(null);
+                projeto = projetoRepository.save(projeto);
+                projetoIds.add(projeto.getId());
+
+                Tarefa anterior = null;
+                for (int i = 0; i < tarefasPorProjeto; i++) {
+                    Tarefa tarefa = DadosBenchmark.novaTarefa(projeto, i, i > 0 && i % 5 == 0 ? anterior : null);
+                    anterior = tarefaRepository.save(tarefa);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+}
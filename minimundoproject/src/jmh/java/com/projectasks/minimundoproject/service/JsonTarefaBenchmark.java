@@ -0,0 +1,56 @@
+package com.projectasks.minimundoproject.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectasks.minimundoproject.benchmark.DadosBenchmark;
+import com.projectasks.minimundoproject.dto.response.TarefaResponse;
+import com.projectasks.minimundoproject.model.Projeto;
+
+/**
+ * Serialização JSON de listas de TarefaResponse com o ObjectMapper padrão do Spring
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonTarefaBenchmark {
+
+    @Param({"20", "100", "1000"})
+    private int quantidade;
+
+    private ObjectMapper objectMapper;
+    private List<TarefaResponse> tarefas;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Projeto projeto = DadosBenchmark.projeto(1L, DadosBenchmark.usuario(1L));
+        TarefaService tarefaService = MapeamentoBenchmark.tarefaService();
+        tarefas = DadosBenchmark.tarefas(projeto, quantidade).stream()
+            .map(tarefaService::toResponse)
+            .toList();
+    }
+
+    @Benchmark
+    public byte[] serializarLista() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tarefas);
+    }
+}
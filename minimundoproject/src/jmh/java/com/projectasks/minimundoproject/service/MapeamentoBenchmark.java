@@ -0,0 +1,112 @@
+package com.projectasks.minimundoproject.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.projectasks.minimundoproject.benchmark.DadosBenchmark;
+import com.projectasks.minimundoproject.dto.response.ProjetoResponse;
+import com.projectasks.minimundoproject.dto.response.TarefaResponse;
+import com.projectasks.minimundoproject.model.Projeto;
+import com.projectasks.minimundoproject.model.Tarefa;
+import com.projectasks.minimundoproject.model.Usuario;
+import com.projectasks.minimundoproject.repository.projection.ContagemTarefasProjection;
+
+/**
+ * Mapeamento entidade → DTO dos serviços, sem banco.
+ * Fica no pacote service para acessar os métodos toResponse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapeamentoBenchmark {
+
+    @Param({"100"})
+    private int quantidade;
+
+    private ProjetoService projetoService;
+    private TarefaService tarefaService;
+    private List<Projeto> projetos;
+    private List<Tarefa> tarefas;
+    private Map<Long, ContagemTarefasProjection> contagens;
+
+    /**
+     * toResponse não usa as dependências do serviço
+     */
+    static TarefaService tarefaService() {
+        return new TarefaService(null, null, null, null, null, null);
+    }
+
+    static ProjetoService projetoService() {
+        return new ProjetoService(null, null, null, null, null, null);
+    }
+
+    @Setup
+    public void setup() {
+        projetoService = projetoService();
+        tarefaService = tarefaService();
+
+        Usuario usuario = DadosBenchmark.usuario(1L);
+        projetos = new ArrayList<>(quantidade);
+        contagens = new HashMap<>();
+        for (long id = 1; id <= quantidade; id++) {
+            projetos.add(DadosBenchmark.projeto(id, usuario));
+            contagens.put(id, contagem(id, 40L, 15L));
+        }
+        tarefas = DadosBenchmark.tarefas(projetos.get(0), quantidade);
+    }
+
+    @Benchmark
+    public List<ProjetoResponse> projetoToResponse() {
+        List<ProjetoResponse> resultado = new ArrayList<>(projetos.size());
+        for (Projeto projeto : projetos) {
+            resultado.add(projetoService.toResponse(projeto, contagens));
+        }
+        return resultado;
+    }
+
+    @Benchmark
+    public List<TarefaResponse> tarefaToResponse() {
+        List<TarefaResponse> resultado = new ArrayList<>(tarefas.size());
+        for (Tarefa tarefa : tarefas) {
+            resultado.add(tarefaService.toResponse(tarefa));
+        }
+        return resultado;
+    }
+
+    private static ContagemTarefasProjection contagem(Long projetoId, Long total, Long concluidas) {
+        return new ContagemTarefasProjection() {
+            @Override
+            public Long getProjetoId() {
+                return projetoId;
+            }
+
+            @Override
+            public Long getTotalTarefas() {
+                return total;
+            }
+
+            @Override
+            public Long getTarefasConcluidas() {
+                return concluidas;
+            }
+        };
+    }
+}
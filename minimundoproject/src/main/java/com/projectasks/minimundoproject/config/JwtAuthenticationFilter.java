@@ -2,6 +2,7 @@ package com.projectasks.minimundoproject.config;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -9,8 +10,11 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.projectasks.minimundoproject.util.JwtPrincipal;
 import com.projectasks.minimundoproject.util.JwtUtil;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,6 +25,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     @Autowired
     private JwtUtil jwtUtil;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
     
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
@@ -47,13 +54,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String jwt = getJwtFromRequest(request);
 
-        if (jwt != null && jwtUtil.validateToken(jwt)) {
-            Long userId = jwtUtil.getUserIdFromToken(jwt);
+        if (jwt != null) {
+            // Verificação e extração em uma única leitura do token
+            Timer.Sample amostra = Timer.start(meterRegistry);
+            Optional<JwtPrincipal> verificado = jwtUtil.verify(jwt);
+            amostra.stop(Timer.builder("jwt.verificacao")
+                .description("Tempo de verificação do token JWT")
+                .tag("resultado", verificado.isPresent() ? "valido" : "invalido")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry));
 
-            UsernamePasswordAuthenticationToken authentication =
-                new UsernamePasswordAuthenticationToken(userId, null, List.of());
+            verificado.ifPresent(principal -> {
+                UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(principal.getUsuarioId(), null, List.of());
 
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            });
         }
         filterChain.doFilter(request, response);
     }
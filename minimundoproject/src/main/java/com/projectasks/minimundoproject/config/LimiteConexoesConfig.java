@@ -0,0 +1,45 @@
+package com.projectasks.minimundoproject.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ativo apenas no modo de threads virtuais.
+ * Sem o limite natural do pool de threads do Tomcat, cada requisição vira uma thread
+ * virtual; o limite fica na obtenção da conexão, que é onde está o recurso escasso.
+ * Requisições sem banco (páginas estáticas, actuator, o hash do bcrypt no login) não
+ * esperam vaga; as que pedem conexão esperam no máximo concorrencia.banco.espera-maxima-ms
+ * e recebem 503 com Retry-After (GlobalExceptionHandler).
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class LimiteConexoesConfig {
+
+    /**
+     * Reduz a espera por conexão dos pools do Hikari; um limite menor já configurado
+     * (ex.: réplicas) é mantido
+     */
+    @Bean
+    public static BeanPostProcessor limiteEsperaConexao(
+            @Value("${concorrencia.banco.espera-maxima-ms:2000}") long esperaMaximaMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource pool && pool.getConnectionTimeout() > esperaMaximaMs) {
+                    pool.setConnectionTimeout(esperaMaximaMs);
+                    log.info("Threads virtuais ativas: {} espera até {} ms por conexão", beanName, esperaMaximaMs);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,229 @@
+package com.projectasks.minimundoproject.config;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectasks.minimundoproject.util.LimitadorTaxa;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Limite de tentativas em /api/auth/** e no POST /login, antes de qualquer consulta ao
+ * banco ou bcrypt. Cada tentativa consome uma ficha do balde do IP e do balde do email;
+ * sem ficha em qualquer um deles a requisição é recusada (429, ou redirect na tela de login).
+ * O IP é o do cliente mesmo atrás de proxy (server.forward-headers-strategy).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+@Slf4j
+public class LimiteTentativasLoginFilter extends OncePerRequestFilter {
+
+    private static final int TAMANHO_MAXIMO_CORPO = 16 * 1024;
+
+    private final LimitadorTaxa porIp;
+    private final LimitadorTaxa porEmail;
+    private final ObjectMapper objectMapper;
+    private final Counter aceitas;
+    private final Counter rejeitadasIp;
+    private final Counter rejeitadasEmail;
+
+    public LimiteTentativasLoginFilter(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${limite.login.ip.capacidade:20}") int capacidadeIp,
+            @Value("${limite.login.email.capacidade:5}") int capacidadeEmail,
+            @Value("${limite.login.periodo:1m}") Duration periodo,
+            @Value("${limite.login.max-chaves:1000000}") int maxChaves) {
+        this.objectMapper = objectMapper;
+        this.porIp = new LimitadorTaxa(capacidadeIp, periodo, maxChaves);
+        this.porEmail = new LimitadorTaxa(capacidadeEmail, periodo, maxChaves);
+
+        this.aceitas = contador(meterRegistry, "aceita", "nenhum");
+        this.rejeitadasIp = contador(meterRegistry, "rejeitada", "ip");
+        this.rejeitadasEmail = contador(meterRegistry, "rejeitada", "email");
+        meterRegistry.gauge("auth.limite.chaves", porIp, limitador -> limitador.tamanho() + porEmail.tamanho());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !"POST".equals(request.getMethod())
+            || !(path.startsWith("/api/auth/") || path.equals("/login"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        boolean formulario = request.getRequestURI().equals("/login");
+        HttpServletRequest requisicao = request;
+        String email;
+
+        if (formulario) {
+            email = request.getParameter("email");
+        } else {
+            // O corpo JSON é lido aqui e reentregue ao controller
+            byte[] bytes = lerCorpo(request);
+            if (bytes == null) {
+                recusarCorpoGrande(response);
+                return;
+            }
+            email = emailDoJson(bytes);
+            requisicao = new CorpoReutilizavel(request, bytes);
+        }
+
+        if (!porIp.tentar(request.getRemoteAddr())) {
+            rejeitadasIp.increment();
+            recusar(request, response, formulario);
+            return;
+        }
+        if (email != null && !email.isBlank() && !porEmail.tentar(email.trim().toLowerCase())) {
+            rejeitadasEmail.increment();
+            recusar(request, response, formulario);
+            return;
+        }
+
+        aceitas.increment();
+        filterChain.doFilter(requisicao, response);
+    }
+
+    @Scheduled(fixedDelayString = "${limite.login.limpeza-ms:30000}")
+    public void limparOciosos() {
+        porIp.limparOciosos();
+        porEmail.limparOciosos();
+    }
+
+    private void recusar(HttpServletRequest request, HttpServletResponse response, boolean formulario)
+            throws IOException {
+        log.warn("Tentativa de autenticação recusada pelo limite: {} {}", request.getRemoteAddr(), request.getRequestURI());
+        if (formulario) {
+            response.sendRedirect(request.getContextPath() + "/login?limite");
+            return;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "60");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"status\":429,\"error\":\"Too Many Requests\","
+            + "\"message\":\"Muitas tentativas. Tente novamente em instantes\"}");
+    }
+
+    /**
+     * Corpo da requisição, ou null se passar de TAMANHO_MAXIMO_CORPO (nunca truncado)
+     */
+    private static byte[] lerCorpo(HttpServletRequest request) throws IOException {
+        if (request.getContentLengthLong() > TAMANHO_MAXIMO_CORPO)
+            return null;
+        byte[] bytes = request.getInputStream().readNBytes(TAMANHO_MAXIMO_CORPO + 1);
+        return bytes.length > TAMANHO_MAXIMO_CORPO ? null : bytes;
+    }
+
+    private static void recusarCorpoGrande(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"status\":413,\"error\":\"Payload Too Large\","
+            + "\"message\":\"Corpo da requisição acima de " + TAMANHO_MAXIMO_CORPO + " bytes\"}");
+    }
+
+    private String emailDoJson(byte[] corpo) {
+        if (corpo.length == 0)
+            return null;
+        try {
+            JsonNode email = objectMapper.readTree(corpo).get("email");
+            return email != null && email.isTextual() ? email.asText() : null;
+        } catch (IOException e) {
+            // JSON inválido: segue só com o limite por IP e o controller responde o erro
+            return null;
+        }
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String resultado, String limite) {
+        return Counter.builder("auth.limite.tentativas")
+            .description("Tentativas de autenticação avaliadas pelo limitador")
+            .tag("resultado", resultado)
+            .tag("limite", limite)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Requisição com o corpo já lido em memória (completo), relido pelo controller
+     */
+    private static class CorpoReutilizavel extends HttpServletRequestWrapper {
+
+        private final byte[] bytes;
+
+        CorpoReutilizavel(HttpServletRequest request, byte[] bytes) {
+            super(request);
+            this.bytes = bytes;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream entrada = new ByteArrayInputStream(bytes);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return entrada.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // Corpo todo em memória: não há espera por dados
+                    try {
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
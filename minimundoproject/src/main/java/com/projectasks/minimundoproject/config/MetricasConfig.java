@@ -0,0 +1,40 @@
+package com.projectasks.minimundoproject.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+
+/**
+ * Métricas de requisições HTTP.
+ * Acrescenta ao http.server.requests a tag "handler" (Controller#metodo),
+ * permitindo percentis por método de controller, tanto da API quanto das telas.
+ */
+@Configuration
+public class MetricasConfig {
+
+    private static final String SEM_HANDLER = "none";
+
+    @Bean
+    public DefaultServerRequestObservationConvention handlerObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context).and(handler(context));
+            }
+        };
+    }
+
+    private static KeyValue handler(ServerRequestObservationContext context) {
+        Object handler = context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod metodo) {
+            return KeyValue.of("handler", metodo.getBeanType().getSimpleName() + "#" + metodo.getMethod().getName());
+        }
+        return KeyValue.of("handler", SEM_HANDLER);
+    }
+}
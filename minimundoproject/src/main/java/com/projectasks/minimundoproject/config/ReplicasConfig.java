@@ -0,0 +1,108 @@
+package com.projectasks.minimundoproject.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Réplicas de leitura, ativadas com datasource.replicas.urls (separadas por vírgula).
+ *
+ * O DataSource da aplicação passa a ser um proxy que só obtém a conexão no primeiro comando,
+ * quando já se sabe se a transação é somente leitura; o roteamento escolhe então o primário
+ * ou uma réplica. Sem réplicas configuradas vale o DataSource padrão do Spring Boot.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.urls")
+@Slf4j
+public class ReplicasConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primarioDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public RoteamentoLeituraDataSource roteamentoLeituraDataSource(
+            HikariDataSource primarioDataSource,
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${datasource.replicas.urls}") List<String> urls,
+            @Value("${datasource.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${datasource.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${datasource.replicas.maximum-pool-size:10}") int tamanhoPool,
+            @Value("${datasource.replicas.estrategia:ROUND_ROBIN}") RoteamentoLeituraDataSource.Estrategia estrategia,
+            @Value("${datasource.replicas.fixar-primario-ms:5000}") long janelaFixacaoMs,
+            @Value("${datasource.replicas.max-usuarios-fixados:100000}") int maxUsuariosFixados,
+            @Value("${datasource.replicas.connection-timeout-ms:500}") long timeoutConexaoMs,
+            @Value("${datasource.replicas.pausa-falha-ms:10000}") long pausaFalhaMs,
+            @Value("${datasource.replicas.migrar:false}") boolean migrar) {
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + (i + 1));
+            config.setJdbcUrl(urls.get(i).trim());
+            config.setDriverClassName(properties.determineDriverClassName());
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setMaximumPoolSize(tamanhoPool);
+            // Espera curta: réplica fora do ar cai logo para o primário
+            config.setConnectionTimeout(timeoutConexaoMs);
+            // Réplica fora do ar na subida não impede a aplicação de iniciar
+            config.setInitializationFailTimeout(-1);
+            config.setReadOnly(true);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new HikariDataSource(config));
+        }
+
+        // Só para réplicas locais sem replicação (ex.: duas instâncias H2): cria o esquema nelas
+        if (migrar) {
+            for (HikariDataSource replica : replicas) {
+                Flyway.configure().dataSource(replica).locations("classpath:db/migration").load().migrate();
+            }
+        }
+
+        log.info("Leituras roteadas para {} réplica(s), estratégia {}", replicas.size(), estrategia);
+        return new RoteamentoLeituraDataSource(primarioDataSource, replicas, estrategia,
+            janelaFixacaoMs, maxUsuariosFixados, pausaFalhaMs, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(RoteamentoLeituraDataSource roteamentoLeituraDataSource) {
+        return new LazyConnectionDataSourceProxy(roteamentoLeituraDataSource);
+    }
+
+    /**
+     * Devolve a conexão ao fim de cada transação: se open-in-view for reativado, o EntityManager
+     * vive a requisição toda, e a conexão de uma leitura na réplica não pode ser reaproveitada
+     * por uma escrita seguinte
+     */
+    @Bean
+    public HibernatePropertiesCustomizer liberarConexaoAposTransacao() {
+        return propriedades -> propriedades.put(AvailableSettings.CONNECTION_HANDLING,
+            PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,195 @@
+package com.projectasks.minimundoproject.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.projectasks.minimundoproject.event.ProjetoAlteradoEvent;
+import com.projectasks.minimundoproject.event.TarefaAlteradaEvent;
+import com.projectasks.minimundoproject.event.UsuarioAlteradoEvent;
+import com.projectasks.minimundoproject.util.CacheLimitado;
+import com.projectasks.minimundoproject.util.UsuarioAtual;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Envia as transações somente leitura às réplicas e todo o resto ao primário.
+ *
+ * A escolha acontece quando a conexão física é obtida (atrás de um LazyConnectionDataSourceProxy,
+ * já com a transação iniciada). O usuário que acabou de alterar algo fica no primário por
+ * uma janela curta, para ler o que gravou mesmo com atraso de replicação. Réplica que falha
+ * ao entregar a conexão cede a leitura ao primário e fica fora do rodízio por pausaFalhaMs,
+ * para que uma réplica fora do ar não atrase cada leitura pelo connectionTimeout.
+ */
+@Slf4j
+public class RoteamentoLeituraDataSource extends AbstractDataSource {
+
+    public enum Estrategia {
+        ROUND_ROBIN, MENOS_CARREGADA
+    }
+
+    private final DataSource primario;
+    private final List<HikariDataSource> replicas;
+    private final Estrategia estrategia;
+    private final long janelaFixacaoMs;
+    private final long pausaFalhaMs;
+    private final AtomicLongArray indisponivelAte;
+    private final CacheLimitado<Long, Long> fixadosAte;
+    private final AtomicInteger proxima = new AtomicInteger();
+    private final Counter leiturasPrimario;
+    private final Counter leiturasReplica;
+    private final Counter falhasReplica;
+
+    public RoteamentoLeituraDataSource(DataSource primario, List<HikariDataSource> replicas, Estrategia estrategia,
+                                       long janelaFixacaoMs, int maxUsuariosFixados, long pausaFalhaMs,
+                                       MeterRegistry meterRegistry) {
+        this.primario = primario;
+        this.replicas = replicas;
+        this.estrategia = estrategia;
+        this.janelaFixacaoMs = janelaFixacaoMs;
+        this.pausaFalhaMs = pausaFalhaMs;
+        this.indisponivelAte = new AtomicLongArray(replicas.size());
+        this.fixadosAte = new CacheLimitado<>(maxUsuariosFixados);
+        this.leiturasPrimario = contador(meterRegistry, "primario");
+        this.leiturasReplica = contador(meterRegistry, "replica");
+        this.falhasReplica = Counter.builder("datasource.roteamento.falhas")
+            .description("Conexões de réplica que falharam e foram atendidas pelo primário")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly())
+            return primario.getConnection();
+        if (fixadoNoPrimario()) {
+            leiturasPrimario.increment();
+            return primario.getConnection();
+        }
+
+        int indice = selecionar();
+        if (indice < 0) {
+            // Todas as réplicas em pausa após falha
+            leiturasPrimario.increment();
+            return primario.getConnection();
+        }
+        HikariDataSource replica = replicas.get(indice);
+        try {
+            Connection conexao = replica.getConnection();
+            leiturasReplica.increment();
+            log.debug("Leitura roteada para {}", replica.getPoolName());
+            return conexao;
+        } catch (SQLException e) {
+            falhasReplica.increment();
+            indisponivelAte.set(indice, System.currentTimeMillis() + pausaFalhaMs);
+            log.warn("Réplica {} indisponível, leituras no primário por {} ms: {}",
+                replica.getPoolName(), pausaFalhaMs, e.getMessage());
+            return primario.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primario.getConnection(username, password);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTarefaAlterada(TarefaAlteradaEvent event) {
+        fixarNoPrimario(event.getUsuarioId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjetoAlterado(ProjetoAlteradoEvent event) {
+        fixarNoPrimario(event.getUsuarioId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUsuarioAlterado(UsuarioAlteradoEvent event) {
+        fixarNoPrimario(event.getUsuarioId());
+    }
+
+    /**
+     * Leituras do usuário vão ao primário até o fim da janela
+     */
+    public void fixarNoPrimario(Long usuarioId) {
+        if (usuarioId != null)
+            fixadosAte.put(usuarioId, System.currentTimeMillis() + janelaFixacaoMs);
+    }
+
+    /**
+     * Descarta as fixações vencidas
+     */
+    @Scheduled(fixedDelayString = "${datasource.replicas.limpeza-ms:60000}")
+    public void limparFixacoes() {
+        long agora = System.currentTimeMillis();
+        fixadosAte.removerSe(ate -> ate <= agora);
+    }
+
+    /**
+     * Fecha os pools das réplicas (o primário é um bean próprio)
+     */
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+    }
+
+    private boolean fixadoNoPrimario() {
+        Long usuarioId = UsuarioAtual.id();
+        if (usuarioId == null)
+            return false;
+        Long ate = fixadosAte.get(usuarioId);
+        return ate != null && ate > System.currentTimeMillis();
+    }
+
+    /**
+     * Índice da réplica escolhida entre as disponíveis, ou -1 se todas estão em pausa
+     */
+    private int selecionar() {
+        long agora = System.currentTimeMillis();
+        if (estrategia == Estrategia.ROUND_ROBIN || replicas.size() == 1) {
+            int inicio = proxima.getAndIncrement();
+            for (int i = 0; i < replicas.size(); i++) {
+                int indice = Math.floorMod(inicio + i, replicas.size());
+                if (disponivel(indice, agora))
+                    return indice;
+            }
+            return -1;
+        }
+
+        int escolhida = -1;
+        int menorCarga = Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            if (!disponivel(i, agora))
+                continue;
+            HikariPoolMXBean pool = replicas.get(i).getHikariPoolMXBean();
+            int carga = pool != null ? pool.getActiveConnections() + pool.getThreadsAwaitingConnection() : 0;
+            if (carga < menorCarga) {
+                menorCarga = carga;
+                escolhida = i;
+            }
+        }
+        return escolhida;
+    }
+
+    private boolean disponivel(int indice, long agora) {
+        return indisponivelAte.get(indice) <= agora;
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String destino) {
+        return Counter.builder("datasource.roteamento.leituras")
+            .description("Conexões de transações somente leitura por destino")
+            .tag("destino", destino)
+            .register(meterRegistry);
+    }
+}
@@ -1,6 +1,7 @@
 package com.projectasks.minimundoproject.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -11,6 +12,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -18,13 +21,15 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    // Custo do bcrypt; ao aumentar, as senhas são recodificadas no próximo login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${senha.bcrypt.custo:10}") int custo) {
+        return new BCryptPasswordEncoder(custo);
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+            @Value("${management.server.port:-1}") int portaGerenciamento) throws Exception {
 
         http
             .cors(cors -> cors.configurationSource(request -> {
@@ -32,6 +37,8 @@ public class SecurityConfig {
                 corsConfig.addAllowedOriginPattern("*");
                 corsConfig.addAllowedMethod("*");
                 corsConfig.addAllowedHeader("*");
+                corsConfig.addExposedHeader("ETag");
+                corsConfig.addExposedHeader("Last-Modified");
                 corsConfig.setAllowCredentials(true);
                 return corsConfig;
             }))
@@ -39,6 +46,8 @@ public class SecurityConfig {
             // MVC + Sessão (login via tela)
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED))
             .authorizeHttpRequests(auth -> auth
+                // Retorno assíncrono (SSE, streaming) de uma requisição já autorizada
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 // ROTAS PÚBLICAS (VIEW)
                 .requestMatchers(
                     "/",
@@ -57,6 +66,10 @@ public class SecurityConfig {
                 .requestMatchers("/api/auth/**").permitAll()                            // API pública
                 .requestMatchers("/*.xhtml", "/javax.faces.resource/**").permitAll()    // JSF / recursos
                 .requestMatchers("/h2-console/**").permitAll()                          // H2 Console
+                .requestMatchers("/actuator/health").permitAll()                        // Health check
+                // Scrape do Prometheus só pela porta de gerenciamento (rede interna, não publicada)
+                .requestMatchers(request -> request.getLocalPort() == portaGerenciamento
+                    && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
                 .anyRequest().authenticated()
             )
             // JWT
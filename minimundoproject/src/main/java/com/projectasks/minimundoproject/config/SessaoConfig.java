@@ -0,0 +1,49 @@
+package com.projectasks.minimundoproject.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.session.JdbcSessionProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.projectasks.minimundoproject.session.SessaoCacheadaRepository;
+import com.projectasks.minimundoproject.shard.ShardDataSource;
+
+/**
+ * Sessão HTTP (telas MVC) servida pelo SessaoCacheadaRepository.
+ * Substitui o repositório JDBC padrão do Spring Session, mantendo as mesmas tabelas
+ * (criadas pelas migrações do Flyway). Com sharding, as sessões ficam no banco do diretório.
+ */
+@Configuration
+@EnableSpringHttpSession
+@EnableScheduling
+@EnableConfigurationProperties(JdbcSessionProperties.class)
+public class SessaoConfig {
+
+    @Bean
+    public SessaoCacheadaRepository sessionRepository(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectProvider<ShardDataSource> shardDataSource,
+            JdbcSessionProperties properties,
+            @Value("${spring.session.timeout:${server.servlet.session.timeout:30m}}") Duration timeout,
+            @Value("${sessao.cache.max-size:10000}") int tamanhoCache,
+            @Value("${sessao.cache.validade-ms:60000}") long validadeCacheMs) {
+        ShardDataSource shards = shardDataSource.getIfAvailable();
+        if (shards != null) {
+            jdbcTemplate = new JdbcTemplate(shards.getDiretorio());
+            transactionManager = new DataSourceTransactionManager(shards.getDiretorio());
+        }
+        return new SessaoCacheadaRepository(jdbcTemplate, new TransactionTemplate(transactionManager),
+            properties.getTableName(), timeout, tamanhoCache, validadeCacheMs);
+    }
+}
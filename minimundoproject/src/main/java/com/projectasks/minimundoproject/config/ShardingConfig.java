@@ -0,0 +1,172 @@
+package com.projectasks.minimundoproject.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.projectasks.minimundoproject.repository.UsuarioRepository;
+import com.projectasks.minimundoproject.shard.AnelConsistente;
+import com.projectasks.minimundoproject.shard.DiretorioUsuariosShards;
+import com.projectasks.minimundoproject.shard.RebalanceamentoShards;
+import com.projectasks.minimundoproject.shard.ShardDataSource;
+import com.projectasks.minimundoproject.shard.ShardInterceptor;
+import com.projectasks.minimundoproject.util.SequenciasBanco;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Modo sharding, ativado com datasource.shards.urls (separadas por vírgula, na ordem dos
+ * shards 1..N; shards novos entram sempre no fim da lista).
+ *
+ * spring.datasource passa a ser o banco do diretório (email → shard e sessões) e cada
+ * usuário, com seus projetos e tarefas, fica no shard indicado pelo anel de hash
+ * consistente. Cada shard gera ids em uma faixa própria, para que usuários possam ser
+ * movidos entre shards sem colisão.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.shards.urls")
+@Slf4j
+public class ShardingConfig {
+
+    // Faixa de ids de cada shard: shard n gera a partir de n × FAIXA_IDS
+    private static final long FAIXA_IDS = 1_000_000_000_000L;
+    private static final String[][] SEQUENCIAS = {
+        { "projetos", "projetos_seq" }, { "tarefas", "tarefas_seq" }, { "exclusoes", "exclusoes_seq" } };
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource diretorioDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public ShardDataSource dataSource(
+            HikariDataSource diretorioDataSource,
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${datasource.shards.urls}") List<String> urls,
+            @Value("${datasource.shards.username:${spring.datasource.username:}}") String username,
+            @Value("${datasource.shards.password:${spring.datasource.password:}}") String password,
+            @Value("${datasource.shards.maximum-pool-size:10}") int tamanhoPool,
+            @Value("${datasource.replicas.urls:}") String replicas) {
+        if (!replicas.isBlank())
+            throw new IllegalStateException("datasource.shards e datasource.replicas não podem ser ativados juntos");
+
+        List<HikariDataSource> shards = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            int numero = i + 1;
+            String url = urls.get(i).trim();
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("shard-" + numero);
+            config.setJdbcUrl(url);
+            config.setDriverClassName(properties.determineDriverClassName());
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setMaximumPoolSize(tamanhoPool);
+            config.setConnectionTimeout(diretorioDataSource.getConnectionTimeout());
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            HikariDataSource shard = new HikariDataSource(config);
+
+            Flyway.configure().dataSource(shard).locations("classpath:db/migration")
+                .baselineOnMigrate(true).baselineVersion("1").load().migrate();
+            ajustarSequencias(shard, numero);
+            shards.add(shard);
+        }
+        log.info("Sharding ativo: {} shards, diretório em {}", shards.size(), properties.determineUrl());
+        return new ShardDataSource(diretorioDataSource, shards);
+    }
+
+    @Bean
+    public AnelConsistente anelConsistente(
+            @Value("${datasource.shards.urls}") List<String> urls,
+            @Value("${datasource.shards.nos-virtuais:128}") int nosVirtuais) {
+        return new AnelConsistente(urls.size(), nosVirtuais);
+    }
+
+    @Bean
+    @Primary
+    public DiretorioUsuariosShards diretorioUsuariosShards(
+            HikariDataSource diretorioDataSource,
+            UsuarioRepository usuarioRepository,
+            AnelConsistente anelConsistente,
+            @Value("${datasource.shards.cache-diretorio:100000}") int tamanhoCache) {
+        return new DiretorioUsuariosShards(diretorioDataSource, usuarioRepository, anelConsistente, tamanhoCache);
+    }
+
+    /**
+     * Devolve a conexão ao fim de cada transação: o registro e o login trocam de banco
+     * (diretório e shard) dentro da mesma requisição
+     */
+    @Bean
+    public HibernatePropertiesCustomizer liberarConexaoAposTransacao() {
+        return propriedades -> propriedades.put(AvailableSettings.CONNECTION_HANDLING,
+            PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "datasource.shards.rebalancear", havingValue = "true")
+    public RebalanceamentoShards rebalanceamentoShards(
+            ShardDataSource dataSource,
+            HikariDataSource diretorioDataSource,
+            AnelConsistente anelConsistente,
+            DiretorioUsuariosShards diretorioUsuariosShards,
+            ConfigurableApplicationContext contexto,
+            @Value("${datasource.shards.rebalancear-e-sair:false}") boolean sair) {
+        return new RebalanceamentoShards(dataSource, diretorioDataSource, anelConsistente,
+            diretorioUsuariosShards, contexto, sair);
+    }
+
+    /**
+     * Primeira execução no shard: a geração de ids passa para a faixa dele. O valor atual é
+     * só lido (sem nextval), então as reinicializações não consomem blocos de ids
+     */
+    private static void ajustarSequencias(DataSource shard, int numero) {
+        JdbcTemplate jdbc = new JdbcTemplate(shard);
+        long inicio = numero * FAIXA_IDS;
+        for (String[] sequencia : SEQUENCIAS) {
+            Boolean reiniciada = jdbc.execute((ConnectionCallback<Boolean>) conexao ->
+                SequenciasBanco.avancarAcima(conexao, sequencia[1], inicio));
+            if (Boolean.TRUE.equals(reiniciada))
+                log.info("Shard {}: {} passa a gerar ids a partir de {}", numero, sequencia[0], inicio + 1);
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "datasource.shards.urls")
+    static class ShardWebConfig implements WebMvcConfigurer {
+
+        private final DiretorioUsuariosShards diretorioUsuariosShards;
+
+        ShardWebConfig(DiretorioUsuariosShards diretorioUsuariosShards) {
+            this.diretorioUsuariosShards = diretorioUsuariosShards;
+        }
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(new ShardInterceptor(diretorioUsuariosShards));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.projectasks.minimundoproject.config;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.projectasks.minimundoproject.shard.ShardTaskDecorator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Executor das respostas assíncronas do MVC (listagens em StreamingResponseBody).
+ *
+ * Cada listagem ocupa uma thread e uma conexão do banco enquanto escreve; o executor próprio
+ * e limitado impede que clientes lentos esgotem as threads de outras tarefas assíncronas.
+ * Com as threads e a fila cheias a listagem é recusada com 503 (GlobalExceptionHandler).
+ * O ShardTaskDecorator leva o shard da requisição à thread que escreve a resposta.
+ */
+@Configuration
+public class StreamingConfig implements WebMvcConfigurer {
+
+    private final ThreadPoolTaskExecutor streamingExecutor;
+    private final Duration timeout;
+
+    public StreamingConfig(MeterRegistry meterRegistry,
+                           ShardTaskDecorator shardTaskDecorator,
+                           @Value("${streaming.executor.threads:8}") int threads,
+                           @Value("${streaming.executor.fila:32}") int capacidadeFila,
+                           @Value("${spring.mvc.async.request-timeout:5m}") Duration timeout) {
+        this.timeout = timeout;
+        this.streamingExecutor = new ThreadPoolTaskExecutor();
+        this.streamingExecutor.setCorePoolSize(threads);
+        this.streamingExecutor.setMaxPoolSize(threads);
+        this.streamingExecutor.setQueueCapacity(capacidadeFila);
+        this.streamingExecutor.setThreadNamePrefix("streaming-");
+        this.streamingExecutor.setWaitForTasksToCompleteOnShutdown(true);
+        this.streamingExecutor.setAwaitTerminationSeconds(30);
+        this.streamingExecutor.setTaskDecorator(shardTaskDecorator);
+        // Não é bean: o adaptador do MVC pede o executor durante a própria criação
+        this.streamingExecutor.initialize();
+        new ExecutorServiceMetrics(streamingExecutor.getThreadPoolExecutor(), "streaming", Collections.emptyList())
+            .bindTo(meterRegistry);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingExecutor);
+        configurer.setDefaultTimeout(timeout.toMillis());
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        streamingExecutor.shutdown();
+    }
+}
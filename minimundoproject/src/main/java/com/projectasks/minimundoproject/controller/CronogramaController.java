@@ -0,0 +1,43 @@
+package com.projectasks.minimundoproject.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.projectasks.minimundoproject.dto.response.CronogramaResponse;
+import com.projectasks.minimundoproject.service.CronogramaService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/projetos/{id}/cronograma")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class CronogramaController {
+    
+    private final CronogramaService cronogramaService;
+    
+    @GetMapping
+    public ResponseEntity<CronogramaResponse> calcular(
+            @PathVariable Long id,
+            Authentication authentication) {
+        Long usuarioId = (Long) authentication.getPrincipal();
+        CronogramaResponse cronograma = cronogramaService.calcular(id, usuarioId);
+        return ResponseEntity.ok(cronograma);
+    }
+    
+    @GetMapping("/caminho-critico")
+    public ResponseEntity<List<Long>> caminhoCritico(
+            @PathVariable Long id,
+            Authentication authentication) {
+        Long usuarioId = (Long) authentication.getPrincipal();
+        List<Long> caminho = cronogramaService.caminhoCritico(id, usuarioId);
+        return ResponseEntity.ok(caminho);
+    }
+}
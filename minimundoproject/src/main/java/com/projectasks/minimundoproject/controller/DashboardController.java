@@ -0,0 +1,39 @@
+package com.projectasks.minimundoproject.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.projectasks.minimundoproject.dto.response.DashboardResponse;
+import com.projectasks.minimundoproject.service.DashboardService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class DashboardController {
+    
+    private final DashboardService dashboardService;
+    
+    @GetMapping
+    public ResponseEntity<DashboardResponse> usuario(Authentication authentication) {
+        Long usuarioId = (Long) authentication.getPrincipal();
+        DashboardResponse dashboard = dashboardService.usuario(usuarioId);
+        return ResponseEntity.ok(dashboard);
+    }
+    
+    @GetMapping("/projetos/{id}")
+    public ResponseEntity<DashboardResponse> projeto(
+            @PathVariable Long id,
+            Authentication authentication) {
+        Long usuarioId = (Long) authentication.getPrincipal();
+        DashboardResponse dashboard = dashboardService.projeto(id, usuarioId);
+        return ResponseEntity.ok(dashboard);
+    }
+}
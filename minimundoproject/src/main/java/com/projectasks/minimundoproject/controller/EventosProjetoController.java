@@ -0,0 +1,31 @@
+package com.projectasks.minimundoproject.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.projectasks.minimundoproject.service.EventosProjetoService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/projetos")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class EventosProjetoController {
+    
+    private final EventosProjetoService eventosProjetoService;
+    
+    @GetMapping(value = "/{id}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter eventos(
+            @PathVariable Long id,
+            Authentication authentication) {
+        Long usuarioId = (Long) authentication.getPrincipal();
+        return eventosProjetoService.assinar(id, usuarioId);
+    }
+}
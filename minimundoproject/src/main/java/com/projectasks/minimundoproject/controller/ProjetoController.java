@@ -1,8 +1,7 @@
 package com.projectasks.minimundoproject.controller;
 
-import java.util.List;
-
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -15,11 +14,16 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.projectasks.minimundoproject.dto.request.ProjetoRequest;
+import com.projectasks.minimundoproject.dto.response.PageResponse;
 import com.projectasks.minimundoproject.dto.response.ProjetoResponse;
 import com.projectasks.minimundoproject.model.Projeto.StatusProjeto;
+import com.projectasks.minimundoproject.service.ListagemStreamingService;
 import com.projectasks.minimundoproject.service.ProjetoService;
+import com.projectasks.minimundoproject.service.VersaoService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -31,6 +35,8 @@ import lombok.RequiredArgsConstructor;
 public class ProjetoController {
     
     private final ProjetoService projetoService;
+    private final VersaoService versaoService;
+    private final ListagemStreamingService listagemStreamingService;
     
     @PostMapping
     public ResponseEntity<ProjetoResponse> create(
@@ -42,20 +48,43 @@ public class ProjetoController {
     }
     
     @GetMapping
-    public ResponseEntity<List<ProjetoResponse>> findAll(
+    public ResponseEntity<PageResponse<ProjetoResponse>> findAll(
             @RequestParam(required = false) StatusProjeto status,
             @RequestParam(required = false) String nome,
-            Authentication authentication) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho,
+            Authentication authentication,
+            ServletWebRequest webRequest) {
         Long usuarioId = (Long) authentication.getPrincipal();
-        List<ProjetoResponse> projetos = projetoService.findAll(usuarioId, status, nome);
+        // 304 sem consultar nem serializar os projetos
+        VersaoService.Versao versao = versaoService.projetos(usuarioId);
+        if (RequisicaoCondicional.naoModificado(webRequest, versao))
+            return null;
+        PageResponse<ProjetoResponse> projetos = projetoService.findAllPaginado(usuarioId, status, nome, cursor, tamanho);
         return ResponseEntity.ok(projetos);
     }
     
+    /**
+     * Todos os projetos do usuário em um único array JSON, escrito em streaming (sem paginação)
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> stream(
+            @RequestParam(required = false) StatusProjeto status,
+            Authentication authentication) {
+        Long usuarioId = (Long) authentication.getPrincipal();
+        StreamingResponseBody corpo = listagemStreamingService.projetos(usuarioId, status);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(corpo);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<ProjetoResponse> findById(
             @PathVariable Long id,
-            Authentication authentication) {
+            Authentication authentication,
+            ServletWebRequest webRequest) {
         Long usuarioId = (Long) authentication.getPrincipal();
+        VersaoService.Versao versao = versaoService.projeto(id, usuarioId);
+        if (RequisicaoCondicional.naoModificado(webRequest, versao))
+            return null;
         ProjetoResponse projeto = projetoService.findById(id, usuarioId);
         return ResponseEntity.ok(projeto);
     }
@@ -0,0 +1,26 @@
+package com.projectasks.minimundoproject.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.projectasks.minimundoproject.service.VersaoService;
+
+/**
+ * GET condicional (If-None-Match / If-Modified-Since) a partir da versão do recurso
+ */
+final class RequisicaoCondicional {
+
+    private RequisicaoCondicional() {
+    }
+
+    /**
+     * Grava ETag, Last-Modified e Cache-Control na resposta e indica se o cliente já tem
+     * a versão atual; nesse caso o controller retorna null e o Spring responde 304.
+     * "private, no-cache" permite guardar a resposta, mas obriga a revalidar a cada uso.
+     */
+    static boolean naoModificado(ServletWebRequest request, VersaoService.Versao versao) {
+        if (request.getResponse() != null)
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        return request.checkNotModified(versao.etag(), versao.ultimaModificacao());
+    }
+}
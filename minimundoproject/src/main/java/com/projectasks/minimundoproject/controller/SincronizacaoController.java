@@ -0,0 +1,33 @@
+package com.projectasks.minimundoproject.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.projectasks.minimundoproject.dto.response.SyncResponse;
+import com.projectasks.minimundoproject.service.SincronizacaoService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class SincronizacaoController {
+    
+    private final SincronizacaoService sincronizacaoService;
+    
+    @GetMapping
+    public ResponseEntity<SyncResponse> sincronizar(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) String cursor,
+            Authentication authentication) {
+        Long usuarioId = (Long) authentication.getPrincipal();
+        SyncResponse sync = sincronizacaoService.sincronizar(since, cursor, usuarioId);
+        return ResponseEntity.ok(sync);
+    }
+}
@@ -1,8 +1,10 @@
 package com.projectasks.minimundoproject.controller;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -15,12 +17,23 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.projectasks.minimundoproject.dto.request.LoteTarefasRequest;
 import com.projectasks.minimundoproject.dto.request.TarefaRequest;
+import com.projectasks.minimundoproject.dto.response.ImportacaoResponse;
+import com.projectasks.minimundoproject.dto.response.LoteTarefasResponse;
+import com.projectasks.minimundoproject.dto.response.PageResponse;
 import com.projectasks.minimundoproject.dto.response.TarefaResponse;
 import com.projectasks.minimundoproject.model.Tarefa.StatusTarefa;
+import com.projectasks.minimundoproject.service.ImportacaoTarefaService;
+import com.projectasks.minimundoproject.service.ListagemStreamingService;
+import com.projectasks.minimundoproject.service.LoteTarefaService;
 import com.projectasks.minimundoproject.service.TarefaService;
+import com.projectasks.minimundoproject.service.VersaoService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -31,6 +44,10 @@ import lombok.RequiredArgsConstructor;
 public class TarefaController {
     
     private final TarefaService tarefaService;
+    private final ImportacaoTarefaService importacaoTarefaService;
+    private final LoteTarefaService loteTarefaService;
+    private final VersaoService versaoService;
+    private final ListagemStreamingService listagemStreamingService;
     
     @PostMapping
     public ResponseEntity<TarefaResponse> create(
@@ -41,22 +58,85 @@ public class TarefaController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
+    /**
+     * Importação em massa: corpo em NDJSON (uma tarefa por linha) ou CSV com cabeçalho
+     */
+    @PostMapping(value = "/importar", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ImportacaoResponse> importar(
+            @RequestParam Long projetoId,
+            HttpServletRequest request,
+            Authentication authentication) throws IOException {
+        Long usuarioId = (Long) authentication.getPrincipal();
+        boolean csv = request.getContentType().startsWith("text/csv");
+        ImportacaoResponse response = importacaoTarefaService.importar(
+            projetoId, usuarioId, request.getInputStream(), csv);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+    
+    /**
+     * Criações, atualizações e exclusões em uma única transação (tudo ou nada),
+     * com o resultado de cada operação
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<LoteTarefasResponse> batch(
+            @Valid @RequestBody LoteTarefasRequest request,
+            Authentication authentication) {
+        Long usuarioId = (Long) authentication.getPrincipal();
+        LoteTarefasResponse response = loteTarefaService.aplicar(request.getOperacoes(), usuarioId);
+        return ResponseEntity.status(response.isAplicado() ? HttpStatus.OK : HttpStatus.BAD_REQUEST).body(response);
+    }
+    
     @GetMapping
-    public ResponseEntity<List<TarefaResponse>> findByProjeto(
+    public ResponseEntity<PageResponse<TarefaResponse>> findByProjeto(
             @RequestParam Long projetoId,
             @RequestParam(required = false) StatusTarefa status,
             @RequestParam(required = false) String descricao,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho,
+            Authentication authentication,
+            ServletWebRequest webRequest) {
+        Long usuarioId = (Long) authentication.getPrincipal();
+        // 304 sem consultar nem serializar as tarefas
+        VersaoService.Versao versao = versaoService.projeto(projetoId, usuarioId);
+        if (RequisicaoCondicional.naoModificado(webRequest, versao))
+            return null;
+        PageResponse<TarefaResponse> tarefas = tarefaService.findByProjetoPaginado(
+            projetoId, usuarioId, status, descricao, cursor, tamanho);
+        return ResponseEntity.ok(tarefas);
+    }
+    
+    /**
+     * Todas as tarefas do projeto em um único array JSON, escrito em streaming (sem paginação)
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> stream(
+            @RequestParam Long projetoId,
+            @RequestParam(required = false) StatusTarefa status,
             Authentication authentication) {
         Long usuarioId = (Long) authentication.getPrincipal();
-        List<TarefaResponse> tarefas = tarefaService.findByProjeto(projetoId, usuarioId, status, descricao);
+        StreamingResponseBody corpo = listagemStreamingService.tarefas(projetoId, usuarioId, status);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(corpo);
+    }
+    
+    @GetMapping("/busca")
+    public ResponseEntity<List<TarefaResponse>> buscar(
+            @RequestParam String termo,
+            @RequestParam(required = false) Integer tamanho,
+            Authentication authentication) {
+        Long usuarioId = (Long) authentication.getPrincipal();
+        List<TarefaResponse> tarefas = tarefaService.buscar(usuarioId, termo, tamanho);
         return ResponseEntity.ok(tarefas);
     }
     
     @GetMapping("/{id}")
     public ResponseEntity<TarefaResponse> findById(
             @PathVariable Long id,
-            Authentication authentication) {
+            Authentication authentication,
+            ServletWebRequest webRequest) {
         Long usuarioId = (Long) authentication.getPrincipal();
+        VersaoService.Versao versao = versaoService.tarefa(id, usuarioId);
+        if (RequisicaoCondicional.naoModificado(webRequest, versao))
+            return null;
         TarefaResponse tarefa = tarefaService.findById(id, usuarioId);
         return ResponseEntity.ok(tarefa);
     }
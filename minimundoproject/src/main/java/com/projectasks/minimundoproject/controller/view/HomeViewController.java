@@ -1,12 +1,15 @@
 package com.projectasks.minimundoproject.controller.view;
 
-import java.util.List;
+import java.time.LocalDate;
+import java.util.Map;
 
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 
-import com.projectasks.minimundoproject.dto.response.ProjetoResponse;
+import com.projectasks.minimundoproject.dto.response.DashboardResponse;
+import com.projectasks.minimundoproject.service.DashboardService;
+import com.projectasks.minimundoproject.service.FragmentosViewService;
 import com.projectasks.minimundoproject.service.ProjetoService;
 
 import jakarta.servlet.http.HttpSession;
@@ -16,7 +19,11 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class HomeViewController {
     
+    private static final int PROJETOS_RECENTES = 10;
+    
     private final ProjetoService projetoService;
+    private final DashboardService dashboardService;
+    private final FragmentosViewService fragmentosViewService;
     
     @GetMapping("/home")
     public String home(HttpSession session, Model model) {
@@ -25,26 +32,29 @@ public class HomeViewController {
         if (usuarioId == null)
             return "redirect:/login";
         
+        model.addAttribute("usuarioNome", usuarioNome);
         try {
-            List<ProjetoResponse> projetos = projetoService.findAll(usuarioId, null, null);
-            
-            int totalProjetos = projetos.size();
-            int totalTarefas = projetos.stream()
-                .mapToInt(ProjetoResponse::getTotalTarefas)
-                .sum();
-            int tarefasConcluidas = projetos.stream()
-                .mapToInt(ProjetoResponse::getTarefasConcluidas)
-                .sum();
-            
-            model.addAttribute("usuarioNome", usuarioNome);
-            model.addAttribute("totalProjetos", totalProjetos);
-            model.addAttribute("totalTarefas", totalTarefas);
-            model.addAttribute("tarefasConcluidas", tarefasConcluidas);
-            model.addAttribute("projetos", projetos);
+            // Fragmentos em cache por usuário; o dia entra na chave porque tarefas passam a
+            // atrasadas à meia-noite sem nenhuma alteração
+            model.addAttribute("estatisticasHtml", fragmentosViewService.fragmento(usuarioId,
+                "home:estatisticas:" + LocalDate.now(), "estatisticas-usuario", () -> {
+                    // Totais lidos dos contadores
+                    DashboardResponse dashboard = dashboardService.usuario(usuarioId);
+                    return Map.of(
+                        "totalProjetos", dashboard.getTotalProjetos(),
+                        "totalTarefas", dashboard.getTotalTarefas(),
+                        "tarefasConcluidas", dashboard.getTarefasConcluidas(),
+                        "tarefasAtrasadas", dashboard.getTarefasAtrasadas());
+                }));
+            // A tabela mostra só a primeira página de projetos
+            model.addAttribute("projetosHtml", fragmentosViewService.fragmento(usuarioId,
+                "home:projetos", "projetos-recentes", () -> Map.of("projetos", projetoService
+                    .findAllPaginado(usuarioId, null, null, null, PROJETOS_RECENTES)
+                    .getItens())));
             
         } catch (Exception e) {
             model.addAttribute("error", e.getMessage());
         }
         return "home";
     }
-}
\ No newline at end of file
+}
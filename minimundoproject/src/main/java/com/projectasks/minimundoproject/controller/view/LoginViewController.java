@@ -9,6 +9,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.projectasks.minimundoproject.dto.request.LoginRequest;
 import com.projectasks.minimundoproject.dto.response.AuthResponse;
+import com.projectasks.minimundoproject.exception.ServicoSobrecarregadoException;
 import com.projectasks.minimundoproject.service.AuthService;
 
 import jakarta.servlet.http.HttpSession;
@@ -41,6 +42,9 @@ public class LoginViewController {
             session.setAttribute("usuarioNome", response.getNome());
             session.setAttribute("usuarioEmail", response.getEmail());
             return "redirect:/home";
+        } catch (ServicoSobrecarregadoException e) {
+            // Verificação de senha recusada por sobrecarga: aviso na tela, como no limite de tentativas
+            return "redirect:/login?ocupado";
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", e.getMessage());
             return "redirect:/login";
@@ -1,6 +1,8 @@
 package com.projectasks.minimundoproject.controller.view;
 
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
 
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -13,8 +15,10 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.projectasks.minimundoproject.dto.request.ProjetoRequest;
+import com.projectasks.minimundoproject.dto.response.PageResponse;
 import com.projectasks.minimundoproject.dto.response.ProjetoResponse;
 import com.projectasks.minimundoproject.model.Projeto;
+import com.projectasks.minimundoproject.service.FragmentosViewService;
 import com.projectasks.minimundoproject.service.ProjetoService;
 
 import jakarta.servlet.http.HttpSession;
@@ -26,19 +30,35 @@ import lombok.RequiredArgsConstructor;
 public class ProjetoViewController {
     
     private final ProjetoService projetoService;
+    private final FragmentosViewService fragmentosViewService;
     
     @GetMapping
     public String projetos(HttpSession session, Model model,
                           @RequestParam(required = false) String nome,
-                          @RequestParam(required = false) Projeto.StatusProjeto status) {
+                          @RequestParam(required = false) Projeto.StatusProjeto status,
+                          @RequestParam(required = false) String cursor) {
         Long usuarioId = (Long) session.getAttribute("usuarioId");
         if (usuarioId == null) 
 			return "redirect:/login";
+        model.addAttribute("usuarioNome", session.getAttribute("usuarioNome"));
+        model.addAttribute("projetoRequest", new ProjetoRequest());
         try {
-            List<ProjetoResponse> projetos = projetoService.findAll(usuarioId, status, nome);
-            model.addAttribute("projetos", projetos);
-            model.addAttribute("usuarioNome", session.getAttribute("usuarioNome"));
-            model.addAttribute("projetoRequest", new ProjetoRequest());
+            Supplier<Map<String, Object>> carregar = () -> {
+                PageResponse<ProjetoResponse> pagina = projetoService.findAllPaginado(usuarioId, status, nome, cursor, null);
+                // HashMap: filtros e cursor podem ser nulos
+                Map<String, Object> variaveis = new HashMap<>();
+                variaveis.put("projetos", pagina.getItens());
+                variaveis.put("cursor", cursor);
+                variaveis.put("proximoCursor", pagina.getProximoCursor());
+                variaveis.put("nome", nome);
+                variaveis.put("status", status);
+                return variaveis;
+            };
+            // Busca por nome (texto livre) não entra no cache
+            model.addAttribute("projetosHtml", nome == null || nome.isBlank()
+                ? fragmentosViewService.fragmento(usuarioId,
+                    "projetos:" + nome + ":" + status + ":" + cursor, "tabela-projetos", carregar)
+                : fragmentosViewService.renderizar("tabela-projetos", carregar));
         } catch (Exception e) {
             model.addAttribute("error", e.getMessage());
         }
@@ -8,6 +8,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.projectasks.minimundoproject.dto.request.RegisterRequest;
+import com.projectasks.minimundoproject.exception.ServicoSobrecarregadoException;
 import com.projectasks.minimundoproject.service.AuthService;
 
 import lombok.RequiredArgsConstructor;
@@ -32,6 +33,8 @@ public class RegisterViewController {
                 "Cadastro realizado com sucesso! Faça login para continuar.");
             return "redirect:/login";
             
+        } catch (ServicoSobrecarregadoException e) {
+            return "redirect:/register?ocupado";
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", e.getMessage());
             return "redirect:/register";
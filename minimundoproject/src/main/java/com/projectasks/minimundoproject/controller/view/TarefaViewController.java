@@ -1,6 +1,8 @@
 package com.projectasks.minimundoproject.controller.view;
 
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
 
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -13,9 +15,10 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.projectasks.minimundoproject.dto.request.TarefaRequest;
-import com.projectasks.minimundoproject.dto.response.ProjetoResponse;
+import com.projectasks.minimundoproject.dto.response.PageResponse;
 import com.projectasks.minimundoproject.dto.response.TarefaResponse;
 import com.projectasks.minimundoproject.model.Tarefa;
+import com.projectasks.minimundoproject.service.FragmentosViewService;
 import com.projectasks.minimundoproject.service.ProjetoService;
 import com.projectasks.minimundoproject.service.TarefaService;
 
@@ -29,11 +32,13 @@ public class TarefaViewController {
 
     private final TarefaService tarefaService;
     private final ProjetoService projetoService;
+    private final FragmentosViewService fragmentosViewService;
 
     @GetMapping
     public String tarefas(@RequestParam Long projetoId,
                           @RequestParam(required = false) Tarefa.StatusTarefa status,
                           @RequestParam(required = false) String descricao,
+                          @RequestParam(required = false) String cursor,
                           HttpSession session,
                           Model model) {
 
@@ -41,26 +46,38 @@ public class TarefaViewController {
         if (usuarioId == null)
             return "redirect:/login";
 
-        try {
-            ProjetoResponse projeto = projetoService.findById(projetoId, usuarioId);
-            List<TarefaResponse> tarefas = tarefaService.findByProjeto(projetoId, usuarioId, status, descricao);
+        TarefaRequest tarefaRequest = new TarefaRequest();
+        tarefaRequest.setProjetoId(projetoId);
+        model.addAttribute("usuarioNome", session.getAttribute("usuarioNome"));
+        model.addAttribute("tarefaRequest", tarefaRequest);
 
+        try {
             // ===============================
-            // CÁLCULOS SEM USO DO THYMELEAF - teste
+            // Fragmentos em cache por usuário: na repetição da tela não há consulta.
+            // Totais vêm da consulta agregada do projeto (não da página atual);
+            // findById também confere que o projeto é do usuário
             // ===============================
-            int totalTarefas = tarefas.size();
-            int tarefasConcluidas = (int) tarefas.stream()
-                    .filter(t -> t.getStatus() == Tarefa.StatusTarefa.CONCLUIDA)
-                    .count();
-            int tarefasPendentes = totalTarefas - tarefasConcluidas;
-
-            model.addAttribute("projeto", projeto);
-            model.addAttribute("tarefas", tarefas);
-            model.addAttribute("totalTarefas", totalTarefas);
-            model.addAttribute("tarefasConcluidas", tarefasConcluidas);
-            model.addAttribute("tarefasPendentes", tarefasPendentes);
-            model.addAttribute("usuarioNome", session.getAttribute("usuarioNome"));
-            model.addAttribute("tarefaRequest", new TarefaRequest());
+            model.addAttribute("resumoHtml", fragmentosViewService.fragmento(usuarioId,
+                    "tarefas:resumo:" + projetoId, "resumo-projeto",
+                    () -> Map.of("projeto", projetoService.findById(projetoId, usuarioId))));
+            Supplier<Map<String, Object>> carregar = () -> {
+                PageResponse<TarefaResponse> pagina = tarefaService.findByProjetoPaginado(
+                        projetoId, usuarioId, status, descricao, cursor, null);
+                // HashMap: filtros e cursor podem ser nulos
+                Map<String, Object> variaveis = new HashMap<>();
+                variaveis.put("projetoId", projetoId);
+                variaveis.put("tarefas", pagina.getItens());
+                variaveis.put("cursor", cursor);
+                variaveis.put("proximoCursor", pagina.getProximoCursor());
+                variaveis.put("status", status);
+                variaveis.put("descricao", descricao);
+                return variaveis;
+            };
+            // Busca por descrição (texto livre) não entra no cache
+            model.addAttribute("tarefasHtml", descricao == null || descricao.isBlank()
+                    ? fragmentosViewService.fragmento(usuarioId,
+                            "tarefas:" + projetoId + ":" + status + ":" + descricao + ":" + cursor, "tabela-tarefas", carregar)
+                    : fragmentosViewService.renderizar("tabela-tarefas", carregar));
 
         } catch (Exception e) {
             model.addAttribute("error", e.getMessage());
@@ -0,0 +1,112 @@
+package com.projectasks.minimundoproject.diario;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Escritor do diário de alterações: arquivo de log só de acréscimo, em segmentos de tamanho
+ * fixo mapeados em memória.
+ *
+ * Anexar é uma cópia para o mapeamento, sem chamada de sistema; a gravação em disco fica para
+ * sincronizar(), chamado periodicamente, que leva ao disco de uma vez tudo o que foi anexado
+ * desde a última chamada (group commit). Um registro que não cabe no segmento abre o próximo,
+ * nomeado pela sua primeira sequência. Na abertura, a escrita continua em um segmento novo,
+ * então um final interrompido no segmento anterior nunca é sobrescrito.
+ */
+public final class DiarioAlteracoes implements Closeable {
+
+    static final String EXTENSAO = ".diario";
+
+    private final Path diretorio;
+    private final int tamanhoSegmento;
+
+    private FileChannel canal;
+    private MappedByteBuffer segmento;
+    private long proximaSequencia;
+    private boolean pendente;
+
+    public DiarioAlteracoes(Path diretorio, int tamanhoSegmento) throws IOException {
+        this.diretorio = diretorio;
+        this.tamanhoSegmento = tamanhoSegmento;
+        Files.createDirectories(diretorio);
+
+        List<Path> segmentos = LeitorDiario.segmentos(diretorio);
+        long proxima = 1;
+        if (!segmentos.isEmpty()) {
+            Path ultimo = segmentos.get(segmentos.size() - 1);
+            long ultimaSequencia = LeitorDiario.ultimaSequencia(ultimo);
+            if (ultimaSequencia == 0) {
+                // Nenhum registro válido: o segmento é recriado com o mesmo nome
+                proxima = LeitorDiario.primeiraSequencia(ultimo);
+                Files.delete(ultimo);
+            } else {
+                proxima = ultimaSequencia + 1;
+            }
+        }
+        abrirSegmento(proxima);
+    }
+
+    /**
+     * Acrescenta o registro ao diário
+     *
+     * @return a sequência atribuída (a do registro é ignorada)
+     */
+    public synchronized long anexar(RegistroDiario registro) throws IOException {
+        byte[] texto = registro.textoCodificado();
+        int tamanho = RegistroDiario.tamanho(texto);
+        if (tamanho > tamanhoSegmento)
+            throw new IllegalArgumentException("Registro maior que o segmento do diário: " + tamanho + " bytes");
+        if (segmento.remaining() < tamanho)
+            rotacionar();
+
+        long sequencia = proximaSequencia++;
+        registro.escrever(segmento, sequencia, texto);
+        pendente = true;
+        return sequencia;
+    }
+
+    /**
+     * Grava em disco os registros anexados desde a última chamada
+     */
+    public void sincronizar() {
+        MappedByteBuffer atual;
+        synchronized (this) {
+            if (!pendente)
+                return;
+            pendente = false;
+            atual = segmento;
+        }
+        // Fora do lock: os anexos seguintes não esperam o disco
+        atual.force();
+    }
+
+    public synchronized long getProximaSequencia() {
+        return proximaSequencia;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        segmento.force();
+        canal.close();
+    }
+
+    private void rotacionar() throws IOException {
+        segmento.force();
+        canal.close();
+        abrirSegmento(proximaSequencia);
+    }
+
+    private void abrirSegmento(long primeiraSequencia) throws IOException {
+        Path arquivo = diretorio.resolve(String.format("%020d%s", primeiraSequencia, EXTENSAO));
+        canal = FileChannel.open(arquivo, StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segmento = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanhoSegmento);
+        proximaSequencia = primeiraSequencia;
+    }
+}
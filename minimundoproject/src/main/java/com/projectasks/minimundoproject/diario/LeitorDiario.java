@@ -0,0 +1,85 @@
+package com.projectasks.minimundoproject.diario;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Leitura do diário de alterações, segmento a segmento em ordem de sequência.
+ * Cada segmento é lido até o primeiro registro ausente ou inválido; pode ser usado com o
+ * escritor em funcionamento (lê o que já foi anexado).
+ */
+public final class LeitorDiario {
+
+    private LeitorDiario() {
+    }
+
+    /**
+     * Reaplica os registros com sequência maior que desde, em ordem
+     *
+     * @return quantidade de registros entregues
+     */
+    public static long reproduzir(Path diretorio, long desde, Consumer<RegistroDiario> consumidor) throws IOException {
+        List<Path> segmentos = segmentos(diretorio);
+        long entregues = 0;
+        for (int i = 0; i < segmentos.size(); i++) {
+            // Segmento inteiro anterior ao ponto de partida: o próximo começa antes de desde
+            if (i + 1 < segmentos.size() && primeiraSequencia(segmentos.get(i + 1)) <= desde + 1)
+                continue;
+
+            MappedByteBuffer conteudo = mapear(segmentos.get(i));
+            RegistroDiario registro;
+            while ((registro = RegistroDiario.ler(conteudo)) != null) {
+                if (registro.sequencia() > desde) {
+                    consumidor.accept(registro);
+                    entregues++;
+                }
+            }
+        }
+        return entregues;
+    }
+
+    /**
+     * Segmentos do diretório em ordem de sequência
+     */
+    public static List<Path> segmentos(Path diretorio) throws IOException {
+        if (!Files.isDirectory(diretorio))
+            return List.of();
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos
+                .filter(arquivo -> arquivo.getFileName().toString().endsWith(DiarioAlteracoes.EXTENSAO))
+                .sorted()
+                .toList();
+        }
+    }
+
+    static long primeiraSequencia(Path segmento) {
+        String nome = segmento.getFileName().toString();
+        return Long.parseLong(nome.substring(0, nome.length() - DiarioAlteracoes.EXTENSAO.length()));
+    }
+
+    /**
+     * Sequência do último registro válido do segmento (0 se nenhum)
+     */
+    static long ultimaSequencia(Path segmento) throws IOException {
+        MappedByteBuffer conteudo = mapear(segmento);
+        long ultima = 0;
+        RegistroDiario registro;
+        while ((registro = RegistroDiario.ler(conteudo)) != null) {
+            ultima = registro.sequencia();
+        }
+        return ultima;
+    }
+
+    private static MappedByteBuffer mapear(Path segmento) throws IOException {
+        try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.READ)) {
+            return canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.projectasks.minimundoproject.diario;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.CRC32C;
+
+import com.projectasks.minimundoproject.event.ProjetoAlteradoEvent;
+import com.projectasks.minimundoproject.event.TarefaAlteradaEvent;
+import com.projectasks.minimundoproject.event.TipoAlteracao;
+import com.projectasks.minimundoproject.event.UsuarioAlteradoEvent;
+import com.projectasks.minimundoproject.model.Tarefa.StatusTarefa;
+
+/**
+ * Uma alteração de usuário, projeto ou tarefa no diário.
+ *
+ * Formato binário: tamanho do conteúdo (int), CRC32C do conteúdo (int) e o conteúdo com os
+ * campos em ordem fixa; nulos viram 0 (ids), -1 (status) ou Long.MIN_VALUE (datas). Tamanho
+ * zero marca o fim dos registros do segmento (o arquivo mapeado começa zerado) e um CRC que
+ * não confere marca uma escrita interrompida.
+ */
+public record RegistroDiario(
+        long sequencia,
+        long instante,
+        Entidade entidade,
+        TipoAlteracao tipo,
+        Long usuarioId,
+        Long entidadeId,
+        Long projetoId,
+        String texto,
+        StatusTarefa statusAnterior,
+        LocalDate dataFimAnterior,
+        StatusTarefa status,
+        LocalDate dataFim) {
+
+    public enum Entidade {
+        USUARIO, PROJETO, TAREFA
+    }
+
+    static final int CABECALHO = 8;
+
+    // sequencia, instante, entidade, tipo, usuario, entidade, projeto, 2 status, 2 datas, tamanho do texto
+    private static final int CAMPOS_FIXOS = 8 + 8 + 1 + 1 + 8 + 8 + 8 + 1 + 8 + 1 + 8 + 4;
+
+    private static final Entidade[] ENTIDADES = Entidade.values();
+    private static final TipoAlteracao[] TIPOS = TipoAlteracao.values();
+    private static final StatusTarefa[] STATUS = StatusTarefa.values();
+
+    public static RegistroDiario de(TarefaAlteradaEvent event) {
+        return new RegistroDiario(0, System.currentTimeMillis(), Entidade.TAREFA, event.getTipo(),
+            event.getUsuarioId(), event.getTarefaId(), event.getProjetoId(), event.getDescricao(),
+            event.getStatusAnterior(), event.getDataFimAnterior(), event.getStatus(), event.getDataFim());
+    }
+
+    public static RegistroDiario de(ProjetoAlteradoEvent event) {
+        return new RegistroDiario(0, System.currentTimeMillis(), Entidade.PROJETO, event.getTipo(),
+            event.getUsuarioId(), event.getProjetoId(), event.getProjetoId(), event.getNome(),
+            null, null, null, null);
+    }
+
+    public static RegistroDiario de(UsuarioAlteradoEvent event) {
+        return new RegistroDiario(0, System.currentTimeMillis(), Entidade.USUARIO, event.getTipo(),
+            event.getUsuarioId(), event.getUsuarioId(), null, event.getNome(),
+            null, null, null, null);
+    }
+
+    /**
+     * Evento de domínio equivalente, para reaplicar o registro nos ouvintes que mantêm
+     * estado derivado (contadores, índice de busca, cronogramas)
+     */
+    public Object paraEvento() {
+        return switch (entidade) {
+            case TAREFA -> new TarefaAlteradaEvent(tipo, usuarioId, projetoId, entidadeId, texto,
+                statusAnterior, dataFimAnterior, status, dataFim);
+            case PROJETO -> new ProjetoAlteradoEvent(tipo, usuarioId, entidadeId, texto);
+            case USUARIO -> new UsuarioAlteradoEvent(tipo, usuarioId, texto);
+        };
+    }
+
+    /**
+     * Conteúdo do texto já codificado, para o escritor calcular o espaço antes de escrever
+     */
+    byte[] textoCodificado() {
+        return texto != null ? texto.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    }
+
+    static int tamanho(byte[] texto) {
+        return CABECALHO + CAMPOS_FIXOS + texto.length;
+    }
+
+    /**
+     * Escreve o registro na posição atual do destino com a sequência informada
+     */
+    void escrever(ByteBuffer destino, long sequencia, byte[] texto) {
+        int inicio = destino.position();
+        int conteudo = inicio + CABECALHO;
+        destino.position(conteudo);
+        destino.putLong(sequencia)
+            .putLong(instante)
+            .put((byte) entidade.ordinal())
+            .put((byte) tipo.ordinal())
+            .putLong(id(usuarioId))
+            .putLong(id(entidadeId))
+            .putLong(id(projetoId))
+            .put(status(statusAnterior))
+            .putLong(data(dataFimAnterior))
+            .put(status(status))
+            .putLong(data(dataFim))
+            .putInt(texto.length)
+            .put(texto);
+        int fim = destino.position();
+
+        CRC32C crc = new CRC32C();
+        crc.update(destino.slice(conteudo, fim - conteudo));
+        destino.putInt(inicio, fim - conteudo);
+        destino.putInt(inicio + 4, (int) crc.getValue());
+    }
+
+    /**
+     * Lê o registro na posição atual e avança a origem
+     *
+     * @return nulo no fim dos registros (tamanho zero, incompleto ou CRC que não confere),
+     *         sem mover a posição
+     */
+    static RegistroDiario ler(ByteBuffer origem) {
+        int inicio = origem.position();
+        if (origem.remaining() < CABECALHO + CAMPOS_FIXOS)
+            return null;
+        int tamanho = origem.getInt(inicio);
+        if (tamanho < CAMPOS_FIXOS || tamanho > origem.remaining() - CABECALHO)
+            return null;
+
+        int conteudo = inicio + CABECALHO;
+        CRC32C crc = new CRC32C();
+        crc.update(origem.slice(conteudo, tamanho));
+        if ((int) crc.getValue() != origem.getInt(inicio + 4))
+            return null;
+
+        ByteBuffer campos = origem.slice(conteudo, tamanho);
+        long sequencia = campos.getLong();
+        long instante = campos.getLong();
+        Entidade entidade = ENTIDADES[campos.get()];
+        TipoAlteracao tipo = TIPOS[campos.get()];
+        Long usuarioId = id(campos.getLong());
+        Long entidadeId = id(campos.getLong());
+        Long projetoId = id(campos.getLong());
+        StatusTarefa statusAnterior = status(campos.get());
+        LocalDate dataFimAnterior = data(campos.getLong());
+        StatusTarefa status = status(campos.get());
+        LocalDate dataFim = data(campos.getLong());
+        byte[] texto = new byte[campos.getInt()];
+        campos.get(texto);
+
+        origem.position(conteudo + tamanho);
+        return new RegistroDiario(sequencia, instante, entidade, tipo, usuarioId, entidadeId, projetoId,
+            texto.length > 0 ? new String(texto, StandardCharsets.UTF_8) : null,
+            statusAnterior, dataFimAnterior, status, dataFim);
+    }
+
+    private static long id(Long id) {
+        return id != null ? id : 0;
+    }
+
+    private static Long id(long id) {
+        return id != 0 ? id : null;
+    }
+
+    private static byte status(StatusTarefa status) {
+        return status != null ? (byte) status.ordinal() : -1;
+    }
+
+    private static StatusTarefa status(byte status) {
+        return status >= 0 ? STATUS[status] : null;
+    }
+
+    private static long data(LocalDate data) {
+        return data != null ? data.toEpochDay() : Long.MIN_VALUE;
+    }
+
+    private static LocalDate data(long data) {
+        return data != Long.MIN_VALUE ? LocalDate.ofEpochDay(data) : null;
+    }
+}
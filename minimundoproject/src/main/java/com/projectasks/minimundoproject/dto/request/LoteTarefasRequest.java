@@ -0,0 +1,12 @@
+package com.projectasks.minimundoproject.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+@Data
+public class LoteTarefasRequest {
+    @NotEmpty(message = "Informe ao menos uma operação")
+    private List<OperacaoTarefaRequest> operacoes;
+}
@@ -0,0 +1,39 @@
+package com.projectasks.minimundoproject.dto.request;
+
+import java.time.LocalDate;
+
+import com.projectasks.minimundoproject.model.Tarefa.StatusTarefa;
+
+import lombok.Data;
+
+/**
+ * Uma operação do lote de tarefas.
+ * CRIAR usa projetoId e pode ter "ref" para ser apontada como predecessora por
+ * operações seguintes ("predecessoraRef"); ATUALIZAR e EXCLUIR usam o id da tarefa.
+ */
+@Data
+public class OperacaoTarefaRequest {
+    private TipoOperacao tipo;
+    
+    private Long id;
+    
+    private String ref;
+    
+    private String descricao;
+    
+    private Long projetoId;
+    
+    private LocalDate dataInicio;
+    
+    private LocalDate dataFim;
+    
+    private Long tarefaPredecessoraId;
+    
+    private String predecessoraRef;
+    
+    private StatusTarefa status;
+    
+    public enum TipoOperacao {
+        CRIAR, ATUALIZAR, EXCLUIR
+    }
+}
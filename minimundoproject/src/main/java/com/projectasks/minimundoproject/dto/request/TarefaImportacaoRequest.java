@@ -0,0 +1,23 @@
+package com.projectasks.minimundoproject.dto.request;
+
+import java.time.LocalDate;
+
+import com.projectasks.minimundoproject.model.Tarefa.StatusTarefa;
+
+import lombok.Data;
+
+/**
+ * Uma linha do arquivo de importação (NDJSON ou CSV).
+ * "ref" identifica a tarefa dentro do arquivo; "predecessora" aponta para a
+ * ref de uma linha anterior e "tarefaPredecessoraId" para uma tarefa já existente.
+ */
+@Data
+public class TarefaImportacaoRequest {
+    private String ref;
+    private String descricao;
+    private LocalDate dataInicio;
+    private LocalDate dataFim;
+    private StatusTarefa status;
+    private String predecessora;
+    private Long tarefaPredecessoraId;
+}
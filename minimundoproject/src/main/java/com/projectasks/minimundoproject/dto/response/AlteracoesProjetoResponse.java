@@ -0,0 +1,19 @@
+package com.projectasks.minimundoproject.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Mensagem SSE com as alterações de um projeto em uma transação (uma por entidade).
+ * Com ressincronizar = true a transação alterou itens demais para listar: o cliente
+ * recarrega por /api/sync
+ */
+@Data
+@AllArgsConstructor
+public class AlteracoesProjetoResponse {
+    private Long projetoId;
+    private List<EventoProjetoResponse> alteracoes;
+    private boolean ressincronizar;
+}
@@ -0,0 +1,23 @@
+package com.projectasks.minimundoproject.dto.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Cronograma do projeto: tarefas em ordem topológica com datas do caminho crítico.
+ * tarefasEmCiclo lista tarefas que não puderam ser ordenadas (dados legados com ciclo).
+ */
+@Data
+@AllArgsConstructor
+public class CronogramaResponse {
+    private Long projetoId;
+    private LocalDate dataInicio;
+    private LocalDate dataFimPrevista;
+    private int duracaoDias;
+    private List<ItemCronogramaResponse> tarefas;
+    private List<Long> caminhoCritico;
+    private List<Long> tarefasEmCiclo;
+}
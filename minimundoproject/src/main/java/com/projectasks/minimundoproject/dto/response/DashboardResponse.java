@@ -0,0 +1,16 @@
+package com.projectasks.minimundoproject.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Totais do dashboard (do usuário ou de um projeto; no projeto, totalProjetos é 1)
+ */
+@Data
+@AllArgsConstructor
+public class DashboardResponse {
+    private long totalProjetos;
+    private long totalTarefas;
+    private long tarefasConcluidas;
+    private long tarefasAtrasadas;
+}
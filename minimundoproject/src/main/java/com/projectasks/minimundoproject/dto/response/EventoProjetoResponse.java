@@ -0,0 +1,20 @@
+package com.projectasks.minimundoproject.dto.response;
+
+import com.projectasks.minimundoproject.event.TipoAlteracao;
+import com.projectasks.minimundoproject.model.Exclusao.TipoEntidade;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Aviso de alteração enviado por SSE: só identifica o que mudou; o cliente busca os dados
+ * pela API (ou por /api/sync)
+ */
+@Data
+@AllArgsConstructor
+public class EventoProjetoResponse {
+    private TipoAlteracao tipo;
+    private TipoEntidade entidade;
+    private Long id;
+    private Long projetoId;
+}
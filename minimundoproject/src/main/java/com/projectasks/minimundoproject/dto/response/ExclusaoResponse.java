@@ -0,0 +1,17 @@
+package com.projectasks.minimundoproject.dto.response;
+
+import java.time.LocalDateTime;
+
+import com.projectasks.minimundoproject.model.Exclusao.TipoEntidade;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ExclusaoResponse {
+    private TipoEntidade tipo;
+    private Long id;
+    private Long projetoId;
+    private LocalDateTime excluidoEm;
+}
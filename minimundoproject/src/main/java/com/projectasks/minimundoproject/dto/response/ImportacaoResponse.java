@@ -0,0 +1,12 @@
+package com.projectasks.minimundoproject.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ImportacaoResponse {
+    private Long projetoId;
+    private int tarefasImportadas;
+    private long duracaoMs;
+}
@@ -0,0 +1,23 @@
+package com.projectasks.minimundoproject.dto.response;
+
+import java.time.LocalDate;
+
+import com.projectasks.minimundoproject.model.Tarefa.StatusTarefa;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ItemCronogramaResponse {
+    private Long tarefaId;
+    private Long tarefaPredecessoraId;
+    private StatusTarefa status;
+    private int duracaoDias;
+    private LocalDate inicioMaisCedo;
+    private LocalDate fimMaisCedo;
+    private LocalDate inicioMaisTarde;
+    private LocalDate fimMaisTarde;
+    private int folgaDias;
+    private boolean critica;
+}
@@ -0,0 +1,17 @@
+package com.projectasks.minimundoproject.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Resultado do lote. O lote é aplicado por inteiro ou não é aplicado:
+ * com aplicado = false os resultados indicam as operações com erro.
+ */
+@Data
+@AllArgsConstructor
+public class LoteTarefasResponse {
+    private boolean aplicado;
+    private List<ResultadoOperacaoResponse> resultados;
+}
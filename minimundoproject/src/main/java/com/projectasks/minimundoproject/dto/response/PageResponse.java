@@ -0,0 +1,18 @@
+package com.projectasks.minimundoproject.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Página de resultados com paginação por cursor (keyset).
+ * proximoCursor é nulo quando não há mais registros.
+ */
+@Data
+@AllArgsConstructor
+public class PageResponse<T> {
+    private List<T> itens;
+    private String proximoCursor;
+    private int tamanho;
+}
@@ -0,0 +1,20 @@
+package com.projectasks.minimundoproject.dto.response;
+
+import com.projectasks.minimundoproject.dto.request.OperacaoTarefaRequest.TipoOperacao;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Resultado de uma operação do lote: a tarefa gravada (nula na exclusão) ou o erro
+ */
+@Data
+@AllArgsConstructor
+public class ResultadoOperacaoResponse {
+    private int indice;
+    private TipoOperacao tipo;
+    private Long id;
+    private String ref;
+    private String erro;
+    private TarefaResponse tarefa;
+}
@@ -0,0 +1,21 @@
+package com.projectasks.minimundoproject.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Alterações desde o último token: registros criados/atualizados e exclusões.
+ * Com proximoCursor preenchido há mais páginas: enviá-lo em cursor para ler a seguinte.
+ * proximoToken vem só na última página e deve ser enviado em since na próxima sincronização.
+ */
+@Data
+@AllArgsConstructor
+public class SyncResponse {
+    private List<ProjetoResponse> projetos;
+    private List<TarefaResponse> tarefas;
+    private List<ExclusaoResponse> excluidos;
+    private String proximoToken;
+    private String proximoCursor;
+}
@@ -0,0 +1,16 @@
+package com.projectasks.minimundoproject.event;
+
+import lombok.Value;
+
+/**
+ * Publicado pelo ProjetoService a cada criação, atualização ou exclusão de projeto.
+ * Os ouvintes reagem após o commit da transação; o registro de exclusões da
+ * sincronização e os contadores do dashboard são gravados antes do commit, na mesma transação.
+ */
+@Value
+public class ProjetoAlteradoEvent {
+    TipoAlteracao tipo;
+    Long usuarioId;
+    Long projetoId;
+    String nome;
+}
@@ -0,0 +1,41 @@
+package com.projectasks.minimundoproject.event;
+
+import java.time.LocalDate;
+
+import com.projectasks.minimundoproject.model.Tarefa;
+import com.projectasks.minimundoproject.model.Tarefa.StatusTarefa;
+
+import lombok.Value;
+
+/**
+ * Publicado pelo TarefaService a cada criação, atualização ou exclusão de tarefa.
+ * Os ouvintes reagem após o commit da transação; o registro de exclusões da
+ * sincronização e os contadores do dashboard são gravados antes do commit, na mesma transação.
+ *
+ * Status e data de fim vão antes (nulos na criação) e depois (nulos na exclusão) da
+ * alteração, para os contadores aplicarem só a diferença.
+ */
+@Value
+public class TarefaAlteradaEvent {
+    TipoAlteracao tipo;
+    Long usuarioId;
+    Long projetoId;
+    Long tarefaId;
+    String descricao;
+    StatusTarefa statusAnterior;
+    LocalDate dataFimAnterior;
+    StatusTarefa status;
+    LocalDate dataFim;
+    
+    /**
+     * Evento com o estado atual da tarefa; statusAnterior e dataFimAnterior são os valores
+     * antes da alteração (nulos na criação)
+     */
+    public static TarefaAlteradaEvent de(TipoAlteracao tipo, Long usuarioId, Tarefa tarefa,
+                                         StatusTarefa statusAnterior, LocalDate dataFimAnterior) {
+        boolean excluida = tipo == TipoAlteracao.EXCLUIDO;
+        return new TarefaAlteradaEvent(tipo, usuarioId, tarefa.getProjeto().getId(), tarefa.getId(),
+            tarefa.getDescricao(), statusAnterior, dataFimAnterior,
+            excluida ? null : tarefa.getStatus(), excluida ? null : tarefa.getDataFim());
+    }
+}
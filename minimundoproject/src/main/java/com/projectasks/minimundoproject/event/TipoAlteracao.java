@@ -0,0 +1,5 @@
+package com.projectasks.minimundoproject.event;
+
+public enum TipoAlteracao {
+    CRIADO, ATUALIZADO, EXCLUIDO
+}
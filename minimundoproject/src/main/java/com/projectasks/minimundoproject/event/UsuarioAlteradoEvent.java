@@ -0,0 +1,14 @@
+package com.projectasks.minimundoproject.event;
+
+import lombok.Value;
+
+/**
+ * Publicado pelo AuthService no registro de usuário e na troca do hash da senha.
+ * O registro não roda em transação: os ouvintes precisam de fallbackExecution.
+ */
+@Value
+public class UsuarioAlteradoEvent {
+    TipoAlteracao tipo;
+    Long usuarioId;
+    String nome;
+}
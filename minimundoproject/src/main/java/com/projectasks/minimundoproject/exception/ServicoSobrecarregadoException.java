@@ -0,0 +1,26 @@
+package com.projectasks.minimundoproject.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Recurso limitado sem capacidade no momento: o cliente deve tentar de novo após Retry-After
+ */
+public class ServicoSobrecarregadoException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final int retryAfterSegundos;
+
+    public ServicoSobrecarregadoException(HttpStatus status, String message, int retryAfterSegundos) {
+        super(message);
+        this.status = status;
+        this.retryAfterSegundos = retryAfterSegundos;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public int getRetryAfterSegundos() {
+        return retryAfterSegundos;
+    }
+}
@@ -0,0 +1,36 @@
+package com.projectasks.minimundoproject.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Totais de tarefas de um projeto, mantidos pelo DashboardService
+ */
+@Entity
+@Table(name = "contadores_projeto")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContadorProjeto {
+    
+    @Id
+    @Column(name = "projeto_id")
+    private Long projetoId;
+    
+    @Column(name = "usuario_id", nullable = false)
+    private Long usuarioId;
+    
+    @Column(name = "total_tarefas", nullable = false)
+    private long totalTarefas;
+    
+    @Column(name = "tarefas_concluidas", nullable = false)
+    private long tarefasConcluidas;
+    
+    @Column(name = "tarefas_atrasadas", nullable = false)
+    private long tarefasAtrasadas;
+}
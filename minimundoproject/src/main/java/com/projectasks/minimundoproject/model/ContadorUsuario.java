@@ -0,0 +1,36 @@
+package com.projectasks.minimundoproject.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Totais do usuário exibidos no dashboard, mantidos pelo DashboardService
+ */
+@Entity
+@Table(name = "contadores_usuario")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContadorUsuario {
+    
+    @Id
+    @Column(name = "usuario_id")
+    private Long usuarioId;
+    
+    @Column(name = "total_projetos", nullable = false)
+    private long totalProjetos;
+    
+    @Column(name = "total_tarefas", nullable = false)
+    private long totalTarefas;
+    
+    @Column(name = "tarefas_concluidas", nullable = false)
+    private long tarefasConcluidas;
+    
+    @Column(name = "tarefas_atrasadas", nullable = false)
+    private long tarefasAtrasadas;
+}
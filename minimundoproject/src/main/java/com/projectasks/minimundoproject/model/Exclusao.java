@@ -0,0 +1,53 @@
+package com.projectasks.minimundoproject.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Registro de exclusão (tombstone) de projeto ou tarefa, consumido pela sincronização.
+ * A exclusão de um projeto também remove as suas tarefas, sem registros próprios.
+ */
+@Entity
+@Table(name = "exclusoes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Exclusao {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "exclusoes_seq")
+    @SequenceGenerator(name = "exclusoes_seq", sequenceName = "exclusoes_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "usuario_id", nullable = false)
+    private Long usuarioId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TipoEntidade tipo;
+    
+    @Column(name = "entidade_id", nullable = false)
+    private Long entidadeId;
+    
+    @Column(name = "projeto_id", nullable = false)
+    private Long projetoId;
+    
+    @Column(name = "excluido_em", nullable = false)
+    private LocalDateTime excluidoEm;
+    
+    public enum TipoEntidade {
+        PROJETO, TAREFA
+    }
+}
@@ -18,6 +18,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -30,8 +31,10 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class Projeto {
     
+    // Sequência com alocação em bloco: permite batch de INSERT no Hibernate
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "projetos_seq")
+    @SequenceGenerator(name = "projetos_seq", sequenceName = "projetos_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, unique = true)
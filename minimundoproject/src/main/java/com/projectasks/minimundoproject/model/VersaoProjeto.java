@@ -0,0 +1,35 @@
+package com.projectasks.minimundoproject.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Versão de um projeto e das listagens das suas tarefas, mantida pelo VersaoService
+ */
+@Entity
+@Table(name = "versoes_projeto")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersaoProjeto {
+    
+    @Id
+    @Column(name = "projeto_id")
+    private Long projetoId;
+    
+    @Column(name = "usuario_id", nullable = false)
+    private Long usuarioId;
+    
+    @Column(nullable = false)
+    private long versao;
+    
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+}
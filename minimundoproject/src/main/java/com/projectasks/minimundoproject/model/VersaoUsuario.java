@@ -0,0 +1,32 @@
+package com.projectasks.minimundoproject.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Versão das listagens de projetos de um usuário, mantida pelo VersaoService
+ */
+@Entity
+@Table(name = "versoes_usuario")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersaoUsuario {
+    
+    @Id
+    @Column(name = "usuario_id")
+    private Long usuarioId;
+    
+    @Column(nullable = false)
+    private long versao;
+    
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+}
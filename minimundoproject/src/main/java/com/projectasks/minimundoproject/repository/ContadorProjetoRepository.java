@@ -0,0 +1,60 @@
+package com.projectasks.minimundoproject.repository;
+
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.projectasks.minimundoproject.model.ContadorProjeto;
+
+@Repository
+public interface ContadorProjetoRepository extends JpaRepository<ContadorProjeto, Long> {
+    
+    // Incremento atômico no banco, sem ler a linha
+    @Modifying
+    @Query("UPDATE ContadorProjeto c SET c.totalTarefas = c.totalTarefas + :total, "
+         + "c.tarefasConcluidas = c.tarefasConcluidas + :concluidas, c.tarefasAtrasadas = c.tarefasAtrasadas + :atrasadas "
+         + "WHERE c.projetoId = :projetoId")
+    int somar(@Param("projetoId") Long projetoId, @Param("total") long total,
+              @Param("concluidas") long concluidas, @Param("atrasadas") long atrasadas);
+    
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO contadores_projeto "
+         + "(projeto_id, usuario_id, total_tarefas, tarefas_concluidas, tarefas_atrasadas) VALUES (:projetoId, :usuarioId, 0, 0, 0)")
+    void inserir(@Param("projetoId") Long projetoId, @Param("usuarioId") Long usuarioId);
+    
+    @Modifying
+    @Query("DELETE FROM ContadorProjeto c WHERE c.projetoId = :projetoId")
+    int excluir(@Param("projetoId") Long projetoId);
+    
+    // Reconciliação: recalcula a partir de projetos e tarefas
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM contadores_projeto WHERE usuario_id = :usuarioId")
+    void excluirDoUsuario(@Param("usuarioId") Long usuarioId);
+    
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO contadores_projeto "
+         + "(projeto_id, usuario_id, total_tarefas, tarefas_concluidas, tarefas_atrasadas) "
+         + "SELECT p.id, p.usuario_id, COUNT(t.id), "
+         + "COALESCE(SUM(CASE WHEN t.status = 'CONCLUIDA' THEN 1 ELSE 0 END), 0), "
+         + "COALESCE(SUM(CASE WHEN t.status <> 'CONCLUIDA' AND t.data_fim < :hoje THEN 1 ELSE 0 END), 0) "
+         + "FROM projetos p LEFT JOIN tarefas t ON t.projeto_id = p.id WHERE p.usuario_id = :usuarioId "
+         + "GROUP BY p.id, p.usuario_id")
+    int recalcularDoUsuario(@Param("usuarioId") Long usuarioId, @Param("hoje") LocalDate hoje);
+    
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM contadores_projeto")
+    void excluirTodos();
+    
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO contadores_projeto "
+         + "(projeto_id, usuario_id, total_tarefas, tarefas_concluidas, tarefas_atrasadas) "
+         + "SELECT p.id, p.usuario_id, COUNT(t.id), "
+         + "COALESCE(SUM(CASE WHEN t.status = 'CONCLUIDA' THEN 1 ELSE 0 END), 0), "
+         + "COALESCE(SUM(CASE WHEN t.status <> 'CONCLUIDA' AND t.data_fim < :hoje THEN 1 ELSE 0 END), 0) "
+         + "FROM projetos p LEFT JOIN tarefas t ON t.projeto_id = p.id GROUP BY p.id, p.usuario_id")
+    int recalcularTodos(@Param("hoje") LocalDate hoje);
+}
@@ -0,0 +1,46 @@
+package com.projectasks.minimundoproject.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.projectasks.minimundoproject.model.ContadorUsuario;
+
+@Repository
+public interface ContadorUsuarioRepository extends JpaRepository<ContadorUsuario, Long> {
+    
+    // Incremento atômico no banco, sem ler a linha
+    @Modifying
+    @Query("UPDATE ContadorUsuario c SET c.totalProjetos = c.totalProjetos + :projetos, "
+         + "c.totalTarefas = c.totalTarefas + :total, c.tarefasConcluidas = c.tarefasConcluidas + :concluidas, "
+         + "c.tarefasAtrasadas = c.tarefasAtrasadas + :atrasadas WHERE c.usuarioId = :usuarioId")
+    int somar(@Param("usuarioId") Long usuarioId, @Param("projetos") long projetos, @Param("total") long total,
+              @Param("concluidas") long concluidas, @Param("atrasadas") long atrasadas);
+    
+    // Reconciliação: soma dos contadores de projeto já recalculados
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM contadores_usuario WHERE usuario_id = :usuarioId")
+    void excluirDoUsuario(@Param("usuarioId") Long usuarioId);
+    
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO contadores_usuario "
+         + "(usuario_id, total_projetos, total_tarefas, tarefas_concluidas, tarefas_atrasadas) "
+         + "SELECT u.id, COUNT(c.projeto_id), COALESCE(SUM(c.total_tarefas), 0), "
+         + "COALESCE(SUM(c.tarefas_concluidas), 0), COALESCE(SUM(c.tarefas_atrasadas), 0) "
+         + "FROM usuarios u LEFT JOIN contadores_projeto c ON c.usuario_id = u.id WHERE u.id = :usuarioId GROUP BY u.id")
+    int recalcularDoUsuario(@Param("usuarioId") Long usuarioId);
+    
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM contadores_usuario")
+    void excluirTodos();
+    
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO contadores_usuario "
+         + "(usuario_id, total_projetos, total_tarefas, tarefas_concluidas, tarefas_atrasadas) "
+         + "SELECT u.id, COUNT(c.projeto_id), COALESCE(SUM(c.total_tarefas), 0), "
+         + "COALESCE(SUM(c.tarefas_concluidas), 0), COALESCE(SUM(c.tarefas_atrasadas), 0) "
+         + "FROM usuarios u LEFT JOIN contadores_projeto c ON c.usuario_id = u.id GROUP BY u.id")
+    int recalcularTodos();
+}
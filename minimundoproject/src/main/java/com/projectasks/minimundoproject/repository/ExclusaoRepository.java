@@ -0,0 +1,30 @@
+package com.projectasks.minimundoproject.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.projectasks.minimundoproject.model.Exclusao;
+
+@Repository
+public interface ExclusaoRepository extends JpaRepository<Exclusao, Long> {
+    
+    // Sincronização: exclusões após (aposExclusao, aposId), keyset sobre (excluido_em, id)
+    @Query("SELECT e FROM Exclusao e WHERE e.usuarioId = :usuarioId AND e.excluidoEm >= :aposExclusao "
+         + "AND (e.excluidoEm > :aposExclusao OR e.id > :aposId) ORDER BY e.excluidoEm, e.id")
+    List<Exclusao> findApos(@Param("usuarioId") Long usuarioId, @Param("aposExclusao") LocalDateTime aposExclusao,
+                            @Param("aposId") Long aposId, Limit limit);
+    
+    // Expurgo em lote dos registros fora da retenção
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Exclusao e WHERE e.excluidoEm < :limite")
+    int excluirAnterioresA(@Param("limite") LocalDateTime limite);
+}
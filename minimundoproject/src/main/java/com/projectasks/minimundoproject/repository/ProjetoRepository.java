@@ -1,15 +1,25 @@
 package com.projectasks.minimundoproject.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.projectasks.minimundoproject.model.Projeto;
 import com.projectasks.minimundoproject.model.Projeto.StatusProjeto;
+import com.projectasks.minimundoproject.repository.projection.ItemIndiceProjection;
+import com.projectasks.minimundoproject.repository.projection.VersaoProjection;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface ProjetoRepository extends JpaRepository<Projeto, Long> {
@@ -21,8 +31,51 @@ public interface ProjetoRepository extends JpaRepository<Projeto, Long> {
     @Query("SELECT p FROM Projeto p WHERE p.usuario.id = :usuarioId AND LOWER(p.nome) LIKE LOWER(CONCAT('%', :nome, '%'))")
     List<Projeto> findByUsuarioIdAndNomeContaining(@Param("usuarioId") Long usuarioId, @Param("nome") String nome);
     
+    // Paginação por cursor (keyset) sobre o ID
+    List<Projeto> findByUsuarioIdAndIdGreaterThanOrderByIdAsc(Long usuarioId, Long aposId, Limit limit);
+    
+    List<Projeto> findByUsuarioIdAndStatusAndIdGreaterThanOrderByIdAsc(Long usuarioId, StatusProjeto status, Long aposId, Limit limit);
+    
+    @Query("SELECT p FROM Projeto p WHERE p.usuario.id = :usuarioId AND p.id > :aposId AND LOWER(p.nome) LIKE LOWER(CONCAT('%', :nome, '%')) ORDER BY p.id")
+    List<Projeto> findByUsuarioIdAndNomeContainingAfter(@Param("usuarioId") Long usuarioId, @Param("nome") String nome, @Param("aposId") Long aposId, Limit limit);
+    
+    // Leitura em fluxo para as respostas em streaming (ver TarefaRepository.streamByProjetoId)
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT p FROM Projeto p WHERE p.usuario.id = :usuarioId AND (:status IS NULL OR p.status = :status) ORDER BY p.id")
+    Stream<Projeto> streamByUsuarioId(@Param("usuarioId") Long usuarioId, @Param("status") StatusProjeto status);
+    
     boolean existsByNomeAndUsuarioId(String nome, Long usuarioId);
     
     @Query("SELECT p FROM Projeto p LEFT JOIN FETCH p.tarefas WHERE p.id = :id")
     Optional<Projeto> findByIdWithTarefas(@Param("id") Long id);
-}
\ No newline at end of file
+    
+    List<Projeto> findByIdIn(Collection<Long> ids);
+    
+    @Query("SELECT p.id AS id, p.nome AS texto, p.id AS projetoId, p.usuario.id AS usuarioId FROM Projeto p")
+    List<ItemIndiceProjection> findAllParaIndice();
+    
+    @Query("SELECT p.usuario.id FROM Projeto p WHERE p.id = :id")
+    Optional<Long> findUsuarioIdById(@Param("id") Long id);
+    
+    // Versão das listagens do usuário; as tarefas entram porque a resposta traz os totais
+    @Query("SELECT MAX(p.updatedAt) AS atualizadoEm, MAX(t.updatedAt) AS relacionadosAtualizadosEm, COUNT(DISTINCT p.id) AS total, COUNT(t.id) AS totalRelacionados FROM Projeto p LEFT JOIN p.tarefas t WHERE p.usuario.id = :usuarioId")
+    VersaoProjection findVersaoByUsuarioId(@Param("usuarioId") Long usuarioId);
+    
+    // Versão do projeto e das suas tarefas
+    @Query("SELECT MAX(p.updatedAt) AS atualizadoEm, MAX(t.updatedAt) AS relacionadosAtualizadosEm, COUNT(DISTINCT p.id) AS total, COUNT(t.id) AS totalRelacionados FROM Projeto p LEFT JOIN p.tarefas t WHERE p.id = :id")
+    VersaoProjection findVersaoById(@Param("id") Long id);
+    
+    // Sincronização: projetos alterados após (aposAlteracao, aposId), keyset sobre (updated_at, id)
+    @Query("SELECT p FROM Projeto p WHERE p.usuario.id = :usuarioId AND p.updatedAt >= :aposAlteracao "
+         + "AND (p.updatedAt > :aposAlteracao OR p.id > :aposId) ORDER BY p.updatedAt, p.id")
+    List<Projeto> findAlteradosApos(@Param("usuarioId") Long usuarioId, @Param("aposAlteracao") LocalDateTime aposAlteracao,
+                                    @Param("aposId") Long aposId, Limit limit);
+    
+    // Sincronização: updated_at regravado antes do commit (SincronizacaoService)
+    @Modifying
+    @Query("UPDATE Projeto p SET p.updatedAt = :agora WHERE p.id IN :ids")
+    int marcarAlterados(@Param("ids") Collection<Long> ids, @Param("agora") LocalDateTime agora);
+}
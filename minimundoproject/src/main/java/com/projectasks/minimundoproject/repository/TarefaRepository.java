@@ -1,28 +1,120 @@
 package com.projectasks.minimundoproject.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.projectasks.minimundoproject.model.Tarefa;
 import com.projectasks.minimundoproject.model.Tarefa.StatusTarefa;
+import com.projectasks.minimundoproject.repository.projection.ContagemTarefasProjection;
+import com.projectasks.minimundoproject.repository.projection.DependenciaTarefaProjection;
+import com.projectasks.minimundoproject.repository.projection.ItemIndiceProjection;
+import com.projectasks.minimundoproject.repository.projection.VersaoProjection;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface TarefaRepository extends JpaRepository<Tarefa, Long> {
     
+    // As listagens trazem projeto e predecessora no mesmo SELECT (JOIN),
+    // evitando uma consulta extra por tarefa ao montar o TarefaResponse
+    @EntityGraph(attributePaths = {"projeto", "tarefaPredecessora"})
     List<Tarefa> findByProjetoId(Long projetoId);
     
+    @EntityGraph(attributePaths = {"projeto", "tarefaPredecessora"})
     List<Tarefa> findByProjetoIdAndStatus(Long projetoId, StatusTarefa status);
     
+    @EntityGraph(attributePaths = {"projeto", "tarefaPredecessora"})
     @Query("SELECT t FROM Tarefa t WHERE t.projeto.id = :projetoId AND LOWER(t.descricao) LIKE LOWER(CONCAT('%', :descricao, '%'))")
     List<Tarefa> findByProjetoIdAndDescricaoContaining(@Param("projetoId") Long projetoId, @Param("descricao") String descricao);
     
+    // Paginação por cursor (keyset) sobre o ID
+    @EntityGraph(attributePaths = {"projeto", "tarefaPredecessora"})
+    List<Tarefa> findByProjetoIdAndIdGreaterThanOrderByIdAsc(Long projetoId, Long aposId, Limit limit);
+    
+    @EntityGraph(attributePaths = {"projeto", "tarefaPredecessora"})
+    List<Tarefa> findByProjetoIdAndStatusAndIdGreaterThanOrderByIdAsc(Long projetoId, StatusTarefa status, Long aposId, Limit limit);
+    
+    @EntityGraph(attributePaths = {"projeto", "tarefaPredecessora"})
+    @Query("SELECT t FROM Tarefa t WHERE t.projeto.id = :projetoId AND t.id > :aposId AND LOWER(t.descricao) LIKE LOWER(CONCAT('%', :descricao, '%')) ORDER BY t.id")
+    List<Tarefa> findByProjetoIdAndDescricaoContainingAfter(@Param("projetoId") Long projetoId, @Param("descricao") String descricao, @Param("aposId") Long aposId, Limit limit);
+    
+    @EntityGraph(attributePaths = {"projeto", "tarefaPredecessora"})
+    @Query("SELECT t FROM Tarefa t WHERE t.projeto.usuario.id = :usuarioId AND t.id > :aposId AND LOWER(t.descricao) LIKE LOWER(CONCAT('%', :descricao, '%')) ORDER BY t.id")
+    List<Tarefa> findByUsuarioIdAndDescricaoContainingAfter(@Param("usuarioId") Long usuarioId, @Param("descricao") String descricao, @Param("aposId") Long aposId, Limit limit);
+    
+    // Leitura em fluxo (cursor JDBC) para as respostas em streaming; entidades somente leitura,
+    // sem snapshot para dirty checking. Exige transação aberta e o Stream fechado ao final
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT t FROM Tarefa t JOIN FETCH t.projeto LEFT JOIN FETCH t.tarefaPredecessora "
+         + "WHERE t.projeto.id = :projetoId AND (:status IS NULL OR t.status = :status) ORDER BY t.id")
+    Stream<Tarefa> streamByProjetoId(@Param("projetoId") Long projetoId, @Param("status") StatusTarefa status);
+    
+    @EntityGraph(attributePaths = {"projeto", "tarefaPredecessora"})
+    List<Tarefa> findByIdIn(Collection<Long> ids);
+    
+    @Query("SELECT t.id FROM Tarefa t WHERE t.projeto.id = :projetoId AND t.id IN :ids")
+    List<Long> findIdsByProjetoIdAndIdIn(@Param("projetoId") Long projetoId, @Param("ids") Collection<Long> ids);
+    
     @Query("SELECT COUNT(t) > 0 FROM Tarefa t WHERE t.tarefaPredecessora.id = :tarefaId")
     boolean existsByTarefaPredecessoraId(@Param("tarefaId") Long tarefaId);
     
+    @EntityGraph(attributePaths = {"projeto", "tarefaPredecessora"})
     @Query("SELECT t FROM Tarefa t WHERE t.projeto.usuario.id = :usuarioId")
     List<Tarefa> findAllByUsuarioId(@Param("usuarioId") Long usuarioId);
-}
\ No newline at end of file
+    
+    // Totais de tarefas por projeto em uma única consulta (evita carregar Projeto.tarefas)
+    @Query("SELECT t.projeto.id AS projetoId, COUNT(t) AS totalTarefas, "
+         + "SUM(CASE WHEN t.status = :concluida THEN 1 ELSE 0 END) AS tarefasConcluidas "
+         + "FROM Tarefa t WHERE t.projeto.usuario.id = :usuarioId GROUP BY t.projeto.id")
+    List<ContagemTarefasProjection> contarPorProjetoDoUsuario(@Param("usuarioId") Long usuarioId, @Param("concluida") StatusTarefa concluida);
+    
+    @Query("SELECT t.projeto.id AS projetoId, COUNT(t) AS totalTarefas, "
+         + "SUM(CASE WHEN t.status = :concluida THEN 1 ELSE 0 END) AS tarefasConcluidas "
+         + "FROM Tarefa t WHERE t.projeto.id IN :projetoIds GROUP BY t.projeto.id")
+    List<ContagemTarefasProjection> contarPorProjetos(@Param("projetoIds") Collection<Long> projetoIds, @Param("concluida") StatusTarefa concluida);
+    
+    @Query("SELECT t.id AS id, t.descricao AS texto, t.projeto.id AS projetoId, t.projeto.usuario.id AS usuarioId FROM Tarefa t")
+    List<ItemIndiceProjection> findAllParaIndice();
+    
+    @Query("SELECT t.id AS id, p.id AS predecessoraId, t.dataInicio AS dataInicio, t.dataFim AS dataFim, "
+         + "t.status AS status FROM Tarefa t LEFT JOIN t.tarefaPredecessora p WHERE t.projeto.id = :projetoId ORDER BY t.id")
+    List<DependenciaTarefaProjection> findDependenciasByProjetoId(@Param("projetoId") Long projetoId);
+    
+    @Query("SELECT t.id AS id, p.id AS predecessoraId, t.dataInicio AS dataInicio, t.dataFim AS dataFim, "
+         + "t.status AS status FROM Tarefa t LEFT JOIN t.tarefaPredecessora p WHERE t.projeto.id IN :projetoIds ORDER BY t.id")
+    List<DependenciaTarefaProjection> findDependenciasByProjetoIdIn(@Param("projetoIds") Collection<Long> projetoIds);
+    
+    @Query("SELECT t.projeto.id FROM Tarefa t WHERE t.id = :id")
+    Optional<Long> findProjetoIdById(@Param("id") Long id);
+    
+    // Versão da tarefa; projeto e predecessora entram porque a resposta traz seus nomes
+    @Query("SELECT t.updatedAt AS atualizadoEm, CASE WHEN pred.updatedAt > p.updatedAt THEN pred.updatedAt ELSE p.updatedAt END AS relacionadosAtualizadosEm, 1L AS total, 0L AS totalRelacionados FROM Tarefa t JOIN t.projeto p LEFT JOIN t.tarefaPredecessora pred WHERE t.id = :id")
+    VersaoProjection findVersaoById(@Param("id") Long id);
+    
+    // Sincronização: tarefas alteradas após (aposAlteracao, aposId), keyset sobre (updated_at, id)
+    @EntityGraph(attributePaths = {"projeto", "tarefaPredecessora"})
+    @Query("SELECT t FROM Tarefa t WHERE t.projeto.usuario.id = :usuarioId AND t.updatedAt >= :aposAlteracao "
+         + "AND (t.updatedAt > :aposAlteracao OR t.id > :aposId) ORDER BY t.updatedAt, t.id")
+    List<Tarefa> findAlteradasApos(@Param("usuarioId") Long usuarioId, @Param("aposAlteracao") LocalDateTime aposAlteracao,
+                                   @Param("aposId") Long aposId, Limit limit);
+    
+    // Sincronização: updated_at regravado antes do commit (SincronizacaoService)
+    @Modifying
+    @Query("UPDATE Tarefa t SET t.updatedAt = :agora WHERE t.id IN :ids")
+    int marcarAlteradas(@Param("ids") Collection<Long> ids, @Param("agora") LocalDateTime agora);
+}
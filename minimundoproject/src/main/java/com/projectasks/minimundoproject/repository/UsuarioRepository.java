@@ -1,9 +1,14 @@
 package com.projectasks.minimundoproject.repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.projectasks.minimundoproject.model.Usuario;
 
@@ -11,4 +16,21 @@ import com.projectasks.minimundoproject.model.Usuario;
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     Optional<Usuario> findByEmail(String email);
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    // Recodificação da senha após login (custo do bcrypt alterado)
+    @Modifying
+    @Transactional
+    @Query("UPDATE Usuario u SET u.senha = :senha WHERE u.id = :id")
+    int atualizarSenha(@Param("id") Long id, @Param("senha") String senha);
+
+    // Modo sharding: o id vem do diretório global, não da identidade do shard
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO usuarios (id, nome, email, senha, created_at) "
+        + "VALUES (:id, :nome, :email, :senha, :createdAt)", nativeQuery = true)
+    int inserir(@Param("id") Long id,
+                @Param("nome") String nome,
+                @Param("email") String email,
+                @Param("senha") String senha,
+                @Param("createdAt") LocalDateTime createdAt);
+}
@@ -0,0 +1,29 @@
+package com.projectasks.minimundoproject.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.projectasks.minimundoproject.model.VersaoProjeto;
+
+@Repository
+public interface VersaoProjetoRepository extends JpaRepository<VersaoProjeto, Long> {
+    
+    // Incremento atômico no banco, sem ler a linha
+    @Modifying
+    @Query("UPDATE VersaoProjeto v SET v.versao = v.versao + 1, v.atualizadoEm = :agora WHERE v.projetoId = :projetoId")
+    int incrementar(@Param("projetoId") Long projetoId, @Param("agora") LocalDateTime agora);
+    
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO versoes_projeto (projeto_id, usuario_id, versao, atualizado_em) "
+         + "VALUES (:projetoId, :usuarioId, 1, :agora)")
+    void inserir(@Param("projetoId") Long projetoId, @Param("usuarioId") Long usuarioId, @Param("agora") LocalDateTime agora);
+    
+    @Modifying
+    @Query("DELETE FROM VersaoProjeto v WHERE v.projetoId = :projetoId")
+    int excluir(@Param("projetoId") Long projetoId);
+}
@@ -0,0 +1,24 @@
+package com.projectasks.minimundoproject.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.projectasks.minimundoproject.model.VersaoUsuario;
+
+@Repository
+public interface VersaoUsuarioRepository extends JpaRepository<VersaoUsuario, Long> {
+    
+    // Incremento atômico no banco, sem ler a linha
+    @Modifying
+    @Query("UPDATE VersaoUsuario v SET v.versao = v.versao + 1, v.atualizadoEm = :agora WHERE v.usuarioId = :usuarioId")
+    int incrementar(@Param("usuarioId") Long usuarioId, @Param("agora") LocalDateTime agora);
+    
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO versoes_usuario (usuario_id, versao, atualizado_em) VALUES (:usuarioId, 1, :agora)")
+    void inserir(@Param("usuarioId") Long usuarioId, @Param("agora") LocalDateTime agora);
+}
@@ -0,0 +1,10 @@
+package com.projectasks.minimundoproject.repository.projection;
+
+/**
+ * Projeção agregada (GROUP BY) com os totais de tarefas por projeto
+ */
+public interface ContagemTarefasProjection {
+    Long getProjetoId();
+    Long getTotalTarefas();
+    Long getTarefasConcluidas();
+}
@@ -0,0 +1,16 @@
+package com.projectasks.minimundoproject.repository.projection;
+
+import java.time.LocalDate;
+
+import com.projectasks.minimundoproject.model.Tarefa.StatusTarefa;
+
+/**
+ * Colunas usadas pelo grafo de dependências (cronograma)
+ */
+public interface DependenciaTarefaProjection {
+    Long getId();
+    Long getPredecessoraId();
+    LocalDate getDataInicio();
+    LocalDate getDataFim();
+    StatusTarefa getStatus();
+}
@@ -0,0 +1,11 @@
+package com.projectasks.minimundoproject.repository.projection;
+
+/**
+ * Colunas mínimas para reconstruir o índice de busca em memória
+ */
+public interface ItemIndiceProjection {
+    Long getId();
+    String getTexto();
+    Long getProjetoId();
+    Long getUsuarioId();
+}
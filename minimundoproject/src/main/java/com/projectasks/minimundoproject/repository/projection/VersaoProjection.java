@@ -0,0 +1,14 @@
+package com.projectasks.minimundoproject.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Versão de um recurso ou coleção para ETag/Last-Modified: última atualização
+ * do recurso e dos registros que aparecem na resposta, mais as contagens
+ */
+public interface VersaoProjection {
+    LocalDateTime getAtualizadoEm();
+    LocalDateTime getRelacionadosAtualizadosEm();
+    Long getTotal();
+    Long getTotalRelacionados();
+}
@@ -1,15 +1,16 @@
 package com.projectasks.minimundoproject.service;
 
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.projectasks.minimundoproject.dto.request.LoginRequest;
 import com.projectasks.minimundoproject.dto.request.RegisterRequest;
 import com.projectasks.minimundoproject.dto.response.AuthResponse;
+import com.projectasks.minimundoproject.event.TipoAlteracao;
+import com.projectasks.minimundoproject.event.UsuarioAlteradoEvent;
 import com.projectasks.minimundoproject.exception.BusinessException;
 import com.projectasks.minimundoproject.model.Usuario;
-import com.projectasks.minimundoproject.repository.UsuarioRepository;
+import com.projectasks.minimundoproject.shard.DiretorioUsuarios;
 import com.projectasks.minimundoproject.util.JwtUtil;
 
 import lombok.RequiredArgsConstructor;
@@ -20,19 +21,22 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class AuthService {
     
-    private final UsuarioRepository usuarioRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final DiretorioUsuarios diretorioUsuarios;
+    private final SenhaService senhaService;
     private final JwtUtil jwtUtil;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
-     * Registra um novo usuário no sistema
+     * Registra um novo usuário no sistema.
+     * Sem transação envolvendo o método: a conexão não fica presa enquanto o bcrypt roda
+     * (o save tem sua própria transação e o email é único no banco). Com sharding, o
+     * diretório atribui o id e grava o usuário no shard correspondente.
      */
-    @Transactional
     public AuthResponse register(RegisterRequest request) {
         log.info("Iniciando registro de novo usuário: {}", request.getEmail());
         
         // Valida se o email já existe
-        if (usuarioRepository.existsByEmail(request.getEmail())) {
+        if (diretorioUsuarios.emailCadastrado(request.getEmail())) {
             log.warn("Tentativa de registro com email já existente: {}", request.getEmail());
             throw new BusinessException("Email já cadastrado no sistema");
         }
@@ -41,10 +45,11 @@ public class AuthService {
         Usuario usuario = new Usuario();
         usuario.setNome(request.getNome());
         usuario.setEmail(request.getEmail());
-        usuario.setSenha(passwordEncoder.encode(request.getSenha()));
+        usuario.setSenha(senhaService.codificar(request.getSenha()));
         
-        usuario = usuarioRepository.save(usuario);
+        usuario = diretorioUsuarios.registrar(usuario);
         log.info("Usuário registrado com sucesso: ID {}", usuario.getId());
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(TipoAlteracao.CRIADO, usuario.getId(), usuario.getNome()));
         
         // Gera o token JWT
         String token = jwtUtil.generateToken(usuario.getEmail(), usuario.getId());
@@ -59,25 +64,34 @@ public class AuthService {
     }
     
     /**
-     * Realiza o login do usuário
+     * Realiza o login do usuário (sem transação, pelo mesmo motivo do registro)
      */
-    @Transactional(readOnly = true)
     public AuthResponse login(LoginRequest request) {
         log.info("Tentativa de login para: {}", request.getEmail());
         
         // Busca o usuário pelo email
-        Usuario usuario = usuarioRepository.findByEmail(request.getEmail())
+        Usuario usuario = diretorioUsuarios.buscarPorEmail(request.getEmail())
             .orElseThrow(() -> {
                 log.warn("Usuário não encontrado: {}", request.getEmail());
                 return new BusinessException("Email ou senha inválidos");
             });
         
-        // Valida a senha
-        if (!passwordEncoder.matches(request.getSenha(), usuario.getSenha())) {
+        // Valida a senha (bcrypt no executor dedicado)
+        if (!senhaService.confere(request.getSenha(), usuario.getSenha())) {
             log.warn("Senha incorreta para o usuário: {}", request.getEmail());
             throw new BusinessException("Email ou senha inválidos");
         }
         
+        // Hash com custo antigo: recodifica em segundo plano com o custo atual
+        if (senhaService.precisaRecodificar(usuario.getSenha())) {
+            Long id = usuario.getId();
+            String nome = usuario.getNome();
+            senhaService.recodificarDepois(request.getSenha(), hash -> {
+                diretorioUsuarios.atualizarSenha(id, hash);
+                eventPublisher.publishEvent(new UsuarioAlteradoEvent(TipoAlteracao.ATUALIZADO, id, nome));
+            });
+        }
+        
         log.info("Login bem-sucedido para: {}", request.getEmail());
         
         // Gera o token JWT
@@ -0,0 +1,81 @@
+package com.projectasks.minimundoproject.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.projectasks.minimundoproject.event.ProjetoAlteradoEvent;
+import com.projectasks.minimundoproject.event.TarefaAlteradaEvent;
+import com.projectasks.minimundoproject.event.TipoAlteracao;
+import com.projectasks.minimundoproject.exception.BusinessException;
+import com.projectasks.minimundoproject.exception.ResourceNotFoundException;
+import com.projectasks.minimundoproject.repository.ProjetoRepository;
+import com.projectasks.minimundoproject.repository.TarefaRepository;
+import com.projectasks.minimundoproject.util.CacheLimitado;
+
+/**
+ * Verificação de propriedade de projetos e tarefas.
+ * O dono de um projeto e o projeto de uma tarefa nunca mudam, então os vínculos
+ * (projetoId → usuarioId, tarefaId → projetoId) ficam em cache e só saem na exclusão.
+ */
+@Service
+public class AutorizacaoService {
+
+    private final ProjetoRepository projetoRepository;
+    private final TarefaRepository tarefaRepository;
+    private final CacheLimitado<Long, Long> donoPorProjeto;
+    private final CacheLimitado<Long, Long> projetoPorTarefa;
+
+    public AutorizacaoService(ProjetoRepository projetoRepository,
+                              TarefaRepository tarefaRepository,
+                              @Value("${autorizacao.cache.max-size:100000}") int tamanhoMaximo) {
+        this.projetoRepository = projetoRepository;
+        this.tarefaRepository = tarefaRepository;
+        this.donoPorProjeto = new CacheLimitado<>(tamanhoMaximo);
+        this.projetoPorTarefa = new CacheLimitado<>(tamanhoMaximo);
+    }
+
+    /**
+     * Garante que o projeto existe e pertence ao usuário
+     *
+     * @param mensagem mensagem quando o usuário não é o dono
+     */
+    public void verificarProjeto(Long projetoId, Long usuarioId, String mensagem) {
+        Long dono = donoPorProjeto.get(projetoId, id -> projetoRepository.findUsuarioIdById(id).orElse(null));
+        if (dono == null)
+            throw new ResourceNotFoundException("Projeto não encontrado");
+        if (!dono.equals(usuarioId))
+            throw new BusinessException(mensagem);
+    }
+
+    /**
+     * Garante que a tarefa existe e pertence a um projeto do usuário
+     *
+     * @return ID do projeto da tarefa
+     */
+    public Long verificarTarefa(Long tarefaId, Long usuarioId, String mensagem) {
+        Long projetoId = projetoPorTarefa.get(tarefaId, id -> tarefaRepository.findProjetoIdById(id).orElse(null));
+        if (projetoId == null)
+            throw new ResourceNotFoundException("Tarefa não encontrada");
+        verificarProjeto(projetoId, usuarioId, mensagem);
+        return projetoId;
+    }
+
+    @TransactionalEventListener
+    public void onProjetoAlterado(ProjetoAlteradoEvent event) {
+        if (event.getTipo() == TipoAlteracao.EXCLUIDO) {
+            donoPorProjeto.remove(event.getProjetoId());
+        } else if (event.getTipo() == TipoAlteracao.CRIADO) {
+            donoPorProjeto.put(event.getProjetoId(), event.getUsuarioId());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTarefaAlterada(TarefaAlteradaEvent event) {
+        if (event.getTipo() == TipoAlteracao.EXCLUIDO) {
+            projetoPorTarefa.remove(event.getTarefaId());
+        } else if (event.getTipo() == TipoAlteracao.CRIADO) {
+            projetoPorTarefa.put(event.getTarefaId(), event.getProjetoId());
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.projectasks.minimundoproject.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.projectasks.minimundoproject.dto.response.CronogramaResponse;
+import com.projectasks.minimundoproject.dto.response.ItemCronogramaResponse;
+import com.projectasks.minimundoproject.exception.BusinessException;
+import com.projectasks.minimundoproject.model.Tarefa.StatusTarefa;
+import com.projectasks.minimundoproject.repository.TarefaRepository;
+import com.projectasks.minimundoproject.repository.projection.DependenciaTarefaProjection;
+import com.projectasks.minimundoproject.util.GrafoDependencias;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cronograma do projeto a partir da cadeia de tarefas predecessoras:
+ * ordem topológica, datas mais cedo/mais tarde, folga e caminho crítico.
+ * Tarefas sem datas contam como um dia de duração.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CronogramaService {
+
+    private final TarefaRepository tarefaRepository;
+    private final AutorizacaoService autorizacaoService;
+
+    /**
+     * Calcula o cronograma completo do projeto
+     */
+    @Transactional(readOnly = true)
+    public CronogramaResponse calcular(Long projetoId, Long usuarioId) {
+        validarProjeto(projetoId, usuarioId);
+        log.info("Calculando cronograma do projeto ID {}", projetoId);
+
+        Carga carga = carregar(projetoId);
+        GrafoDependencias grafo = carga.grafo();
+        GrafoDependencias.Calculo calculo = grafo.calcular();
+
+        boolean[] critica = new boolean[grafo.tamanho()];
+        List<Long> caminhoCritico = new ArrayList<>(calculo.caminhoCritico().length);
+        for (int i : calculo.caminhoCritico()) {
+            critica[i] = true;
+            caminhoCritico.add(grafo.id(i));
+        }
+
+        LocalDate origem = carga.origem();
+        List<ItemCronogramaResponse> itens = new ArrayList<>(calculo.ordem().length);
+        for (int i : calculo.ordem()) {
+            int predecessora = grafo.predecessora(i);
+            itens.add(new ItemCronogramaResponse(
+                grafo.id(i),
+                predecessora >= 0 ? grafo.id(predecessora) : null,
+                carga.status()[i],
+                grafo.duracao(i),
+                origem.plusDays(calculo.inicioCedo()[i]),
+                origem.plusDays(calculo.fimCedo()[i] - 1L),
+                origem.plusDays(calculo.inicioTarde()[i]),
+                origem.plusDays(calculo.fimTarde()[i] - 1L),
+                calculo.folga(i),
+                critica[i]
+            ));
+        }
+
+        List<Long> emCiclo = Arrays.stream(grafo.tarefasEmCiclo()).boxed().toList();
+        LocalDate fimPrevisto = calculo.fimProjeto() > 0 ? origem.plusDays(calculo.fimProjeto() - 1L) : origem;
+
+        return new CronogramaResponse(projetoId, origem, fimPrevisto, calculo.fimProjeto(),
+            itens, caminhoCritico, emCiclo);
+    }
+
+    /**
+     * IDs das tarefas do caminho crítico, da primeira à última
+     */
+    @Transactional(readOnly = true)
+    public List<Long> caminhoCritico(Long projetoId, Long usuarioId) {
+        validarProjeto(projetoId, usuarioId);
+        GrafoDependencias grafo = carregar(projetoId).grafo();
+        return Arrays.stream(grafo.calcular().caminhoCritico())
+            .mapToObj(grafo::id)
+            .toList();
+    }
+
+    /**
+     * Rejeita uma predecessora que fecharia um ciclo (A → B → C → A).
+     * Deve ser chamado antes de alterar a predecessora de uma tarefa existente.
+     */
+    @Transactional(readOnly = true)
+    public void validarPredecessora(Long projetoId, Long tarefaId, Long predecessoraId) {
+        GrafoDependencias grafo = carregar(projetoId).grafo();
+        if (grafo.criariaCiclo(tarefaId, predecessoraId)) {
+            throw new BusinessException("A tarefa predecessora criaria um ciclo de dependências");
+        }
+    }
+
+    private void validarProjeto(Long projetoId, Long usuarioId) {
+        if (projetoId == null)
+            throw new IllegalArgumentException("ID do projeto não podem ser nulos");
+        autorizacaoService.verificarProjeto(projetoId, usuarioId, "Você não tem permissão para acessar este projeto");
+    }
+
+    private record Carga(GrafoDependencias grafo, LocalDate origem, StatusTarefa[] status) {
+    }
+
+    /**
+     * Carrega as tuplas (id, predecessora, datas, status) em arrays primitivos
+     */
+    private Carga carregar(Long projetoId) {
+        List<DependenciaTarefaProjection> linhas = tarefaRepository.findDependenciasByProjetoId(projetoId);
+        int n = linhas.size();
+
+        LocalDate origem = null;
+        for (DependenciaTarefaProjection linha : linhas) {
+            if (linha.getDataInicio() != null && (origem == null || linha.getDataInicio().isBefore(origem)))
+                origem = linha.getDataInicio();
+        }
+        if (origem == null)
+            origem = LocalDate.now();
+
+        long[] ids = new long[n];
+        long[] predecessoras = new long[n];
+        int[] duracao = new int[n];
+        int[] inicioMinimo = new int[n];
+        StatusTarefa[] status = new StatusTarefa[n];
+        long diaOrigem = origem.toEpochDay();
+
+        for (int i = 0; i < n; i++) {
+            DependenciaTarefaProjection linha = linhas.get(i);
+            ids[i] = linha.getId();
+            predecessoras[i] = linha.getPredecessoraId() != null ? linha.getPredecessoraId() : 0L;
+            status[i] = linha.getStatus();
+            duracao[i] = 1;
+            if (linha.getDataInicio() != null) {
+                inicioMinimo[i] = (int) (linha.getDataInicio().toEpochDay() - diaOrigem);
+                if (linha.getDataFim() != null)
+                    duracao[i] = (int) (linha.getDataFim().toEpochDay() - linha.getDataInicio().toEpochDay()) + 1;
+            }
+        }
+
+        return new Carga(new GrafoDependencias(ids, predecessoras, duracao, inicioMinimo), origem, status);
+    }
+}
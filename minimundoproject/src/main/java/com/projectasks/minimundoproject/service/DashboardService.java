@@ -0,0 +1,288 @@
+package com.projectasks.minimundoproject.service;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.projectasks.minimundoproject.dto.response.DashboardResponse;
+import com.projectasks.minimundoproject.event.ProjetoAlteradoEvent;
+import com.projectasks.minimundoproject.event.TarefaAlteradaEvent;
+import com.projectasks.minimundoproject.event.TipoAlteracao;
+import com.projectasks.minimundoproject.model.ContadorProjeto;
+import com.projectasks.minimundoproject.model.ContadorUsuario;
+import com.projectasks.minimundoproject.model.Tarefa.StatusTarefa;
+import com.projectasks.minimundoproject.repository.ContadorProjetoRepository;
+import com.projectasks.minimundoproject.repository.ContadorUsuarioRepository;
+import com.projectasks.minimundoproject.shard.Shards;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Contadores do dashboard por usuário e por projeto (projetos, tarefas, concluídas, atrasadas).
+ *
+ * Cada evento de alteração contribui só com a diferença entre o estado anterior e o atual.
+ * As diferenças das tarefas são somadas durante a transação e aplicadas antes do commit com
+ * um UPDATE atômico por projeto e um por usuário, mesmo em importações e lotes com um evento
+ * por linha; a leitura é uma linha por chave primária.
+ * A reconciliação recalcula tudo a partir de projetos e tarefas: roda na subida e logo após
+ * a meia-noite (quando tarefas passam a atrasadas sem nenhum evento), e para o usuário cuja
+ * linha ainda não existe.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardService {
+
+    private final ContadorUsuarioRepository contadorUsuarioRepository;
+    private final ContadorProjetoRepository contadorProjetoRepository;
+    private final AutorizacaoService autorizacaoService;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final Shards shards;
+
+    // Chave das diferenças pendentes da transação em TransactionSynchronizationManager
+    private final Object chavePendentes = new Object();
+
+    @Transactional
+    public DashboardResponse usuario(Long usuarioId) {
+        ContadorUsuario contador = contadorUsuarioRepository.findById(usuarioId).orElse(null);
+        if (contador == null) {
+            reconciliarUsuario(usuarioId);
+            contador = contadorUsuarioRepository.findById(usuarioId)
+                .orElseGet(() -> new ContadorUsuario(usuarioId, 0, 0, 0, 0));
+        }
+        return new DashboardResponse(contador.getTotalProjetos(), contador.getTotalTarefas(),
+            contador.getTarefasConcluidas(), contador.getTarefasAtrasadas());
+    }
+
+    @Transactional
+    public DashboardResponse projeto(Long projetoId, Long usuarioId) {
+        autorizacaoService.verificarProjeto(projetoId, usuarioId, "Você não tem permissão para acessar este projeto");
+        ContadorProjeto contador = contadorProjetoRepository.findById(projetoId).orElse(null);
+        if (contador == null) {
+            reconciliarUsuario(usuarioId);
+            contador = contadorProjetoRepository.findById(projetoId)
+                .orElseGet(() -> new ContadorProjeto(projetoId, usuarioId, 0, 0, 0));
+        }
+        return new DashboardResponse(1, contador.getTotalTarefas(),
+            contador.getTarefasConcluidas(), contador.getTarefasAtrasadas());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onProjetoAlterado(ProjetoAlteradoEvent event) {
+        if (event.getTipo() == TipoAlteracao.CRIADO) {
+            contadorProjetoRepository.inserir(event.getProjetoId(), event.getUsuarioId());
+            somarUsuario(event.getUsuarioId(), 1, 0, 0, 0);
+        } else if (event.getTipo() == TipoAlteracao.EXCLUIDO) {
+            ContadorProjeto contador = contadorProjetoRepository.findById(event.getProjetoId())
+                .orElseGet(() -> new ContadorProjeto(event.getProjetoId(), event.getUsuarioId(), 0, 0, 0));
+            contadorProjetoRepository.excluir(event.getProjetoId());
+            somarUsuario(event.getUsuarioId(), -1, -contador.getTotalTarefas(),
+                -contador.getTarefasConcluidas(), -contador.getTarefasAtrasadas());
+        }
+    }
+
+    /**
+     * Acumula a diferença na transação; sem transação o evento é ignorado, como nos ouvintes
+     * BEFORE_COMMIT
+     */
+    @EventListener
+    public void onTarefaAlterada(TarefaAlteradaEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+            return;
+        LocalDate hoje = LocalDate.now();
+        boolean existia = event.getTipo() != TipoAlteracao.CRIADO;
+        boolean existe = event.getTipo() != TipoAlteracao.EXCLUIDO;
+
+        long total = (existe ? 1 : 0) - (existia ? 1 : 0);
+        long concluidas = concluida(existe, event.getStatus()) - concluida(existia, event.getStatusAnterior());
+        long atrasadas = atrasada(existe, event.getStatus(), event.getDataFim(), hoje)
+            - atrasada(existia, event.getStatusAnterior(), event.getDataFimAnterior(), hoje);
+        if (total == 0 && concluidas == 0 && atrasadas == 0)
+            return;
+
+        pendentes().somar(event.getUsuarioId(), event.getProjetoId(), total, concluidas, atrasadas);
+    }
+
+    /**
+     * Recalcula os contadores de todos os usuários; corrige qualquer divergência acumulada.
+     * Com sharding, uma transação por shard
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${dashboard.reconciliacao-cron:5 0 0 * * *}")
+    public void reconciliar() {
+        long inicio = System.currentTimeMillis();
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        AtomicInteger usuarios = new AtomicInteger();
+        AtomicInteger projetos = new AtomicInteger();
+        shards.paraCada(() -> transacao.executeWithoutResult(status -> {
+            contadorProjetoRepository.excluirTodos();
+            projetos.addAndGet(contadorProjetoRepository.recalcularTodos(LocalDate.now()));
+            contadorUsuarioRepository.excluirTodos();
+            usuarios.addAndGet(contadorUsuarioRepository.recalcularTodos());
+        }));
+        log.info("Contadores do dashboard reconciliados: {} usuários, {} projetos em {} ms",
+            usuarios.get(), projetos.get(), System.currentTimeMillis() - inicio);
+    }
+
+    /**
+     * Zera os contadores antes de reaplicar o diário: sem linhas de projeto e uma linha zerada
+     * por usuário, para as somas não caírem na reconciliação a partir do banco
+     */
+    public void zerar() {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        shards.paraCada(() -> transacao.executeWithoutResult(status -> {
+            contadorProjetoRepository.excluirTodos();
+            contadorUsuarioRepository.excluirTodos();
+            contadorUsuarioRepository.recalcularTodos();
+        }));
+    }
+
+    /**
+     * Aplica um evento reproduzido do diário; deve ser chamado dentro de uma transação
+     */
+    public void reaplicar(Object evento) {
+        if (evento instanceof ProjetoAlteradoEvent projeto) {
+            // Diferenças de tarefas anteriores no lote vão antes, como nas transações originais
+            Pendentes pendentes = (Pendentes) TransactionSynchronizationManager.getResource(chavePendentes);
+            if (pendentes != null) {
+                aplicar(pendentes);
+                pendentes.limpar();
+            }
+            onProjetoAlterado(projeto);
+        } else if (evento instanceof TarefaAlteradaEvent tarefa) {
+            onTarefaAlterada(tarefa);
+        }
+    }
+
+    /**
+     * Recalcula os contadores de um usuário e dos seus projetos
+     */
+    @Transactional
+    public void reconciliarUsuario(Long usuarioId) {
+        contadorProjetoRepository.excluirDoUsuario(usuarioId);
+        contadorProjetoRepository.recalcularDoUsuario(usuarioId, LocalDate.now());
+        contadorUsuarioRepository.excluirDoUsuario(usuarioId);
+        contadorUsuarioRepository.recalcularDoUsuario(usuarioId);
+    }
+
+    /**
+     * Diferenças da transação atual; na primeira, registra a aplicação antes do commit
+     */
+    private Pendentes pendentes() {
+        Pendentes pendentes = (Pendentes) TransactionSynchronizationManager.getResource(chavePendentes);
+        if (pendentes != null)
+            return pendentes;
+
+        Pendentes novas = new Pendentes();
+        TransactionSynchronizationManager.bindResource(chavePendentes, novas);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                aplicar(novas);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(chavePendentes);
+            }
+        });
+        return novas;
+    }
+
+    /**
+     * Um UPDATE por projeto e um por usuário; sem linha, o usuário é recalculado
+     */
+    private void aplicar(Pendentes pendentes) {
+        Set<Long> divergentes = new HashSet<>();
+        pendentes.porProjeto.forEach((projetoId, delta) -> {
+            if (!delta.isVazio() && contadorProjetoRepository.somar(projetoId, delta.total, delta.concluidas, delta.atrasadas) == 0)
+                divergentes.add(delta.usuarioId);
+        });
+        pendentes.porUsuario.forEach((usuarioId, delta) -> {
+            if (!delta.isVazio() && !divergentes.contains(usuarioId)
+                    && contadorUsuarioRepository.somar(usuarioId, 0, delta.total, delta.concluidas, delta.atrasadas) == 0)
+                divergentes.add(usuarioId);
+        });
+        divergentes.forEach(this::reconciliarDivergente);
+    }
+
+    private void somarUsuario(Long usuarioId, long projetos, long total, long concluidas, long atrasadas) {
+        if (contadorUsuarioRepository.somar(usuarioId, projetos, total, concluidas, atrasadas) == 0)
+            reconciliarDivergente(usuarioId);
+    }
+
+    /**
+     * Linha ausente (usuário novo desde a última reconciliação): recalcula o usuário a partir
+     * dos dados da própria transação, que já incluem a alteração do evento
+     */
+    private void reconciliarDivergente(Long usuarioId) {
+        log.debug("Contadores ausentes para o usuário {}: reconciliando", usuarioId);
+        entityManager.flush();
+        reconciliarUsuario(usuarioId);
+    }
+
+    private static long concluida(boolean existe, StatusTarefa status) {
+        return existe && status == StatusTarefa.CONCLUIDA ? 1 : 0;
+    }
+
+    private static final class Pendentes {
+
+        private final Map<Long, Delta> porProjeto = new LinkedHashMap<>();
+        private final Map<Long, Delta> porUsuario = new LinkedHashMap<>();
+
+        void somar(Long usuarioId, Long projetoId, long total, long concluidas, long atrasadas) {
+            porProjeto.computeIfAbsent(projetoId, id -> new Delta(usuarioId)).somar(total, concluidas, atrasadas);
+            porUsuario.computeIfAbsent(usuarioId, Delta::new).somar(total, concluidas, atrasadas);
+        }
+
+        void limpar() {
+            porProjeto.clear();
+            porUsuario.clear();
+        }
+    }
+
+    private static final class Delta {
+
+        private final Long usuarioId;
+        private long total;
+        private long concluidas;
+        private long atrasadas;
+
+        Delta(Long usuarioId) {
+            this.usuarioId = usuarioId;
+        }
+
+        void somar(long total, long concluidas, long atrasadas) {
+            this.total += total;
+            this.concluidas += concluidas;
+            this.atrasadas += atrasadas;
+        }
+
+        // Alterações que se anularam na transação (ex.: concluída e reaberta)
+        boolean isVazio() {
+            return total == 0 && concluidas == 0 && atrasadas == 0;
+        }
+    }
+
+    private static long atrasada(boolean existe, StatusTarefa status, LocalDate dataFim, LocalDate hoje) {
+        return existe && status != StatusTarefa.CONCLUIDA && dataFim != null && dataFim.isBefore(hoje) ? 1 : 0;
+    }
+}
@@ -0,0 +1,194 @@
+package com.projectasks.minimundoproject.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.projectasks.minimundoproject.diario.DiarioAlteracoes;
+import com.projectasks.minimundoproject.diario.LeitorDiario;
+import com.projectasks.minimundoproject.diario.RegistroDiario;
+import com.projectasks.minimundoproject.event.ProjetoAlteradoEvent;
+import com.projectasks.minimundoproject.event.TarefaAlteradaEvent;
+import com.projectasks.minimundoproject.event.UsuarioAlteradoEvent;
+import com.projectasks.minimundoproject.shard.DiretorioUsuariosShards;
+import com.projectasks.minimundoproject.shard.ShardContexto;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Trilha de auditoria das alterações de usuários, projetos e tarefas no diário binário.
+ *
+ * Os registros são anexados após o commit, fora do caminho transacional: o custo por
+ * alteração é a cópia para o arquivo mapeado. A sincronização com o disco roda em segundo
+ * plano a cada diario.fsync-ms, uma vez para todos os registros do intervalo. Falha ao
+ * anexar é registrada em log e métrica, sem afetar a alteração já confirmada.
+ *
+ * A reprodução do diário inteiro reconstrói o estado derivado das alterações: contadores do
+ * dashboard e índice de busca. O cronograma não guarda estado (é calculado das tarefas).
+ */
+@Service
+@Slf4j
+public class DiarioService {
+
+    private final Path diretorio;
+    private final DiarioAlteracoes diario;
+    private final DashboardService dashboardService;
+    private final IndiceBuscaService indiceBuscaService;
+    private final TransactionTemplate transacao;
+    private final ObjectProvider<DiretorioUsuariosShards> diretorioShards;
+    private final int tamanhoLote;
+    private final Counter anexados;
+    private final Counter falhas;
+
+    public DiarioService(MeterRegistry meterRegistry,
+                         DashboardService dashboardService,
+                         IndiceBuscaService indiceBuscaService,
+                         PlatformTransactionManager transactionManager,
+                         ObjectProvider<DiretorioUsuariosShards> diretorioShards,
+                         @Value("${diario.diretorio:./data/diario}") String diretorio,
+                         @Value("${diario.segmento-mb:64}") int segmentoMb,
+                         @Value("${diario.lote-reproducao:500}") int tamanhoLote) throws IOException {
+        this.diretorio = Path.of(diretorio);
+        this.diario = new DiarioAlteracoes(this.diretorio, segmentoMb * 1024 * 1024);
+        this.dashboardService = dashboardService;
+        this.indiceBuscaService = indiceBuscaService;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.diretorioShards = diretorioShards;
+        this.tamanhoLote = tamanhoLote;
+        this.anexados = Counter.builder("diario.registros")
+            .description("Registros anexados ao diário de alterações")
+            .register(meterRegistry);
+        this.falhas = Counter.builder("diario.falhas")
+            .description("Registros que não puderam ser anexados ao diário")
+            .register(meterRegistry);
+        log.info("Diário de alterações em {}, próxima sequência {}",
+            this.diretorio.toAbsolutePath(), diario.getProximaSequencia());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTarefaAlterada(TarefaAlteradaEvent event) {
+        anexar(RegistroDiario.de(event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjetoAlterado(ProjetoAlteradoEvent event) {
+        anexar(RegistroDiario.de(event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUsuarioAlterado(UsuarioAlteradoEvent event) {
+        anexar(RegistroDiario.de(event));
+    }
+
+    /**
+     * Group commit: leva ao disco tudo o que foi anexado desde a execução anterior
+     */
+    @Scheduled(fixedDelayString = "${diario.fsync-ms:50}")
+    public void sincronizar() {
+        diario.sincronizar();
+    }
+
+    /**
+     * Reconstrói o estado derivado a partir do diário inteiro, em uma passada: os contadores do
+     * dashboard são zerados e recebem os eventos em uma transação por lote de
+     * diario.lote-reproducao (com sharding, uma por shard do lote); o índice de busca é montado
+     * ao lado do atual e trocado no fim. Como o rebalanceamento, deve rodar sem tráfego de escrita
+     *
+     * @return quantidade de registros reaplicados
+     */
+    public long reconstruirEstadoDerivado() {
+        long inicio = System.currentTimeMillis();
+        dashboardService.zerar();
+
+        long[] reaplicados = new long[1];
+        indiceBuscaService.reconstruir(indice -> {
+            List<RegistroDiario> lote = new ArrayList<>(tamanhoLote);
+            reaplicados[0] = reproduzir(0, registro -> {
+                indice.accept(registro.paraEvento());
+                lote.add(registro);
+                if (lote.size() >= tamanhoLote) {
+                    aplicarNoDashboard(lote);
+                    lote.clear();
+                }
+            });
+            aplicarNoDashboard(lote);
+        });
+
+        log.info("Estado derivado reconstruído do diário: {} registros em {} ms",
+            reaplicados[0], System.currentTimeMillis() - inicio);
+        return reaplicados[0];
+    }
+
+    /**
+     * Reaplica os registros posteriores à sequência informada (0 = desde o início), em ordem.
+     * Para reconstruir estado derivado, entregar registro.paraEvento() ao ouvinte correspondente.
+     *
+     * @return quantidade de registros reaplicados
+     */
+    public long reproduzir(long desde, Consumer<RegistroDiario> consumidor) {
+        diario.sincronizar();
+        try {
+            return LeitorDiario.reproduzir(diretorio, desde, consumidor);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void fechar() throws IOException {
+        diario.close();
+    }
+
+    /**
+     * Um lote de registros nos contadores do dashboard; com sharding, cada usuário no seu shard
+     */
+    private void aplicarNoDashboard(List<RegistroDiario> lote) {
+        if (lote.isEmpty())
+            return;
+        DiretorioUsuariosShards diretorioUsuarios = diretorioShards.getIfAvailable();
+        if (diretorioUsuarios == null) {
+            reaplicarNoDashboard(lote);
+            return;
+        }
+
+        // Ordem do diário mantida dentro de cada shard (um usuário nunca está em dois)
+        Map<Integer, List<RegistroDiario>> porShard = lote.stream()
+            .filter(registro -> registro.usuarioId() != null)
+            .collect(Collectors.groupingBy(registro -> diretorioUsuarios.shardDe(registro.usuarioId()),
+                TreeMap::new, Collectors.toList()));
+        porShard.forEach((shard, registros) -> ShardContexto.executar(shard, () -> reaplicarNoDashboard(registros)));
+    }
+
+    private void reaplicarNoDashboard(List<RegistroDiario> registros) {
+        transacao.executeWithoutResult(status ->
+            registros.forEach(registro -> dashboardService.reaplicar(registro.paraEvento())));
+    }
+
+    private void anexar(RegistroDiario registro) {
+        try {
+            diario.anexar(registro);
+            anexados.increment();
+        } catch (IOException | RuntimeException e) {
+            falhas.increment();
+            log.error("Falha ao anexar ao diário: {} {} ID {}", registro.tipo(), registro.entidade(),
+                registro.entidadeId(), e);
+        }
+    }
+}
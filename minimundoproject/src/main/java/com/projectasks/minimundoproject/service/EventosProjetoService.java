@@ -0,0 +1,331 @@
+package com.projectasks.minimundoproject.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.projectasks.minimundoproject.dto.response.AlteracoesProjetoResponse;
+import com.projectasks.minimundoproject.dto.response.EventoProjetoResponse;
+import com.projectasks.minimundoproject.event.ProjetoAlteradoEvent;
+import com.projectasks.minimundoproject.event.TarefaAlteradaEvent;
+import com.projectasks.minimundoproject.event.TipoAlteracao;
+import com.projectasks.minimundoproject.exception.ServicoSobrecarregadoException;
+import com.projectasks.minimundoproject.model.Exclusao.TipoEntidade;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Avisos de alteração de tarefas e projetos por SSE, distribuídos aos assinantes de cada projeto.
+ *
+ * As alterações são juntadas por transação: após o commit sai uma única mensagem por projeto,
+ * então uma importação ou um lote de milhares de tarefas ocupa uma vaga da fila, não milhares.
+ * Acima de sse.max-alteracoes-mensagem itens a mensagem só pede a ressincronização.
+ * As conexões ficam em modo assíncrono (SseEmitter), sem thread presa por conexão ociosa.
+ * Quem publica só enfileira na fila limitada de cada assinante e nunca espera: a escrita
+ * na rede é feita por um executor pequeno, uma tarefa por assinante com mensagens pendentes.
+ * Assinante com a fila cheia (cliente lento) é desconectado e deve ressincronizar por
+ * /api/sync ao reconectar.
+ */
+@Service
+@Slf4j
+public class EventosProjetoService {
+
+    private static final Mensagem PING = new Mensagem(0, null);
+    private static final Mensagem FIM = new Mensagem(-1, null);
+
+    private final AutorizacaoService autorizacaoService;
+    private final ConcurrentHashMap<Long, Set<Assinante>> assinantes = new ConcurrentHashMap<>();
+    private final AtomicInteger totalAssinantes = new AtomicInteger();
+    private final AtomicLong sequencia = new AtomicLong();
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+    private final Counter descartados;
+    private final long timeoutMs;
+    private final int capacidadeFila;
+    private final int maxAssinantes;
+    private final int maxAlteracoesMensagem;
+
+    // Chave das alterações pendentes da transação em TransactionSynchronizationManager
+    private final Object chavePendentes = new Object();
+
+    public EventosProjetoService(AutorizacaoService autorizacaoService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${sse.executor.threads:4}") int threads,
+                                 @Value("${sse.fila:256}") int capacidadeFila,
+                                 @Value("${sse.max-assinantes:10000}") int maxAssinantes,
+                                 @Value("${sse.timeout-ms:1800000}") long timeoutMs,
+                                 @Value("${sse.max-alteracoes-mensagem:100}") int maxAlteracoesMensagem) {
+        this.autorizacaoService = autorizacaoService;
+        this.capacidadeFila = capacidadeFila;
+        this.maxAssinantes = maxAssinantes;
+        this.maxAlteracoesMensagem = maxAlteracoesMensagem;
+        this.timeoutMs = timeoutMs;
+
+        // Cada assinante tem no máximo uma tarefa agendada: a fila do executor é limitada pelos assinantes
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), new CustomizableThreadFactory("sse-"));
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "sse");
+        this.descartados = Counter.builder("sse.assinantes.descartados")
+            .description("Assinantes desconectados por fila cheia")
+            .register(meterRegistry);
+        meterRegistry.gauge("sse.assinantes", totalAssinantes);
+    }
+
+    /**
+     * Abre a conexão de eventos do projeto; a permissão é verificada antes da resposta começar
+     */
+    public SseEmitter assinar(Long projetoId, Long usuarioId) {
+        autorizacaoService.verificarProjeto(projetoId, usuarioId,
+            "Você não tem permissão para acompanhar este projeto");
+        if (totalAssinantes.get() >= maxAssinantes)
+            throw new ServicoSobrecarregadoException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Limite de conexões de eventos atingido. Tente novamente em instantes", 30);
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Assinante assinante = new Assinante(projetoId, emitter, new ArrayBlockingQueue<>(capacidadeFila));
+        emitter.onCompletion(() -> remover(assinante));
+        emitter.onTimeout(() -> {
+            remover(assinante);
+            emitter.complete();
+        });
+        emitter.onError(e -> remover(assinante));
+
+        assinantes.compute(projetoId, (id, conjunto) -> {
+            Set<Assinante> atual = conjunto != null ? conjunto : ConcurrentHashMap.newKeySet();
+            atual.add(assinante);
+            return atual;
+        });
+        totalAssinantes.incrementAndGet();
+        log.debug("Assinatura de eventos do projeto ID {} pelo usuário ID {}", projetoId, usuarioId);
+
+        // Comentário inicial: os cabeçalhos saem na hora e o cliente sabe que está conectado
+        entregar(assinante, PING);
+        return emitter;
+    }
+
+    @EventListener
+    public void onTarefaAlterada(TarefaAlteradaEvent event) {
+        registrar(new EventoProjetoResponse(event.getTipo(), TipoEntidade.TAREFA,
+            event.getTarefaId(), event.getProjetoId()));
+    }
+
+    @EventListener
+    public void onProjetoAlterado(ProjetoAlteradoEvent event) {
+        if (event.getTipo() == TipoAlteracao.CRIADO)
+            return;
+        registrar(new EventoProjetoResponse(event.getTipo(), TipoEntidade.PROJETO,
+            event.getProjetoId(), event.getProjetoId()));
+    }
+
+    /**
+     * Comentário periódico: mantém a conexão aberta em proxies e detecta clientes que saíram
+     */
+    @Scheduled(fixedDelayString = "${sse.heartbeat-ms:25000}")
+    public void heartbeat() {
+        assinantes.values().forEach(conjunto -> conjunto.forEach(assinante -> entregar(assinante, PING)));
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        assinantes.keySet().forEach(this::fechar);
+        pool.shutdown();
+    }
+
+    /**
+     * Guarda a alteração na transação; só é publicada após o commit
+     */
+    private void registrar(EventoProjetoResponse evento) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+            return;
+        Alteracoes alteracoes = pendentes().computeIfAbsent(evento.getProjetoId(), id -> new Alteracoes());
+        if (evento.getEntidade() == TipoEntidade.PROJETO && evento.getTipo() == TipoAlteracao.EXCLUIDO)
+            alteracoes.projetoExcluido = true;
+        if (alteracoes.excedeu)
+            return;
+        alteracoes.itens.merge(evento.getEntidade() + ":" + evento.getId(), evento, EventosProjetoService::combinar);
+        if (alteracoes.itens.size() > maxAlteracoesMensagem) {
+            alteracoes.excedeu = true;
+            alteracoes.itens.clear();
+        }
+    }
+
+    private Map<Long, Alteracoes> pendentes() {
+        @SuppressWarnings("unchecked")
+        Map<Long, Alteracoes> pendentes = (Map<Long, Alteracoes>) TransactionSynchronizationManager.getResource(chavePendentes);
+        if (pendentes != null)
+            return pendentes;
+
+        Map<Long, Alteracoes> novas = new LinkedHashMap<>();
+        TransactionSynchronizationManager.bindResource(chavePendentes, novas);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                novas.forEach(EventosProjetoService.this::publicar);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(chavePendentes);
+            }
+        });
+        return novas;
+    }
+
+    /**
+     * Criado e depois atualizado na mesma transação continua como criado; o resto vale o último
+     */
+    private static EventoProjetoResponse combinar(EventoProjetoResponse anterior, EventoProjetoResponse atual) {
+        return anterior.getTipo() == TipoAlteracao.CRIADO && atual.getTipo() == TipoAlteracao.ATUALIZADO
+            ? anterior : atual;
+    }
+
+    private void publicar(Long projetoId, Alteracoes alteracoes) {
+        Set<Assinante> conjunto = assinantes.get(projetoId);
+        if (conjunto != null) {
+            List<EventoProjetoResponse> itens = new ArrayList<>(alteracoes.itens.values());
+            Mensagem mensagem = new Mensagem(sequencia.incrementAndGet(),
+                new AlteracoesProjetoResponse(projetoId, itens, alteracoes.excedeu));
+            conjunto.forEach(assinante -> entregar(assinante, mensagem));
+        }
+        if (alteracoes.projetoExcluido)
+            fechar(projetoId);
+    }
+
+    /**
+     * Encerra todas as conexões do projeto (projeto excluído), após as mensagens pendentes
+     */
+    private void fechar(Long projetoId) {
+        Set<Assinante> conjunto = assinantes.remove(projetoId);
+        if (conjunto == null)
+            return;
+        conjunto.forEach(assinante -> {
+            totalAssinantes.decrementAndGet();
+            if (!assinante.fila.offer(FIM)) {
+                assinante.fila.clear();
+                assinante.fila.offer(FIM);
+            }
+            agendar(assinante);
+        });
+    }
+
+    /**
+     * Enfileira sem bloquear; fila cheia desconecta o assinante
+     */
+    private void entregar(Assinante assinante, Mensagem mensagem) {
+        if (assinante.fila.offer(mensagem)) {
+            agendar(assinante);
+            return;
+        }
+        descartados.increment();
+        log.debug("Assinante de eventos do projeto ID {} descartado: fila cheia", assinante.projetoId);
+        remover(assinante);
+        assinante.fila.clear();
+        assinante.fila.offer(FIM);
+        agendar(assinante);
+    }
+
+    private void agendar(Assinante assinante) {
+        if (!assinante.agendado.compareAndSet(false, true))
+            return;
+        try {
+            executor.execute(() -> drenar(assinante));
+        } catch (RejectedExecutionException e) {
+            // Executor encerrado (desligamento da aplicação)
+            assinante.agendado.set(false);
+            remover(assinante);
+        }
+    }
+
+    /**
+     * Escreve as mensagens pendentes do assinante; só uma execução por assinante por vez
+     */
+    private void drenar(Assinante assinante) {
+        do {
+            Mensagem mensagem;
+            while ((mensagem = assinante.fila.poll()) != null) {
+                if (mensagem == FIM) {
+                    assinante.emitter.complete();
+                    return;
+                }
+                try {
+                    assinante.emitter.send(mensagem == PING
+                        ? SseEmitter.event().comment("ping")
+                        : SseEmitter.event()
+                            .id(Long.toString(mensagem.id))
+                            .name("alteracoes")
+                            .data(mensagem.alteracoes));
+                } catch (IOException | IllegalStateException e) {
+                    // Cliente desconectou ou a conexão já foi encerrada
+                    remover(assinante);
+                    assinante.fila.clear();
+                    return;
+                }
+            }
+            assinante.agendado.set(false);
+            // Mensagem enfileirada entre o último poll e a liberação: continua se ninguém agendou
+        } while (!assinante.fila.isEmpty() && assinante.agendado.compareAndSet(false, true));
+    }
+
+    private void remover(Assinante assinante) {
+        assinantes.computeIfPresent(assinante.projetoId, (id, conjunto) -> {
+            if (conjunto.remove(assinante))
+                totalAssinantes.decrementAndGet();
+            return conjunto.isEmpty() ? null : conjunto;
+        });
+    }
+
+    private record Mensagem(long id, AlteracoesProjetoResponse alteracoes) {
+    }
+
+    /**
+     * Alterações de um projeto na transação, uma por entidade, na ordem em que ocorreram
+     */
+    private static final class Alteracoes {
+
+        private final Map<String, EventoProjetoResponse> itens = new LinkedHashMap<>();
+        private boolean excedeu;
+        private boolean projetoExcluido;
+    }
+
+    private static final class Assinante {
+
+        private final Long projetoId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Mensagem> fila;
+        private final AtomicBoolean agendado = new AtomicBoolean();
+
+        Assinante(Long projetoId, SseEmitter emitter, BlockingQueue<Mensagem> fila) {
+            this.projetoId = projetoId;
+            this.emitter = emitter;
+            this.fila = fila;
+        }
+    }
+}
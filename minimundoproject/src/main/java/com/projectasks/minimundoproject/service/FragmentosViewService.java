@@ -0,0 +1,142 @@
+package com.projectasks.minimundoproject.service;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import com.projectasks.minimundoproject.event.ProjetoAlteradoEvent;
+import com.projectasks.minimundoproject.event.TarefaAlteradaEvent;
+import com.projectasks.minimundoproject.util.CacheLimitado;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache do HTML renderizado dos fragmentos das telas (templates/fragmentos.html), por usuário.
+ *
+ * Cada usuário tem uma versão de dados, avançada após o commit de qualquer alteração dos seus
+ * projetos ou tarefas. O fragmento guardado só vale para a versão lida antes de carregar os
+ * dados, então uma renderização concorrente com uma alteração nunca fica em cache. Na repetição
+ * da tela o custo é a comparação de versão e a cópia do HTML; o banco não é consultado.
+ * Com várias instâncias, a alteração feita em outra só aparece após visoes.cache.validade-ms.
+ *
+ * Os fragmentos têm limite próprio de quantidade e de tamanho total do HTML, separado do
+ * limite de usuários com versão. Buscas por texto livre (nome, descrição) não são guardadas:
+ * raramente se repetem e só ocupariam o lugar das telas sem filtro.
+ */
+@Service
+@Slf4j
+public class FragmentosViewService {
+
+    private static final String TEMPLATE = "fragmentos";
+
+    private record Entrada(long versao, String html, long criadoEm) {
+    }
+
+    private final ITemplateEngine templateEngine;
+    private final long validadeMs;
+    private final AtomicLong sequencia = new AtomicLong();
+    private final CacheLimitado<Long, Long> versoes;
+    private final CacheLimitado<String, Entrada> entradas;
+    private final Counter acertos;
+    private final Counter falhas;
+
+    public FragmentosViewService(ITemplateEngine templateEngine,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${visoes.cache.max-usuarios:10000}") int maxUsuarios,
+                                 @Value("${visoes.cache.max-fragmentos:20000}") int maxFragmentos,
+                                 @Value("${visoes.cache.max-bytes:33554432}") long maxBytes,
+                                 @Value("${visoes.cache.validade-ms:300000}") long validadeMs) {
+        this.templateEngine = templateEngine;
+        this.validadeMs = validadeMs;
+        this.versoes = new CacheLimitado<>(maxUsuarios);
+        // Peso aproximado pelo número de caracteres do HTML
+        this.entradas = new CacheLimitado<>(maxFragmentos, maxBytes, entrada -> entrada.html().length());
+        this.acertos = contador(meterRegistry, "acerto");
+        this.falhas = contador(meterRegistry, "falha");
+        meterRegistry.gauge("visoes.fragmentos.bytes", entradas, cache -> cache.peso());
+    }
+
+    /**
+     * HTML do fragmento para o usuário; na falta, carrega as variáveis, renderiza e guarda
+     *
+     * @param chave identifica a tela e os parâmetros que mudam o conteúdo (filtros, cursor)
+     */
+    public String fragmento(Long usuarioId, String chave, String fragmento, Supplier<Map<String, Object>> carregar) {
+        // Versão lida antes dos dados: se mudar durante a carga, o que for guardado já nasce vencido
+        long versao = versoes.computeIfAbsent(usuarioId, id -> sequencia.incrementAndGet());
+        String chaveUsuario = usuarioId + ":" + chave;
+        long agora = System.currentTimeMillis();
+
+        Entrada entrada = entradas.get(chaveUsuario);
+        if (entrada != null && entrada.versao() == versao && agora - entrada.criadoEm() < validadeMs) {
+            acertos.increment();
+            return entrada.html();
+        }
+
+        falhas.increment();
+        String html = processar(fragmento, carregar.get());
+        entradas.put(chaveUsuario, new Entrada(versao, html, agora));
+        return html;
+    }
+
+    /**
+     * HTML do fragmento sem passar pelo cache (buscas por texto livre)
+     */
+    public String renderizar(String fragmento, Supplier<Map<String, Object>> carregar) {
+        return processar(fragmento, carregar.get());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjetoAlterado(ProjetoAlteradoEvent event) {
+        invalidar(event.getUsuarioId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTarefaAlterada(TarefaAlteradaEvent event) {
+        invalidar(event.getUsuarioId());
+    }
+
+    /**
+     * Avança a versão do usuário: todos os fragmentos dele deixam de valer
+     */
+    public void invalidar(Long usuarioId) {
+        if (usuarioId == null)
+            return;
+        versoes.put(usuarioId, sequencia.incrementAndGet());
+        log.debug("Fragmentos do usuário ID {} invalidados", usuarioId);
+    }
+
+    /**
+     * Renderiza só o fragmento, com o contexto web da requisição atual (links com @{...})
+     */
+    private String processar(String fragmento, Map<String, Object> variaveis) {
+        ServletRequestAttributes atributos = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        HttpServletRequest request = atributos.getRequest();
+        WebContext contexto = new WebContext(
+            JakartaServletWebApplication.buildApplication(request.getServletContext())
+                .buildExchange(request, atributos.getResponse()),
+            LocaleContextHolder.getLocale(), variaveis);
+        return templateEngine.process(TEMPLATE, Set.of(fragmento), contexto);
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder("visoes.fragmentos")
+            .description("Fragmentos de tela atendidos pelo cache (acerto) ou renderizados (falha)")
+            .tag("resultado", resultado)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,273 @@
+package com.projectasks.minimundoproject.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectasks.minimundoproject.dto.request.TarefaImportacaoRequest;
+import com.projectasks.minimundoproject.dto.response.ImportacaoResponse;
+import com.projectasks.minimundoproject.event.TarefaAlteradaEvent;
+import com.projectasks.minimundoproject.event.TipoAlteracao;
+import com.projectasks.minimundoproject.exception.BusinessException;
+import com.projectasks.minimundoproject.model.Projeto;
+import com.projectasks.minimundoproject.model.Tarefa;
+import com.projectasks.minimundoproject.model.Tarefa.StatusTarefa;
+import com.projectasks.minimundoproject.repository.TarefaRepository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Importação em massa de tarefas a partir de NDJSON ou CSV.
+ * O arquivo é lido em fluxo e gravado em lotes: cada lote é validado em memória,
+ * persistido com batch JDBC e confirmado em sua própria transação, com o
+ * contexto de persistência limpo em seguida (memória constante).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImportacaoTarefaService {
+
+    private static final int TAMANHO_LOTE = 1000;
+    private static final String[] COLUNAS_CSV = {
+        "ref", "descricao", "dataInicio", "dataFim", "status", "predecessora", "tarefaPredecessoraId"
+    };
+
+    private final TarefaRepository tarefaRepository;
+    private final AutorizacaoService autorizacaoService;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    private record Linha(int numero, TarefaImportacaoRequest dados) {
+    }
+
+    /**
+     * Importa as tarefas do arquivo para o projeto.
+     * Em caso de erro, os lotes anteriores permanecem gravados e a mensagem
+     * informa a linha com problema e quantas tarefas já foram importadas.
+     */
+    public ImportacaoResponse importar(Long projetoId, Long usuarioId, InputStream entrada, boolean csv) throws IOException {
+        if (projetoId == null)
+            throw new IllegalArgumentException("ID do projeto não podem ser nulos");
+        log.info("Importando tarefas para o projeto ID: {}", projetoId);
+        long inicio = System.currentTimeMillis();
+
+        autorizacaoService.verificarProjeto(projetoId, usuarioId, "Você não tem permissão para criar tarefas neste projeto");
+
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        // ref do arquivo → ID gerado; única estrutura que cresce com o arquivo
+        Map<String, Long> referencias = new HashMap<>();
+        List<Linha> lote = new ArrayList<>(TAMANHO_LOTE);
+        int importadas = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8))) {
+            String[] cabecalho = csv ? lerCabecalho(reader.readLine()) : null;
+            int numero = csv ? 1 : 0;
+            String texto;
+
+            while ((texto = reader.readLine()) != null) {
+                numero++;
+                if (texto.isBlank())
+                    continue;
+                lote.add(new Linha(numero, csv ? lerCsv(texto, cabecalho, numero) : lerJson(texto, numero)));
+
+                if (lote.size() == TAMANHO_LOTE) {
+                    importadas += gravarLote(transacao, projetoId, usuarioId, lote, referencias, importadas);
+                    lote.clear();
+                }
+            }
+            if (!lote.isEmpty()) {
+                importadas += gravarLote(transacao, projetoId, usuarioId, lote, referencias, importadas);
+            }
+        } catch (BusinessException e) {
+            throw new BusinessException(e.getMessage() + " (" + importadas + " tarefas já importadas)");
+        }
+
+        long duracao = System.currentTimeMillis() - inicio;
+        log.info("Importação concluída: {} tarefas em {} ms no projeto ID {}", importadas, duracao, projetoId);
+        return new ImportacaoResponse(projetoId, importadas, duracao);
+    }
+
+    private int gravarLote(TransactionTemplate transacao, Long projetoId, Long usuarioId,
+                           List<Linha> lote, Map<String, Long> referencias, int importadas) {
+        Integer gravadas = transacao.execute(status -> {
+            Set<Long> predecessorasExistentes = predecessorasExistentes(projetoId, lote);
+            Projeto projeto = entityManager.getReference(Projeto.class, projetoId);
+            Map<String, Long> novasReferencias = new HashMap<>();
+
+            for (Linha linha : lote) {
+                TarefaImportacaoRequest dados = linha.dados();
+                validar(linha);
+
+                Long predecessoraId = resolverPredecessora(linha, referencias, novasReferencias, predecessorasExistentes);
+
+                Tarefa tarefa = new Tarefa();
+                tarefa.setDescricao(dados.getDescricao());
+                tarefa.setProjeto(projeto);
+                tarefa.setDataInicio(dados.getDataInicio());
+                tarefa.setDataFim(dados.getDataFim());
+                tarefa.setStatus(dados.getStatus() != null ? dados.getStatus() : StatusTarefa.NAO_CONCLUIDA);
+                if (predecessoraId != null)
+                    tarefa.setTarefaPredecessora(entityManager.getReference(Tarefa.class, predecessoraId));
+
+                // Com ID por sequência o ID já é conhecido aqui; o INSERT vai no batch do flush
+                entityManager.persist(tarefa);
+
+                if (dados.getRef() != null && !dados.getRef().isBlank()) {
+                    if (referencias.containsKey(dados.getRef()) || novasReferencias.containsKey(dados.getRef()))
+                        throw erro(linha, "ref duplicada '" + dados.getRef() + "'");
+                    novasReferencias.put(dados.getRef(), tarefa.getId());
+                }
+                eventPublisher.publishEvent(TarefaAlteradaEvent.de(TipoAlteracao.CRIADO, usuarioId, tarefa, null, null));
+            }
+
+            entityManager.flush();
+            entityManager.clear();
+            referencias.putAll(novasReferencias);
+            return lote.size();
+        });
+        log.debug("Lote importado: {} tarefas (total {})", gravadas, importadas + gravadas);
+        return gravadas;
+    }
+
+    /**
+     * Uma única consulta por lote para as predecessoras informadas por ID
+     */
+    private Set<Long> predecessorasExistentes(Long projetoId, List<Linha> lote) {
+        Set<Long> ids = new HashSet<>();
+        for (Linha linha : lote) {
+            if (linha.dados().getTarefaPredecessoraId() != null)
+                ids.add(linha.dados().getTarefaPredecessoraId());
+        }
+        if (ids.isEmpty())
+            return Set.of();
+        return new HashSet<>(tarefaRepository.findIdsByProjetoIdAndIdIn(projetoId, ids));
+    }
+
+    private Long resolverPredecessora(Linha linha, Map<String, Long> referencias,
+                                      Map<String, Long> novasReferencias, Set<Long> existentes) {
+        TarefaImportacaoRequest dados = linha.dados();
+        if (dados.getPredecessora() != null && !dados.getPredecessora().isBlank()) {
+            Long id = novasReferencias.get(dados.getPredecessora());
+            if (id == null)
+                id = referencias.get(dados.getPredecessora());
+            if (id == null)
+                throw erro(linha, "predecessora '" + dados.getPredecessora() + "' não encontrada nas linhas anteriores");
+            return id;
+        }
+        if (dados.getTarefaPredecessoraId() != null) {
+            if (!existentes.contains(dados.getTarefaPredecessoraId()))
+                throw erro(linha, "a tarefa predecessora deve pertencer ao mesmo projeto");
+            return dados.getTarefaPredecessoraId();
+        }
+        return null;
+    }
+
+    private void validar(Linha linha) {
+        TarefaImportacaoRequest dados = linha.dados();
+        if (dados.getDescricao() == null || dados.getDescricao().isBlank())
+            throw erro(linha, "descrição da tarefa é obrigatória");
+        if (dados.getDataInicio() != null && dados.getDataFim() != null
+            && dados.getDataFim().isBefore(dados.getDataInicio()))
+            throw erro(linha, "a data de fim não pode ser anterior à data de início");
+    }
+
+    private TarefaImportacaoRequest lerJson(String texto, int numero) {
+        try {
+            return objectMapper.readValue(texto, TarefaImportacaoRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("Linha " + numero + ": JSON inválido");
+        }
+    }
+
+    private String[] lerCabecalho(String texto) {
+        if (texto == null)
+            throw new BusinessException("Arquivo CSV vazio");
+        String[] cabecalho = dividirCsv(texto).toArray(new String[0]);
+        for (int i = 0; i < cabecalho.length; i++) {
+            cabecalho[i] = cabecalho[i].trim();
+        }
+        return cabecalho;
+    }
+
+    private TarefaImportacaoRequest lerCsv(String texto, String[] cabecalho, int numero) {
+        List<String> valores = dividirCsv(texto);
+        TarefaImportacaoRequest dados = new TarefaImportacaoRequest();
+        try {
+            for (int i = 0; i < cabecalho.length && i < valores.size(); i++) {
+                String valor = valores.get(i).trim();
+                if (valor.isEmpty())
+                    continue;
+                switch (cabecalho[i]) {
+                    case "ref" -> dados.setRef(valor);
+                    case "descricao" -> dados.setDescricao(valor);
+                    case "dataInicio" -> dados.setDataInicio(LocalDate.parse(valor));
+                    case "dataFim" -> dados.setDataFim(LocalDate.parse(valor));
+                    case "status" -> dados.setStatus(StatusTarefa.valueOf(valor));
+                    case "predecessora" -> dados.setPredecessora(valor);
+                    case "tarefaPredecessoraId" -> dados.setTarefaPredecessoraId(Long.valueOf(valor));
+                    default -> throw new BusinessException(
+                        "Coluna desconhecida '" + cabecalho[i] + "'. Colunas aceitas: " + String.join(",", COLUNAS_CSV));
+                }
+            }
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new BusinessException("Linha " + numero + ": valor inválido (" + e.getMessage() + ")");
+        }
+        return dados;
+    }
+
+    /**
+     * Divide uma linha CSV respeitando campos entre aspas ("a, b" e aspas duplicadas "")
+     */
+    private static List<String> dividirCsv(String texto) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < texto.length() && texto.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+
+    private static BusinessException erro(Linha linha, String mensagem) {
+        return new BusinessException("Linha " + linha.numero() + ": " + mensagem);
+    }
+}
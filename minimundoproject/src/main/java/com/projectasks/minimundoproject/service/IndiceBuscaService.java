@@ -0,0 +1,200 @@
+package com.projectasks.minimundoproject.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.projectasks.minimundoproject.event.ProjetoAlteradoEvent;
+import com.projectasks.minimundoproject.event.TarefaAlteradaEvent;
+import com.projectasks.minimundoproject.event.TipoAlteracao;
+import com.projectasks.minimundoproject.repository.ProjetoRepository;
+import com.projectasks.minimundoproject.repository.TarefaRepository;
+import com.projectasks.minimundoproject.repository.projection.ItemIndiceProjection;
+import com.projectasks.minimundoproject.shard.Shards;
+import com.projectasks.minimundoproject.util.IndiceTexto;
+import com.projectasks.minimundoproject.util.IndiceTexto.Relevancia;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Índice de busca em memória, por usuário, sobre Projeto.nome e Tarefa.descricao.
+ * Reconstruído na inicialização e mantido pelos eventos de alteração dos serviços.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IndiceBuscaService {
+
+    private final ProjetoRepository projetoRepository;
+    private final TarefaRepository tarefaRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final Shards shards;
+
+    /** Índices em uso; a reconstrução monta um novo par ao lado e troca a referência */
+    private volatile Indices indices = Indices.vazios();
+
+    /** Eventos recebidos durante a reconstrução, reaplicados no índice novo antes da troca */
+    private final Object trava = new Object();
+    private List<Object> pendentes;
+
+    private volatile boolean pronto;
+
+    /**
+     * Enquanto o índice não foi reconstruído, os serviços usam a busca no banco
+     */
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    /**
+     * IDs dos projetos do usuário cujo nome contém o termo, por relevância
+     */
+    public List<Long> buscarProjetos(Long usuarioId, String termo) {
+        IndiceTexto indice = indices.projetos().get(usuarioId);
+        return indice != null ? indice.buscar(termo, null) : List.of();
+    }
+
+    /**
+     * Como {@link #buscarProjetos(Long, String)}, com a relevância de cada projeto (cursor das páginas)
+     */
+    public List<Relevancia> buscarProjetosPorRelevancia(Long usuarioId, String termo) {
+        IndiceTexto indice = indices.projetos().get(usuarioId);
+        return indice != null ? indice.buscarPorRelevancia(termo, null) : List.of();
+    }
+
+    /**
+     * IDs das tarefas do usuário cuja descrição contém o termo, por relevância
+     *
+     * @param projetoId restringe a um projeto; nulo busca em todos os projetos do usuário
+     */
+    public List<Long> buscarTarefas(Long usuarioId, Long projetoId, String termo) {
+        IndiceTexto indice = indices.tarefas().get(usuarioId);
+        return indice != null ? indice.buscar(termo, projetoId) : List.of();
+    }
+
+    public List<Relevancia> buscarTarefasPorRelevancia(Long usuarioId, Long projetoId, String termo) {
+        IndiceTexto indice = indices.tarefas().get(usuarioId);
+        return indice != null ? indice.buscarPorRelevancia(termo, projetoId) : List.of();
+    }
+
+    /**
+     * Lê do primário (transação de escrita): numa réplica atrasada faltariam alterações já
+     * confirmadas, cujos eventos não voltam a ser publicados. Com sharding, lê cada shard
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        log.info("Reconstruindo índice de busca");
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        AtomicInteger projetos = new AtomicInteger();
+        AtomicInteger tarefas = new AtomicInteger();
+        int reaplicados = trocar(novos -> shards.paraCada(() -> transacao.executeWithoutResult(status -> {
+            for (ItemIndiceProjection item : projetoRepository.findAllParaIndice()) {
+                indice(novos.projetos(), item.getUsuarioId()).indexar(item.getId(), item.getTexto(), null);
+                projetos.incrementAndGet();
+            }
+            for (ItemIndiceProjection item : tarefaRepository.findAllParaIndice()) {
+                indice(novos.tarefas(), item.getUsuarioId()).indexar(item.getId(), item.getTexto(), item.getProjetoId());
+                tarefas.incrementAndGet();
+            }
+        })));
+        log.info("Índice de busca reconstruído: {} projetos, {} tarefas, {} eventos reaplicados",
+            projetos.get(), tarefas.get(), reaplicados);
+    }
+
+    /**
+     * Reconstrói o índice a partir de eventos de alteração entregues em ordem pela fonte
+     * (ex.: reprodução do diário)
+     */
+    public void reconstruir(Consumer<Consumer<Object>> fonte) {
+        log.info("Reconstruindo índice de busca a partir de eventos");
+        int reaplicados = trocar(novos -> fonte.accept(evento -> aplicar(novos, evento)));
+        log.info("Índice de busca reconstruído, {} eventos reaplicados", reaplicados);
+    }
+
+    /**
+     * Monta um índice novo ao lado do atual e o coloca em uso. As buscas seguem no índice
+     * atual até a troca; eventos recebidos durante a carga são reaplicados no novo
+     *
+     * @return quantidade de eventos reaplicados
+     */
+    private int trocar(Consumer<Indices> carregar) {
+        synchronized (trava) {
+            pendentes = new ArrayList<>();
+        }
+        try {
+            Indices novos = Indices.vazios();
+            carregar.accept(novos);
+
+            int reaplicados;
+            synchronized (trava) {
+                // Indexar e remover são idempotentes: reaplicar um evento já visto na carga não muda o resultado
+                reaplicados = pendentes.size();
+                pendentes.forEach(evento -> aplicar(novos, evento));
+                indices = novos;
+            }
+            pronto = true;
+            return reaplicados;
+        } finally {
+            synchronized (trava) {
+                pendentes = null;
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onProjetoAlterado(ProjetoAlteradoEvent event) {
+        receber(event);
+    }
+
+    @TransactionalEventListener
+    public void onTarefaAlterada(TarefaAlteradaEvent event) {
+        receber(event);
+    }
+
+    private void receber(Object evento) {
+        synchronized (trava) {
+            aplicar(indices, evento);
+            if (pendentes != null)
+                pendentes.add(evento);
+        }
+    }
+
+    private static void aplicar(Indices alvo, Object evento) {
+        if (evento instanceof ProjetoAlteradoEvent event) {
+            IndiceTexto indice = indice(alvo.projetos(), event.getUsuarioId());
+            if (event.getTipo() == TipoAlteracao.EXCLUIDO) {
+                indice.remover(event.getProjetoId());
+            } else {
+                indice.indexar(event.getProjetoId(), event.getNome(), null);
+            }
+        } else if (evento instanceof TarefaAlteradaEvent event) {
+            IndiceTexto indice = indice(alvo.tarefas(), event.getUsuarioId());
+            if (event.getTipo() == TipoAlteracao.EXCLUIDO) {
+                indice.remover(event.getTarefaId());
+            } else {
+                indice.indexar(event.getTarefaId(), event.getDescricao(), event.getProjetoId());
+            }
+        }
+    }
+
+    private static IndiceTexto indice(Map<Long, IndiceTexto> indices, Long usuarioId) {
+        return indices.computeIfAbsent(usuarioId, id -> new IndiceTexto());
+    }
+
+    private record Indices(Map<Long, IndiceTexto> projetos, Map<Long, IndiceTexto> tarefas) {
+        static Indices vazios() {
+            return new Indices(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+    }
+}
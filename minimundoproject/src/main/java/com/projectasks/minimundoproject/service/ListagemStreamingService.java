@@ -0,0 +1,137 @@
+package com.projectasks.minimundoproject.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.projectasks.minimundoproject.dto.response.ProjetoResponse;
+import com.projectasks.minimundoproject.dto.response.TarefaResponse;
+import com.projectasks.minimundoproject.model.Projeto.StatusProjeto;
+import com.projectasks.minimundoproject.model.Tarefa.StatusTarefa;
+import com.projectasks.minimundoproject.repository.ProjetoRepository;
+import com.projectasks.minimundoproject.repository.TarefaRepository;
+import com.projectasks.minimundoproject.repository.projection.ContagemTarefasProjection;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Listagens completas em streaming: as linhas são lidas por cursor em uma transação
+ * somente leitura, convertidas uma a uma e escritas direto na resposta pelo gerador do
+ * Jackson, com o contexto de persistência limpo a cada lote. A memória não cresce com
+ * o tamanho da listagem.
+ */
+@Service
+@Slf4j
+public class ListagemStreamingService {
+
+    private static final int TAMANHO_LOTE = 500;
+
+    private final ProjetoRepository projetoRepository;
+    private final TarefaRepository tarefaRepository;
+    private final ProjetoService projetoService;
+    private final TarefaService tarefaService;
+    private final AutorizacaoService autorizacaoService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transacao;
+
+    public ListagemStreamingService(ProjetoRepository projetoRepository,
+                                    TarefaRepository tarefaRepository,
+                                    ProjetoService projetoService,
+                                    TarefaService tarefaService,
+                                    AutorizacaoService autorizacaoService,
+                                    EntityManager entityManager,
+                                    ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager) {
+        this.projetoRepository = projetoRepository;
+        this.tarefaRepository = tarefaRepository;
+        this.projetoService = projetoService;
+        this.tarefaService = tarefaService;
+        this.autorizacaoService = autorizacaoService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.transacao.setReadOnly(true);
+    }
+
+    /**
+     * Todas as tarefas do projeto; a permissão é verificada antes de a resposta começar
+     */
+    public StreamingResponseBody tarefas(Long projetoId, Long usuarioId, StatusTarefa status) {
+        if (projetoId == null)
+            throw new IllegalArgumentException("ID do projeto não podem ser nulos");
+        autorizacaoService.verificarProjeto(projetoId, usuarioId,
+            "Você não tem permissão para acessar as tarefas deste projeto");
+        log.info("Listando em streaming as tarefas do projeto ID: {}", projetoId);
+
+        return saida -> escrever(saida, TarefaResponse.class,
+            () -> tarefaRepository.streamByProjetoId(projetoId, status),
+            () -> tarefaService::toResponse);
+    }
+
+    /**
+     * Todos os projetos do usuário, com os totais de tarefas
+     */
+    public StreamingResponseBody projetos(Long usuarioId, StatusProjeto status) {
+        log.info("Listando em streaming os projetos do usuário ID {}", usuarioId);
+
+        return saida -> escrever(saida, ProjetoResponse.class,
+            () -> projetoRepository.streamByUsuarioId(usuarioId, status),
+            () -> {
+                // Uma linha por projeto com tarefas (só os totais), não as tarefas
+                Map<Long, ContagemTarefasProjection> contagens = tarefaRepository
+                    .contarPorProjetoDoUsuario(usuarioId, StatusTarefa.CONCLUIDA).stream()
+                    .collect(Collectors.toMap(ContagemTarefasProjection::getProjetoId, Function.identity()));
+                return projeto -> projetoService.toResponse(projeto, contagens);
+            });
+    }
+
+    /**
+     * Executa na thread assíncrona da resposta, dentro da transação somente leitura
+     */
+    private <E, R> void escrever(OutputStream saida, Class<R> tipo, Supplier<Stream<E>> consulta,
+                                 Supplier<Function<E, R>> conversor) {
+        ObjectWriter writer = objectMapper.writerFor(tipo).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long inicio = System.currentTimeMillis();
+
+        Integer escritos = transacao.execute(status -> {
+            Function<E, R> converter = conversor.get();
+            int total = 0;
+            try (Stream<E> linhas = consulta.get();
+                 JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+                gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                gerador.writeStartArray();
+                Iterator<E> iterador = linhas.iterator();
+                while (iterador.hasNext()) {
+                    writer.writeValue(gerador, converter.apply(iterador.next()));
+                    if (++total % TAMANHO_LOTE == 0) {
+                        entityManager.clear();
+                        gerador.flush();
+                    }
+                }
+                gerador.writeEndArray();
+            } catch (IOException e) {
+                // Normalmente o cliente desconectou no meio da resposta
+                throw new UncheckedIOException(e);
+            }
+            return total;
+        });
+        log.debug("Streaming concluído: {} itens em {} ms", escritos, System.currentTimeMillis() - inicio);
+    }
+}
@@ -0,0 +1,394 @@
+package com.projectasks.minimundoproject.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.projectasks.minimundoproject.dto.request.OperacaoTarefaRequest;
+import com.projectasks.minimundoproject.dto.request.OperacaoTarefaRequest.TipoOperacao;
+import com.projectasks.minimundoproject.dto.response.LoteTarefasResponse;
+import com.projectasks.minimundoproject.dto.response.ResultadoOperacaoResponse;
+import com.projectasks.minimundoproject.event.TarefaAlteradaEvent;
+import com.projectasks.minimundoproject.event.TipoAlteracao;
+import com.projectasks.minimundoproject.exception.BusinessException;
+import com.projectasks.minimundoproject.model.Projeto;
+import com.projectasks.minimundoproject.model.Tarefa;
+import com.projectasks.minimundoproject.model.Tarefa.StatusTarefa;
+import com.projectasks.minimundoproject.repository.ProjetoRepository;
+import com.projectasks.minimundoproject.repository.TarefaRepository;
+import com.projectasks.minimundoproject.repository.projection.DependenciaTarefaProjection;
+import com.projectasks.minimundoproject.util.GrafoDependencias;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lote de criações, atualizações e exclusões de tarefas em uma única transação.
+ *
+ * Tarefas, predecessoras e projetos citados são carregados com consultas IN; todas as
+ * regras (permissão, datas, predecessora no mesmo projeto, ciclos, exclusão de
+ * predecessoras) são validadas em memória antes de qualquer escrita. Com algum erro
+ * nada é gravado; sem erros, as escritas saem no batch JDBC do flush.
+ */
+@Service
+@Slf4j
+public class LoteTarefaService {
+
+    private final TarefaRepository tarefaRepository;
+    private final ProjetoRepository projetoRepository;
+    private final TarefaService tarefaService;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxOperacoes;
+
+    public LoteTarefaService(TarefaRepository tarefaRepository,
+                             ProjetoRepository projetoRepository,
+                             TarefaService tarefaService,
+                             EntityManager entityManager,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${tarefas.lote.max-operacoes:500}") int maxOperacoes) {
+        this.tarefaRepository = tarefaRepository;
+        this.projetoRepository = projetoRepository;
+        this.tarefaService = tarefaService;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.maxOperacoes = maxOperacoes;
+    }
+
+    @Transactional
+    public LoteTarefasResponse aplicar(List<OperacaoTarefaRequest> operacoes, Long usuarioId) {
+        if (operacoes.size() > maxOperacoes)
+            throw new BusinessException("O lote aceita no máximo " + maxOperacoes + " operações");
+        log.info("Aplicando lote de {} operações de tarefas", operacoes.size());
+
+        String[] erros = new String[operacoes.size()];
+        // Elemento nulo (ex.: null ou vírgula sobrando no JSON): erro na própria posição
+        for (int i = 0; i < operacoes.size(); i++) {
+            if (operacoes.get(i) == null)
+                erros[i] = "Operação não informada";
+        }
+        if (!semErros(erros))
+            return recusado(operacoes, erros);
+
+        Map<Long, Tarefa> tarefas = carregarTarefas(operacoes);
+        Map<Long, Projeto> projetos = carregarProjetos(operacoes, tarefas);
+
+        Map<String, Integer> refs = new HashMap<>();
+        validar(operacoes, usuarioId, tarefas, projetos, refs, erros);
+        if (semErros(erros))
+            validarDependencias(operacoes, tarefas, refs, erros);
+
+        if (!semErros(erros))
+            return recusado(operacoes, erros);
+
+        Tarefa[] gravadas = gravar(operacoes, usuarioId, tarefas, projetos, refs);
+        log.info("Lote aplicado: {} operações", operacoes.size());
+        return new LoteTarefasResponse(true, resultados(operacoes, erros, gravadas));
+    }
+
+    private LoteTarefasResponse recusado(List<OperacaoTarefaRequest> operacoes, String[] erros) {
+        log.info("Lote recusado: {} operações com erro", Arrays.stream(erros).filter(e -> e != null).count());
+        return new LoteTarefasResponse(false, resultados(operacoes, erros, new Tarefa[operacoes.size()]));
+    }
+
+    /**
+     * Tarefas a atualizar/excluir e predecessoras citadas por ID, em uma única consulta
+     */
+    private Map<Long, Tarefa> carregarTarefas(List<OperacaoTarefaRequest> operacoes) {
+        Set<Long> ids = new HashSet<>();
+        for (OperacaoTarefaRequest operacao : operacoes) {
+            if (operacao.getTipo() != TipoOperacao.CRIAR && operacao.getId() != null)
+                ids.add(operacao.getId());
+            if (operacao.getTarefaPredecessoraId() != null)
+                ids.add(operacao.getTarefaPredecessoraId());
+        }
+        if (ids.isEmpty())
+            return Map.of();
+        return tarefaRepository.findByIdIn(ids).stream()
+            .collect(Collectors.toMap(Tarefa::getId, Function.identity()));
+    }
+
+    /**
+     * Projetos das tarefas carregadas (já vieram no JOIN) e dos que recebem novas tarefas
+     */
+    private Map<Long, Projeto> carregarProjetos(List<OperacaoTarefaRequest> operacoes, Map<Long, Tarefa> tarefas) {
+        Map<Long, Projeto> projetos = new HashMap<>();
+        for (Tarefa tarefa : tarefas.values()) {
+            projetos.put(tarefa.getProjeto().getId(), tarefa.getProjeto());
+        }
+        Set<Long> faltantes = new HashSet<>();
+        for (OperacaoTarefaRequest operacao : operacoes) {
+            if (operacao.getTipo() == TipoOperacao.CRIAR && operacao.getProjetoId() != null
+                && !projetos.containsKey(operacao.getProjetoId()))
+                faltantes.add(operacao.getProjetoId());
+        }
+        if (!faltantes.isEmpty()) {
+            for (Projeto projeto : projetoRepository.findByIdIn(faltantes)) {
+                projetos.put(projeto.getId(), projeto);
+            }
+        }
+        return projetos;
+    }
+
+    private void validar(List<OperacaoTarefaRequest> operacoes, Long usuarioId, Map<Long, Tarefa> tarefas,
+                         Map<Long, Projeto> projetos, Map<String, Integer> refs, String[] erros) {
+        Set<Long> citadas = new HashSet<>();
+        for (int i = 0; i < operacoes.size(); i++) {
+            OperacaoTarefaRequest operacao = operacoes.get(i);
+            erros[i] = operacao.getTipo() == null
+                ? "Tipo da operação é obrigatório"
+                : switch (operacao.getTipo()) {
+                    case CRIAR -> validarCriacao(operacao, usuarioId, tarefas, projetos, refs, operacoes);
+                    case ATUALIZAR, EXCLUIR -> validarExistente(operacao, usuarioId, tarefas, refs, operacoes, citadas);
+                };
+            if (erros[i] == null && operacao.getTipo() == TipoOperacao.CRIAR && temTexto(operacao.getRef()))
+                refs.put(operacao.getRef(), i);
+        }
+    }
+
+    private String validarCriacao(OperacaoTarefaRequest operacao, Long usuarioId, Map<Long, Tarefa> tarefas,
+                                  Map<Long, Projeto> projetos, Map<String, Integer> refs,
+                                  List<OperacaoTarefaRequest> operacoes) {
+        if (operacao.getProjetoId() == null)
+            return "Projeto é obrigatório";
+        Projeto projeto = projetos.get(operacao.getProjetoId());
+        if (projeto == null)
+            return "Projeto não encontrado";
+        if (!projeto.getUsuario().getId().equals(usuarioId))
+            return "Você não tem permissão para criar tarefas neste projeto";
+        if (temTexto(operacao.getRef()) && refs.containsKey(operacao.getRef()))
+            return "ref duplicada '" + operacao.getRef() + "'";
+        String erro = validarDados(operacao);
+        return erro != null ? erro : validarPredecessora(operacao, projeto.getId(), tarefas, refs, operacoes);
+    }
+
+    private String validarExistente(OperacaoTarefaRequest operacao, Long usuarioId, Map<Long, Tarefa> tarefas,
+                                    Map<String, Integer> refs, List<OperacaoTarefaRequest> operacoes,
+                                    Set<Long> citadas) {
+        boolean exclusao = operacao.getTipo() == TipoOperacao.EXCLUIR;
+        if (operacao.getId() == null)
+            return "ID da tarefa é obrigatório";
+        Tarefa tarefa = tarefas.get(operacao.getId());
+        if (tarefa == null)
+            return "Tarefa não encontrada";
+        if (!tarefa.getProjeto().getUsuario().getId().equals(usuarioId))
+            return exclusao ? "Você não tem permissão para excluir esta tarefa"
+                : "Você não tem permissão para atualizar esta tarefa";
+        if (!citadas.add(operacao.getId()))
+            return "A tarefa aparece em mais de uma operação do lote";
+        if (exclusao)
+            return null;
+        if (operacao.getId().equals(operacao.getTarefaPredecessoraId()))
+            return "Uma tarefa não pode ser predecessora de si mesma";
+        String erro = validarDados(operacao);
+        return erro != null ? erro : validarPredecessora(operacao, tarefa.getProjeto().getId(), tarefas, refs, operacoes);
+    }
+
+    private static String validarDados(OperacaoTarefaRequest operacao) {
+        if (!temTexto(operacao.getDescricao()))
+            return "Descrição da tarefa é obrigatória";
+        if (operacao.getDataInicio() != null && operacao.getDataFim() != null
+            && operacao.getDataFim().isBefore(operacao.getDataInicio()))
+            return "A data de fim não pode ser anterior à data de início";
+        return null;
+    }
+
+    /**
+     * A predecessora (tarefa existente ou criada antes no lote) deve ser do mesmo projeto
+     */
+    private static String validarPredecessora(OperacaoTarefaRequest operacao, Long projetoId, Map<Long, Tarefa> tarefas,
+                                              Map<String, Integer> refs, List<OperacaoTarefaRequest> operacoes) {
+        Long projetoPredecessora;
+        if (temTexto(operacao.getPredecessoraRef())) {
+            Integer indice = refs.get(operacao.getPredecessoraRef());
+            if (indice == null)
+                return "predecessora '" + operacao.getPredecessoraRef() + "' não encontrada nas operações anteriores";
+            projetoPredecessora = operacoes.get(indice).getProjetoId();
+        } else if (operacao.getTarefaPredecessoraId() != null) {
+            Tarefa predecessora = tarefas.get(operacao.getTarefaPredecessoraId());
+            if (predecessora == null)
+                return "Tarefa predecessora não encontrada";
+            projetoPredecessora = predecessora.getProjeto().getId();
+        } else {
+            return null;
+        }
+        return projetoPredecessora.equals(projetoId) ? null : "A tarefa predecessora deve pertencer ao mesmo projeto";
+    }
+
+    /**
+     * Aplica o lote sobre as dependências atuais dos projetos envolvidos (uma consulta) e
+     * verifica se sobra tarefa apontando para excluída ou algum ciclo de dependências.
+     * Tarefas novas entram com chaves negativas provisórias.
+     */
+    private void validarDependencias(List<OperacaoTarefaRequest> operacoes, Map<Long, Tarefa> tarefas,
+                                     Map<String, Integer> refs, String[] erros) {
+        Set<Long> projetoIds = new HashSet<>();
+        for (OperacaoTarefaRequest operacao : operacoes) {
+            projetoIds.add(operacao.getTipo() == TipoOperacao.CRIAR
+                ? operacao.getProjetoId() : tarefas.get(operacao.getId()).getProjeto().getId());
+        }
+
+        Map<Long, Long> predecessoras = new HashMap<>();
+        for (DependenciaTarefaProjection linha : tarefaRepository.findDependenciasByProjetoIdIn(projetoIds)) {
+            predecessoras.put(linha.getId(), linha.getPredecessoraId());
+        }
+
+        Map<Long, Integer> excluidas = new HashMap<>();
+        Map<Long, Integer> alteradas = new HashMap<>();
+        for (int i = 0; i < operacoes.size(); i++) {
+            OperacaoTarefaRequest operacao = operacoes.get(i);
+            if (operacao.getTipo() == TipoOperacao.EXCLUIR) {
+                predecessoras.remove(operacao.getId());
+                excluidas.put(operacao.getId(), i);
+                continue;
+            }
+            Long chave = chave(operacao, i);
+            predecessoras.put(chave, chavePredecessora(operacao, refs));
+            alteradas.put(chave, i);
+        }
+
+        for (Long predecessora : predecessoras.values()) {
+            Integer indice = predecessora != null ? excluidas.get(predecessora) : null;
+            if (indice != null)
+                erros[indice] = "Não é possível excluir uma tarefa que é predecessora de outra";
+        }
+        if (!semErros(erros))
+            return;
+
+        long[] ids = predecessoras.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        long[] anteriores = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            Long predecessora = predecessoras.get(ids[i]);
+            anteriores[i] = predecessora != null ? predecessora : 0;
+        }
+        GrafoDependencias grafo = new GrafoDependencias(ids, anteriores, new int[ids.length], new int[ids.length]);
+        for (long id : grafo.tarefasEmCiclo()) {
+            Integer indice = alteradas.get(id);
+            if (indice != null && predecessoras.get(id) != null)
+                erros[indice] = "A tarefa predecessora criaria um ciclo de dependências";
+        }
+    }
+
+    private Tarefa[] gravar(List<OperacaoTarefaRequest> operacoes, Long usuarioId, Map<Long, Tarefa> tarefas,
+                            Map<Long, Projeto> projetos, Map<String, Integer> refs) {
+        Tarefa[] gravadas = new Tarefa[operacoes.size()];
+        List<Tarefa> excluidas = new ArrayList<>();
+
+        for (int i = 0; i < operacoes.size(); i++) {
+            OperacaoTarefaRequest operacao = operacoes.get(i);
+            if (operacao.getTipo() == TipoOperacao.EXCLUIR) {
+                excluidas.add(tarefas.get(operacao.getId()));
+                continue;
+            }
+
+            Tarefa tarefa;
+            StatusTarefa statusAnterior = null;
+            LocalDate dataFimAnterior = null;
+            if (operacao.getTipo() == TipoOperacao.CRIAR) {
+                tarefa = new Tarefa();
+                tarefa.setProjeto(projetos.get(operacao.getProjetoId()));
+                tarefa.setStatus(operacao.getStatus() != null ? operacao.getStatus() : StatusTarefa.NAO_CONCLUIDA);
+            } else {
+                tarefa = tarefas.get(operacao.getId());
+                statusAnterior = tarefa.getStatus();
+                dataFimAnterior = tarefa.getDataFim();
+                if (operacao.getStatus() != null)
+                    tarefa.setStatus(operacao.getStatus());
+            }
+            tarefa.setDescricao(operacao.getDescricao());
+            tarefa.setDataInicio(operacao.getDataInicio());
+            tarefa.setDataFim(operacao.getDataFim());
+            tarefa.setTarefaPredecessora(temTexto(operacao.getPredecessoraRef())
+                ? gravadas[refs.get(operacao.getPredecessoraRef())]
+                : tarefas.get(operacao.getTarefaPredecessoraId()));
+
+            // Com ID por sequência o ID já é conhecido aqui; o INSERT vai no batch do flush
+            if (operacao.getTipo() == TipoOperacao.CRIAR)
+                entityManager.persist(tarefa);
+            gravadas[i] = tarefa;
+            publicar(operacao.getTipo() == TipoOperacao.CRIAR ? TipoAlteracao.CRIADO : TipoAlteracao.ATUALIZADO,
+                tarefa, usuarioId, statusAnterior, dataFimAnterior);
+        }
+
+        // Sucessoras antes das predecessoras: os DELETEs saem na ordem das chamadas
+        Set<Long> idsExcluidos = excluidas.stream().map(Tarefa::getId).collect(Collectors.toSet());
+        excluidas.sort(Comparator.comparingInt((Tarefa tarefa) -> profundidade(tarefa, idsExcluidos)).reversed());
+        for (Tarefa tarefa : excluidas) {
+            entityManager.remove(tarefa);
+            publicar(TipoAlteracao.EXCLUIDO, tarefa, usuarioId, tarefa.getStatus(), tarefa.getDataFim());
+        }
+
+        entityManager.flush();
+        return gravadas;
+    }
+
+    /**
+     * Quantas predecessoras da tarefa também estão sendo excluídas
+     */
+    private static int profundidade(Tarefa tarefa, Set<Long> excluidas) {
+        int profundidade = 0;
+        Tarefa atual = tarefa.getTarefaPredecessora();
+        while (atual != null && excluidas.contains(atual.getId()) && profundidade < excluidas.size()) {
+            profundidade++;
+            atual = atual.getTarefaPredecessora();
+        }
+        return profundidade;
+    }
+
+    private List<ResultadoOperacaoResponse> resultados(List<OperacaoTarefaRequest> operacoes, String[] erros,
+                                                       Tarefa[] gravadas) {
+        List<ResultadoOperacaoResponse> resultados = new ArrayList<>(operacoes.size());
+        for (int i = 0; i < operacoes.size(); i++) {
+            OperacaoTarefaRequest operacao = operacoes.get(i);
+            if (operacao == null) {
+                resultados.add(new ResultadoOperacaoResponse(i, null, null, null, erros[i], null));
+                continue;
+            }
+            Tarefa tarefa = gravadas[i];
+            resultados.add(new ResultadoOperacaoResponse(i, operacao.getTipo(),
+                tarefa != null ? tarefa.getId() : operacao.getId(), operacao.getRef(), erros[i],
+                tarefa != null ? tarefaService.toResponse(tarefa) : null));
+        }
+        return resultados;
+    }
+
+    private void publicar(TipoAlteracao tipo, Tarefa tarefa, Long usuarioId,
+                          StatusTarefa statusAnterior, LocalDate dataFimAnterior) {
+        eventPublisher.publishEvent(TarefaAlteradaEvent.de(tipo, usuarioId, tarefa, statusAnterior, dataFimAnterior));
+    }
+
+    private static Long chave(OperacaoTarefaRequest operacao, int indice) {
+        return operacao.getTipo() == TipoOperacao.CRIAR ? -(indice + 1L) : operacao.getId();
+    }
+
+    private static Long chavePredecessora(OperacaoTarefaRequest operacao, Map<String, Integer> refs) {
+        if (temTexto(operacao.getPredecessoraRef()))
+            return -(refs.get(operacao.getPredecessoraRef()) + 1L);
+        return operacao.getTarefaPredecessoraId();
+    }
+
+    private static boolean semErros(String[] erros) {
+        for (String erro : erros) {
+            if (erro != null)
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean temTexto(String valor) {
+        return valor != null && !valor.isBlank();
+    }
+}
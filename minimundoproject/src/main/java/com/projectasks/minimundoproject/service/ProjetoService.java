@@ -1,20 +1,33 @@
 package com.projectasks.minimundoproject.service;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.projectasks.minimundoproject.dto.request.ProjetoRequest;
+import com.projectasks.minimundoproject.dto.response.PageResponse;
 import com.projectasks.minimundoproject.dto.response.ProjetoResponse;
+import com.projectasks.minimundoproject.event.ProjetoAlteradoEvent;
+import com.projectasks.minimundoproject.event.TipoAlteracao;
 import com.projectasks.minimundoproject.exception.BusinessException;
 import com.projectasks.minimundoproject.exception.ResourceNotFoundException;
 import com.projectasks.minimundoproject.model.Projeto;
 import com.projectasks.minimundoproject.model.Projeto.StatusProjeto;
+import com.projectasks.minimundoproject.model.Tarefa.StatusTarefa;
 import com.projectasks.minimundoproject.model.Usuario;
 import com.projectasks.minimundoproject.repository.ProjetoRepository;
+import com.projectasks.minimundoproject.repository.TarefaRepository;
 import com.projectasks.minimundoproject.repository.UsuarioRepository;
+import com.projectasks.minimundoproject.repository.projection.ContagemTarefasProjection;
+import com.projectasks.minimundoproject.util.CursorUtil;
+import com.projectasks.minimundoproject.util.IndiceTexto.Relevancia;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,6 +39,10 @@ public class ProjetoService {
 
     private final ProjetoRepository projetoRepository;
     private final UsuarioRepository usuarioRepository;
+    private final TarefaRepository tarefaRepository;
+    private final IndiceBuscaService indiceBuscaService;
+    private final AutorizacaoService autorizacaoService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Cria um novo projeto
@@ -54,8 +71,9 @@ public class ProjetoService {
 
         projeto = projetoRepository.save(projeto);
 
+        publicar(TipoAlteracao.CRIADO, projeto, usuarioId);
         log.info("Projeto criado com sucesso: ID {}", projeto.getId());
-        return toResponse(projeto);
+        return toResponse(projeto, Collections.emptyMap());
     }
 
     /**
@@ -68,18 +86,67 @@ public class ProjetoService {
         List<Projeto> projetos;
 
         if (nome != null && !nome.isBlank()) {
-            projetos = projetoRepository.findByUsuarioIdAndNomeContaining(usuarioId, nome);
+            projetos = buscarPorNome(usuarioId, nome);
         } else if (status != null) {
             projetos = projetoRepository.findByUsuarioIdAndStatus(usuarioId, status);
         } else {
             projetos = projetoRepository.findByUsuarioId(usuarioId);
         }
 
+        // Uma única consulta agregada para todos os projetos do usuário
+        Map<Long, ContagemTarefasProjection> contagens = indexar(
+            tarefaRepository.contarPorProjetoDoUsuario(usuarioId, StatusTarefa.CONCLUIDA));
+
         return projetos.stream()
-            .map(this::toResponse)
+            .map(projeto -> toResponse(projeto, contagens))
             .collect(Collectors.toList());
     }
 
+    /**
+     * Lista projetos do usuário com filtros, paginados por cursor
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<ProjetoResponse> findAllPaginado(Long usuarioId, StatusProjeto status, String nome,
+                                                         String cursor, Integer tamanho) {
+        int tamanhoPagina = CursorUtil.normalizarTamanho(tamanho);
+
+        if (nome != null && !nome.isBlank() && indiceBuscaService.isPronto()) {
+            log.info("Buscando projetos do usuário ID {} por nome", usuarioId);
+            // Ordem de relevância do índice, com o cursor na relevância do último item
+            Map<Long, Relevancia> relevancias = CursorUtil.recortar(
+                    indiceBuscaService.buscarProjetosPorRelevancia(usuarioId, nome), cursor, tamanhoPagina).stream()
+                .collect(Collectors.toMap(Relevancia::id, Function.identity(), (a, b) -> a, LinkedHashMap::new));
+            List<Long> ids = List.copyOf(relevancias.keySet());
+            List<Projeto> projetos = ids.isEmpty() ? List.of()
+                : CursorUtil.ordenarConforme(projetoRepository.findByIdIn(ids), ids, Projeto::getId);
+            Map<Long, ContagemTarefasProjection> contagens = contarTarefas(
+                projetos.stream().map(Projeto::getId).collect(Collectors.toList()));
+            return CursorUtil.toPageRelevancia(projetos, tamanhoPagina, relevancias, Projeto::getId,
+                projeto -> toResponse(projeto, contagens));
+        }
+
+        Long aposId = CursorUtil.decode(cursor);
+        log.info("Listando projetos do usuário ID {} após ID {}", usuarioId, aposId);
+
+        List<Projeto> projetos;
+
+        if (nome != null && !nome.isBlank()) {
+            projetos = projetoRepository.findByUsuarioIdAndNomeContainingAfter(
+                usuarioId, nome, aposId, CursorUtil.limiteConsulta(tamanhoPagina));
+        } else if (status != null) {
+            projetos = projetoRepository.findByUsuarioIdAndStatusAndIdGreaterThanOrderByIdAsc(
+                usuarioId, status, aposId, CursorUtil.limiteConsulta(tamanhoPagina));
+        } else {
+            projetos = projetoRepository.findByUsuarioIdAndIdGreaterThanOrderByIdAsc(
+                usuarioId, aposId, CursorUtil.limiteConsulta(tamanhoPagina));
+        }
+
+        Map<Long, ContagemTarefasProjection> contagens = contarTarefas(
+            projetos.stream().map(Projeto::getId).collect(Collectors.toList()));
+
+        return CursorUtil.toPage(projetos, tamanhoPagina, Projeto::getId, projeto -> toResponse(projeto, contagens));
+    }
+
     /**
      * Busca projeto por ID
      */
@@ -88,14 +155,11 @@ public class ProjetoService {
         if (id == null)
             throw new IllegalArgumentException("IDs do usuário não podem ser nulos");
         log.info("Buscando projeto ID {}", id);
+        autorizacaoService.verificarProjeto(id, usuarioId, "Você não tem permissão para acessar este projeto");
         Projeto projeto = projetoRepository.findById(id)
-			.orElseThrow(() -> new ResourceNotFoundException("Projeto não encontrado"));
-
-        if (!projeto.getUsuario().getId().equals(usuarioId)) {
-            throw new BusinessException("Você não tem permissão para acessar este projeto");
-        }
+            .orElseThrow(() -> new ResourceNotFoundException("Projeto não encontrado"));
 
-        return toResponse(projeto);
+        return toResponse(projeto, contarTarefas(List.of(projeto.getId())));
     }
 
     /**
@@ -106,13 +170,10 @@ public class ProjetoService {
         if (id == null)
             throw new IllegalArgumentException("IDs do usuário não podem ser nulos");
         log.info("Atualizando projeto ID {}", id);
+        autorizacaoService.verificarProjeto(id, usuarioId, "Você não tem permissão para atualizar este projeto");
         Projeto projeto = projetoRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Projeto não encontrado"));
 
-        if (!projeto.getUsuario().getId().equals(usuarioId)) {
-            throw new BusinessException("Você não tem permissão para atualizar este projeto");
-        }
-
         // Regra: nome único
         if (!projeto.getNome().equals(request.getNome())
             && projetoRepository.existsByNomeAndUsuarioId(request.getNome(), usuarioId)) {
@@ -129,8 +190,9 @@ public class ProjetoService {
 
         projeto = projetoRepository.save(projeto);
 
+        publicar(TipoAlteracao.ATUALIZADO, projeto, usuarioId);
         log.info("Projeto atualizado com sucesso: ID {}", projeto.getId());
-        return toResponse(projeto);
+        return toResponse(projeto, contarTarefas(List.of(projeto.getId())));
     }
 
     /**
@@ -141,31 +203,64 @@ public class ProjetoService {
         if (id == null)
             throw new IllegalArgumentException("IDs do usuário não podem ser nulos");
         log.info("Excluindo projeto ID {}", id);
+        autorizacaoService.verificarProjeto(id, usuarioId, "Você não tem permissão para excluir este projeto");
         Projeto projeto = projetoRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Projeto não encontrado"));
 
-        if (!projeto.getUsuario().getId().equals(usuarioId)) {
-            throw new BusinessException("Você não tem permissão para excluir este projeto");
-        }
-
         if (!projeto.getTarefas().isEmpty()) {
             throw new BusinessException("Não é possível excluir um projeto com tarefas associadas");
         }
 
         projetoRepository.delete(projeto);
+        publicar(TipoAlteracao.EXCLUIDO, projeto, usuarioId);
         log.info("Projeto excluído com sucesso: ID {}", id);
     }
 
     /**
-     * Mapper Projeto → ProjetoResponse
+     * Busca por nome no índice em memória (ordenado por relevância);
+     * usa a consulta no banco enquanto o índice não estiver pronto
+     */
+    private List<Projeto> buscarPorNome(Long usuarioId, String nome) {
+        if (!indiceBuscaService.isPronto())
+            return projetoRepository.findByUsuarioIdAndNomeContaining(usuarioId, nome);
+
+        List<Long> ids = indiceBuscaService.buscarProjetos(usuarioId, nome);
+        if (ids.isEmpty())
+            return List.of();
+        return CursorUtil.ordenarConforme(projetoRepository.findByIdIn(ids), ids, Projeto::getId);
+    }
+
+    private void publicar(TipoAlteracao tipo, Projeto projeto, Long usuarioId) {
+        eventPublisher.publishEvent(new ProjetoAlteradoEvent(tipo, usuarioId, projeto.getId(), projeto.getNome()));
+    }
+
+    /**
+     * Totais de tarefas dos projetos informados, indexados pelo ID do projeto
+     */
+    private Map<Long, ContagemTarefasProjection> contarTarefas(List<Long> projetoIds) {
+        if (projetoIds.isEmpty())
+            return Collections.emptyMap();
+        return indexar(tarefaRepository.contarPorProjetos(projetoIds, StatusTarefa.CONCLUIDA));
+    }
+
+    private Map<Long, ContagemTarefasProjection> indexar(List<ContagemTarefasProjection> contagens) {
+        return contagens.stream()
+            .collect(Collectors.toMap(ContagemTarefasProjection::getProjetoId, Function.identity()));
+    }
+
+    /**
+     * Mapper Projeto → ProjetoResponse (visível no pacote para os benchmarks)
      */
-    private ProjetoResponse toResponse(Projeto projeto) {
+    ProjetoResponse toResponse(Projeto projeto, Map<Long, ContagemTarefasProjection> contagens) {
+        ContagemTarefasProjection contagem = contagens.get(projeto.getId());
         ProjetoResponse response = new ProjetoResponse();
         response.setId(projeto.getId());
         response.setNome(projeto.getNome());
         response.setDescricao(projeto.getDescricao());
         response.setStatus(projeto.getStatus());
         response.setOrcamentoDisponivel(projeto.getOrcamentoDisponivel());
+        response.setTotalTarefas(contagem != null ? contagem.getTotalTarefas().intValue() : 0);
+        response.setTarefasConcluidas(contagem != null ? contagem.getTarefasConcluidas().intValue() : 0);
         response.setCreatedAt(projeto.getCreatedAt());
         response.setUpdatedAt(projeto.getUpdatedAt());
         return response;
@@ -0,0 +1,134 @@
+package com.projectasks.minimundoproject.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.projectasks.minimundoproject.exception.ServicoSobrecarregadoException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hash e verificação de senhas (bcrypt) em um executor dedicado, dimensionado pelos núcleos.
+ * A thread da requisição só espera o resultado: uma rajada de logins ocupa no máximo as
+ * threads do executor e a fila limitada; excedentes são recusados na hora (429) e esperas
+ * acima do limite viram 503, sem prender as threads que atendem o restante da API.
+ */
+@Service
+@Slf4j
+public class SenhaService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+    private final long esperaMaximaMs;
+
+    public SenhaService(PasswordEncoder passwordEncoder,
+                        MeterRegistry meterRegistry,
+                        @Value("${senha.executor.threads:0}") int threads,
+                        @Value("${senha.executor.fila:64}") int fila,
+                        @Value("${senha.executor.espera-maxima-ms:3000}") long esperaMaximaMs) {
+        this.passwordEncoder = passwordEncoder;
+        this.meterRegistry = meterRegistry;
+        this.esperaMaximaMs = esperaMaximaMs;
+
+        int tamanho = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.pool = new ThreadPoolExecutor(tamanho, tamanho, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(fila), new CustomizableThreadFactory("bcrypt-"),
+            new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "bcrypt");
+        log.info("Executor de senhas: {} threads, fila de {}", tamanho, fila);
+    }
+
+    public String codificar(String senha) {
+        return executar("codificar", () -> passwordEncoder.encode(senha));
+    }
+
+    public boolean confere(String senha, String hash) {
+        return executar("conferir", () -> passwordEncoder.matches(senha, hash));
+    }
+
+    /**
+     * O hash foi gerado com custo diferente do configurado
+     */
+    public boolean precisaRecodificar(String hash) {
+        return passwordEncoder.upgradeEncoding(hash);
+    }
+
+    /**
+     * Recodifica a senha com o custo atual em segundo plano, sem atrasar o login.
+     * Com o executor cheio a recodificação é adiada para um próximo login.
+     */
+    public void recodificarDepois(String senha, Consumer<String> gravar) {
+        try {
+            executor.execute(() -> gravar.accept(passwordEncoder.encode(senha)));
+        } catch (RejectedExecutionException e) {
+            log.debug("Recodificação de senha adiada: executor cheio");
+        }
+    }
+
+    private <T> T executar(String operacao, Callable<T> tarefa) {
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(() -> {
+                Timer.Sample amostra = Timer.start(meterRegistry);
+                try {
+                    return tarefa.call();
+                } finally {
+                    amostra.stop(Timer.builder("auth.bcrypt")
+                        .description("Tempo de hash/verificação de senha no executor")
+                        .tag("operacao", operacao)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(meterRegistry));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Executor de senhas cheio: requisição recusada ({})", operacao);
+            throw new ServicoSobrecarregadoException(HttpStatus.TOO_MANY_REQUESTS,
+                "Muitas tentativas de autenticação simultâneas. Tente novamente em instantes", 1);
+        }
+
+        try {
+            return futuro.get(esperaMaximaMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            throw indisponivel();
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw indisponivel();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime)
+                throw runtime;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static ServicoSobrecarregadoException indisponivel() {
+        return new ServicoSobrecarregadoException(HttpStatus.SERVICE_UNAVAILABLE,
+            "Serviço de autenticação sobrecarregado. Tente novamente em instantes", 2);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        pool.shutdown();
+    }
+}
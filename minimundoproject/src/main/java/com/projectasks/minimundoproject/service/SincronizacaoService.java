@@ -0,0 +1,348 @@
+package com.projectasks.minimundoproject.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.projectasks.minimundoproject.dto.response.ExclusaoResponse;
+import com.projectasks.minimundoproject.dto.response.SyncResponse;
+import com.projectasks.minimundoproject.event.ProjetoAlteradoEvent;
+import com.projectasks.minimundoproject.event.TarefaAlteradaEvent;
+import com.projectasks.minimundoproject.event.TipoAlteracao;
+import com.projectasks.minimundoproject.exception.BusinessException;
+import com.projectasks.minimundoproject.model.Exclusao;
+import com.projectasks.minimundoproject.model.Exclusao.TipoEntidade;
+import com.projectasks.minimundoproject.model.Projeto;
+import com.projectasks.minimundoproject.model.Tarefa;
+import com.projectasks.minimundoproject.model.Tarefa.StatusTarefa;
+import com.projectasks.minimundoproject.repository.ExclusaoRepository;
+import com.projectasks.minimundoproject.repository.ProjetoRepository;
+import com.projectasks.minimundoproject.repository.TarefaRepository;
+import com.projectasks.minimundoproject.repository.projection.ContagemTarefasProjection;
+import com.projectasks.minimundoproject.shard.Shards;
+import com.projectasks.minimundoproject.util.CursorUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sincronização incremental (delta) de projetos e tarefas.
+ *
+ * Criações e atualizações saem das consultas por updated_at (indexado); exclusões saem do
+ * registro de exclusões gravado na mesma transação do delete. O updated_at das linhas
+ * alteradas e o instante das exclusões são gravados imediatamente antes do commit, por mais
+ * longa que seja a transação (importações, lotes, espera por lock); assim o token, um
+ * instante sync.atraso-ms anterior ao da consulta, só precisa cobrir a duração do commit.
+ * O cliente pode receber de novo um registro já sincronizado e deve aplicar como upsert.
+ * As páginas seguem keyset sobre (updated_at, id) em cada tipo de registro, então o custo de
+ * cada uma acompanha o tamanho da página e não o do delta.
+ */
+@Service
+@Slf4j
+public class SincronizacaoService {
+
+    private static final String PREFIXO_TOKEN = "t:";
+    private static final LocalDateTime INICIO = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final int IDS_POR_UPDATE = 1000;
+
+    private final ProjetoRepository projetoRepository;
+    private final TarefaRepository tarefaRepository;
+    private final ExclusaoRepository exclusaoRepository;
+    private final ProjetoService projetoService;
+    private final TarefaService tarefaService;
+    private final Shards shards;
+    private final long atrasoMs;
+    private final int retencaoDias;
+    private final int tamanhoPagina;
+
+    // Chave dos ids alterados da transação em TransactionSynchronizationManager
+    private final Object chaveAlterados = new Object();
+
+    public SincronizacaoService(ProjetoRepository projetoRepository,
+                                TarefaRepository tarefaRepository,
+                                ExclusaoRepository exclusaoRepository,
+                                ProjetoService projetoService,
+                                TarefaService tarefaService,
+                                Shards shards,
+                                @Value("${sync.atraso-ms:5000}") long atrasoMs,
+                                @Value("${sync.retencao-dias:30}") int retencaoDias,
+                                @Value("${sync.tamanho-pagina:500}") int tamanhoPagina) {
+        this.projetoRepository = projetoRepository;
+        this.tarefaRepository = tarefaRepository;
+        this.exclusaoRepository = exclusaoRepository;
+        this.projetoService = projetoService;
+        this.tarefaService = tarefaService;
+        this.shards = shards;
+        this.atrasoMs = atrasoMs;
+        this.retencaoDias = retencaoDias;
+        this.tamanhoPagina = tamanhoPagina;
+    }
+
+    /**
+     * Alterações do usuário desde o token, em páginas de até sync.tamanho-pagina registros;
+     * sem token devolve tudo (carga inicial). Enquanto proximoCursor vier preenchido o cliente
+     * pede a página seguinte com ele; a última página traz o proximoToken.
+     * Não é somente leitura de propósito: roda no primário, pois uma réplica atrasada além
+     * de sync.atraso-ms faria o token pular alterações
+     */
+    @Transactional
+    public SyncResponse sincronizar(String since, String cursor, Long usuarioId) {
+        Pagina pagina = new Pagina(cursor == null || cursor.isBlank() ? iniciar(since) : Continuacao.decodificar(cursor),
+            tamanhoPagina);
+
+        List<Projeto> projetos = ler(pagina, Fase.PROJETOS, Projeto::getUpdatedAt, Projeto::getId,
+            (c, limite) -> projetoRepository.findAlteradosApos(usuarioId, c.aposEm(), c.aposId(), limite));
+        List<Tarefa> tarefas = ler(pagina, Fase.TAREFAS, Tarefa::getUpdatedAt, Tarefa::getId,
+            (c, limite) -> tarefaRepository.findAlteradasApos(usuarioId, c.aposEm(), c.aposId(), limite));
+        // Na carga inicial não há exclusões a aplicar (a fase é pulada)
+        List<Exclusao> exclusoes = ler(pagina, Fase.EXCLUSOES, Exclusao::getExcluidoEm, Exclusao::getId,
+            (c, limite) -> exclusaoRepository.findApos(usuarioId, c.aposEm(), c.aposId(), limite));
+        Map<Long, ContagemTarefasProjection> contagens = contarTarefas(projetos);
+
+        Continuacao seguinte = pagina.continuacao;
+        boolean ultima = seguinte.fase() == Fase.FIM;
+        log.debug("Sincronização do usuário {} desde {}: {} projetos, {} tarefas, {} exclusões{}", usuarioId,
+            seguinte.desde(), projetos.size(), tarefas.size(), exclusoes.size(), ultima ? "" : " (continua)");
+        return new SyncResponse(
+            projetos.stream().map(p -> projetoService.toResponse(p, contagens)).collect(Collectors.toList()),
+            tarefas.stream().map(tarefaService::toResponse).collect(Collectors.toList()),
+            exclusoes.stream()
+                .map(e -> new ExclusaoResponse(e.getTipo(), e.getEntidadeId(), e.getProjetoId(), e.getExcluidoEm()))
+                .collect(Collectors.toList()),
+            ultima ? codificar(seguinte.corte()) : null,
+            ultima ? null : seguinte.codificar());
+    }
+
+    /**
+     * Primeira página: fixa o corte que vira o proximoToken ao fim das páginas. Alterações
+     * feitas enquanto o cliente pagina ficam depois do corte e voltam na próxima sincronização
+     */
+    private Continuacao iniciar(String since) {
+        LocalDateTime corte = LocalDateTime.now().minusNanos(atrasoMs * 1_000_000);
+        boolean completa = since == null || since.isBlank();
+        LocalDateTime desde = completa ? INICIO : decodificar(since);
+
+        if (!completa && desde.isBefore(LocalDateTime.now().minusDays(retencaoDias)))
+            throw new BusinessException("Token de sincronização expirado. Faça uma sincronização completa");
+        return Continuacao.inicio(Fase.PROJETOS, desde, corte);
+    }
+
+    /**
+     * Lê a fase atual até o espaço restante da página (um registro a mais para saber se ela
+     * continua) e avança a continuação para depois do último lido ou para a fase seguinte
+     */
+    private static <E> List<E> ler(Pagina pagina, Fase fase, Function<E, LocalDateTime> instante, Function<E, Long> id,
+                                   BiFunction<Continuacao, Limit, List<E>> consulta) {
+        if (pagina.continuacao.fase() != fase || pagina.restante == 0)
+            return List.of();
+
+        List<E> linhas = consulta.apply(pagina.continuacao, CursorUtil.limiteConsulta(pagina.restante));
+        if (linhas.size() > pagina.restante) {
+            linhas = linhas.subList(0, pagina.restante);
+            E ultimo = linhas.get(linhas.size() - 1);
+            pagina.continuacao = pagina.continuacao.apos(instante.apply(ultimo), id.apply(ultimo));
+            pagina.restante = 0;
+        } else {
+            pagina.restante -= linhas.size();
+            pagina.continuacao = pagina.continuacao.proximaFase();
+        }
+        return linhas;
+    }
+
+    /**
+     * Guarda os ids criados ou atualizados na transação, para regravar updated_at no commit
+     */
+    @EventListener
+    public void onAlteracao(ProjetoAlteradoEvent event) {
+        if (event.getTipo() != TipoAlteracao.EXCLUIDO && TransactionSynchronizationManager.isSynchronizationActive())
+            alterados().projetos.add(event.getProjetoId());
+    }
+
+    @EventListener
+    public void onAlteracao(TarefaAlteradaEvent event) {
+        if (event.getTipo() != TipoAlteracao.EXCLUIDO && TransactionSynchronizationManager.isSynchronizationActive())
+            alterados().tarefas.add(event.getTarefaId());
+    }
+
+    /**
+     * Grava a exclusão antes do commit, na mesma transação do delete
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onProjetoAlterado(ProjetoAlteradoEvent event) {
+        if (event.getTipo() == TipoAlteracao.EXCLUIDO)
+            registrar(event.getUsuarioId(), TipoEntidade.PROJETO, event.getProjetoId(), event.getProjetoId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTarefaAlterada(TarefaAlteradaEvent event) {
+        if (event.getTipo() == TipoAlteracao.EXCLUIDO)
+            registrar(event.getUsuarioId(), TipoEntidade.TAREFA, event.getTarefaId(), event.getProjetoId());
+    }
+
+    /**
+     * Remove exclusões fora da retenção; tokens mais antigos exigem sincronização completa
+     */
+    @Scheduled(cron = "${sync.limpeza-cron:0 0 3 * * *}")
+    public void expurgar() {
+        LocalDateTime limite = LocalDateTime.now().minusDays(retencaoDias);
+        AtomicInteger removidas = new AtomicInteger();
+        shards.paraCada(() -> removidas.addAndGet(exclusaoRepository.excluirAnterioresA(limite)));
+        if (removidas.get() > 0)
+            log.info("Registros de exclusão expurgados: {}", removidas.get());
+    }
+
+    private Alterados alterados() {
+        Alterados alterados = (Alterados) TransactionSynchronizationManager.getResource(chaveAlterados);
+        if (alterados != null)
+            return alterados;
+
+        Alterados novos = new Alterados();
+        TransactionSynchronizationManager.bindResource(chaveAlterados, novos);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // Mesmo instante para toda a transação, em blocos de IDS_POR_UPDATE ids
+                LocalDateTime agora = LocalDateTime.now();
+                for (List<Long> ids : blocos(novos.projetos))
+                    projetoRepository.marcarAlterados(ids, agora);
+                for (List<Long> ids : blocos(novos.tarefas))
+                    tarefaRepository.marcarAlteradas(ids, agora);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(chaveAlterados);
+            }
+        });
+        return novos;
+    }
+
+    private static List<List<Long>> blocos(Set<Long> ids) {
+        List<Long> lista = new ArrayList<>(ids);
+        List<List<Long>> blocos = new ArrayList<>();
+        for (int i = 0; i < lista.size(); i += IDS_POR_UPDATE)
+            blocos.add(lista.subList(i, Math.min(i + IDS_POR_UPDATE, lista.size())));
+        return blocos;
+    }
+
+    private static final class Alterados {
+        private final Set<Long> projetos = new LinkedHashSet<>();
+        private final Set<Long> tarefas = new LinkedHashSet<>();
+    }
+
+    private void registrar(Long usuarioId, TipoEntidade tipo, Long entidadeId, Long projetoId) {
+        exclusaoRepository.save(new Exclusao(null, usuarioId, tipo, entidadeId, projetoId, LocalDateTime.now()));
+    }
+
+    private Map<Long, ContagemTarefasProjection> contarTarefas(List<Projeto> projetos) {
+        if (projetos.isEmpty())
+            return Collections.emptyMap();
+        List<Long> ids = projetos.stream().map(Projeto::getId).collect(Collectors.toList());
+        return tarefaRepository.contarPorProjetos(ids, StatusTarefa.CONCLUIDA).stream()
+            .collect(Collectors.toMap(ContagemTarefasProjection::getProjetoId, Function.identity()));
+    }
+
+    private enum Fase {
+        PROJETOS, TAREFAS, EXCLUSOES, FIM
+    }
+
+    private static final class Pagina {
+        private Continuacao continuacao;
+        private int restante;
+
+        private Pagina(Continuacao continuacao, int restante) {
+            this.continuacao = continuacao;
+            this.restante = restante;
+        }
+    }
+
+    /**
+     * Posição numa sincronização paginada: fase, último (instante, id) entregue nela, o desde
+     * pedido e o corte fixado na primeira página. Opaca para o cliente (Base64)
+     */
+    private record Continuacao(Fase fase, LocalDateTime aposEm, Long aposId, LocalDateTime desde, LocalDateTime corte) {
+
+        private static final String PREFIXO = "c:";
+
+        // (desde, MAX) equivale a "depois de desde" no keyset (instante, id)
+        static Continuacao inicio(Fase fase, LocalDateTime desde, LocalDateTime corte) {
+            return new Continuacao(fase, desde, Long.MAX_VALUE, desde, corte);
+        }
+
+        Continuacao apos(LocalDateTime instante, Long id) {
+            return new Continuacao(fase, instante, id, desde, corte);
+        }
+
+        Continuacao proximaFase() {
+            Fase proxima = Fase.values()[fase.ordinal() + 1];
+            if (proxima == Fase.EXCLUSOES && INICIO.equals(desde))
+                proxima = Fase.FIM;
+            return inicio(proxima, desde, corte);
+        }
+
+        String codificar() {
+            String valor = PREFIXO + String.join("|", fase.name(), aposEm.toString(), aposId.toString(),
+                desde.toString(), corte.toString());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Continuacao decodificar(String cursor) {
+            try {
+                String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                if (!valor.startsWith(PREFIXO))
+                    throw new IllegalArgumentException();
+                String[] partes = valor.substring(PREFIXO.length()).split("\\|");
+                if (partes.length != 5)
+                    throw new IllegalArgumentException();
+                Continuacao continuacao = new Continuacao(Fase.valueOf(partes[0]), LocalDateTime.parse(partes[1]),
+                    Long.parseLong(partes[2]), LocalDateTime.parse(partes[3]), LocalDateTime.parse(partes[4]));
+                if (continuacao.fase() == Fase.FIM)
+                    throw new IllegalArgumentException();
+                return continuacao;
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new BusinessException("Cursor de sincronização inválido");
+            }
+        }
+    }
+
+    private static String codificar(LocalDateTime instante) {
+        long epochMilli = instante.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((PREFIXO_TOKEN + epochMilli).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static LocalDateTime decodificar(String token) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!valor.startsWith(PREFIXO_TOKEN))
+                throw new IllegalArgumentException();
+            long epochMilli = Long.parseLong(valor.substring(PREFIXO_TOKEN.length()));
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneId.systemDefault());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Token de sincronização inválido");
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.projectasks.minimundoproject.service;
 
 import com.projectasks.minimundoproject.dto.request.TarefaRequest;
+import com.projectasks.minimundoproject.dto.response.PageResponse;
 import com.projectasks.minimundoproject.dto.response.TarefaResponse;
+import com.projectasks.minimundoproject.event.TarefaAlteradaEvent;
+import com.projectasks.minimundoproject.event.TipoAlteracao;
 import com.projectasks.minimundoproject.exception.BusinessException;
 import com.projectasks.minimundoproject.exception.ResourceNotFoundException;
 import com.projectasks.minimundoproject.model.Projeto;
@@ -9,11 +12,19 @@ import com.projectasks.minimundoproject.model.Tarefa;
 import com.projectasks.minimundoproject.model.Tarefa.StatusTarefa;
 import com.projectasks.minimundoproject.repository.ProjetoRepository;
 import com.projectasks.minimundoproject.repository.TarefaRepository;
+import com.projectasks.minimundoproject.util.CursorUtil;
+import com.projectasks.minimundoproject.util.IndiceTexto.Relevancia;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,6 +34,10 @@ public class TarefaService {
     
     private final TarefaRepository tarefaRepository;
     private final ProjetoRepository projetoRepository;
+    private final IndiceBuscaService indiceBuscaService;
+    private final CronogramaService cronogramaService;
+    private final AutorizacaoService autorizacaoService;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Cria uma nova tarefa
@@ -30,12 +45,9 @@ public class TarefaService {
     @Transactional
     public TarefaResponse create(TarefaRequest request, Long usuarioId) {
         log.info("Criando nova tarefa para projeto ID: {}", request.getProjetoId());
-        Projeto projeto = projetoRepository.findById(request.getProjetoId())
-            .orElseThrow(() -> new ResourceNotFoundException("Projeto não encontrado"));
-        
-        if (!projeto.getUsuario().getId().equals(usuarioId)) {
-            throw new BusinessException("Você não tem permissão para criar tarefas neste projeto");
-        }
+        autorizacaoService.verificarProjeto(request.getProjetoId(), usuarioId,
+            "Você não tem permissão para criar tarefas neste projeto");
+        Projeto projeto = projetoRepository.getReferenceById(request.getProjetoId());
         
         // Valida datas
         if (request.getDataInicio() != null && request.getDataFim() != null) {
@@ -66,6 +78,7 @@ public class TarefaService {
         tarefa.setStatus(request.getStatus() != null ? request.getStatus() : StatusTarefa.NAO_CONCLUIDA);
         
         tarefa = tarefaRepository.save(tarefa);
+        publicar(TipoAlteracao.CRIADO, tarefa, usuarioId, null, null);
         log.info("Tarefa criada com sucesso: ID {}", tarefa.getId());
         
         return toResponse(tarefa);
@@ -80,17 +93,13 @@ public class TarefaService {
             throw new IllegalArgumentException("ID do projeto não podem ser nulos");
         log.info("Listando tarefas do projeto ID: {}", projetoId);
         // Valida se o projeto existe e pertence ao usuário
-        Projeto projeto = projetoRepository.findById(projetoId)
-            .orElseThrow(() -> new ResourceNotFoundException("Projeto não encontrado"));
-        
-        if (!projeto.getUsuario().getId().equals(usuarioId)) {
-            throw new BusinessException("Você não tem permissão para acessar as tarefas deste projeto");
-        }
+        autorizacaoService.verificarProjeto(projetoId, usuarioId,
+            "Você não tem permissão para acessar as tarefas deste projeto");
         
         List<Tarefa> tarefas;
         
         if (descricao != null && !descricao.isEmpty()) {
-            tarefas = tarefaRepository.findByProjetoIdAndDescricaoContaining(projetoId, descricao);
+            tarefas = buscarPorDescricao(usuarioId, projetoId, descricao);
         } else if (status != null) {
             tarefas = tarefaRepository.findByProjetoIdAndStatus(projetoId, status);
         } else {
@@ -102,6 +111,78 @@ public class TarefaService {
             .collect(Collectors.toList());
     }
     
+    /**
+     * Lista as tarefas de um projeto, paginadas por cursor
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<TarefaResponse> findByProjetoPaginado(Long projetoId, Long usuarioId, StatusTarefa status,
+                                                              String descricao, String cursor, Integer tamanho) {
+        if (projetoId == null)
+            throw new IllegalArgumentException("ID do projeto não podem ser nulos");
+        int tamanhoPagina = CursorUtil.normalizarTamanho(tamanho);
+        // Valida se o projeto existe e pertence ao usuário
+        autorizacaoService.verificarProjeto(projetoId, usuarioId,
+            "Você não tem permissão para acessar as tarefas deste projeto");
+        
+        if (descricao != null && !descricao.isEmpty() && indiceBuscaService.isPronto()) {
+            log.info("Buscando tarefas do projeto ID: {} por descrição", projetoId);
+            // Ordem de relevância do índice, com o cursor na relevância do último item
+            Map<Long, Relevancia> relevancias = CursorUtil.recortar(
+                    indiceBuscaService.buscarTarefasPorRelevancia(usuarioId, projetoId, descricao), cursor, tamanhoPagina)
+                .stream()
+                .collect(Collectors.toMap(Relevancia::id, Function.identity(), (a, b) -> a, LinkedHashMap::new));
+            List<Long> ids = List.copyOf(relevancias.keySet());
+            List<Tarefa> tarefas = ids.isEmpty() ? List.of()
+                : CursorUtil.ordenarConforme(tarefaRepository.findByIdIn(ids), ids, Tarefa::getId);
+            return CursorUtil.toPageRelevancia(tarefas, tamanhoPagina, relevancias, Tarefa::getId, this::toResponse);
+        }
+        
+        Long aposId = CursorUtil.decode(cursor);
+        log.info("Listando tarefas do projeto ID: {} após ID {}", projetoId, aposId);
+        
+        List<Tarefa> tarefas;
+        
+        if (descricao != null && !descricao.isEmpty()) {
+            tarefas = tarefaRepository.findByProjetoIdAndDescricaoContainingAfter(
+                projetoId, descricao, aposId, CursorUtil.limiteConsulta(tamanhoPagina));
+        } else if (status != null) {
+            tarefas = tarefaRepository.findByProjetoIdAndStatusAndIdGreaterThanOrderByIdAsc(
+                projetoId, status, aposId, CursorUtil.limiteConsulta(tamanhoPagina));
+        } else {
+            tarefas = tarefaRepository.findByProjetoIdAndIdGreaterThanOrderByIdAsc(
+                projetoId, aposId, CursorUtil.limiteConsulta(tamanhoPagina));
+        }
+        
+        return CursorUtil.toPage(tarefas, tamanhoPagina, Tarefa::getId, this::toResponse);
+    }
+    
+    /**
+     * Busca tarefas pela descrição em todos os projetos do usuário, por relevância
+     */
+    @Transactional(readOnly = true)
+    public List<TarefaResponse> buscar(Long usuarioId, String termo, Integer tamanho) {
+        if (termo == null || termo.isBlank())
+            throw new BusinessException("Informe um termo para a busca");
+        log.info("Buscando tarefas do usuário ID {}", usuarioId);
+        
+        List<Tarefa> tarefas;
+        if (indiceBuscaService.isPronto()) {
+            List<Long> ids = indiceBuscaService.buscarTarefas(usuarioId, null, termo).stream()
+                .limit(CursorUtil.normalizarTamanho(tamanho))
+                .collect(Collectors.toList());
+            tarefas = ids.isEmpty() ? List.of()
+                : CursorUtil.ordenarConforme(tarefaRepository.findByIdIn(ids), ids, Tarefa::getId);
+        } else {
+            // Índice ainda em construção: busca no banco, limitada como a página
+            tarefas = tarefaRepository.findByUsuarioIdAndDescricaoContainingAfter(
+                usuarioId, termo, 0L, Limit.of(CursorUtil.normalizarTamanho(tamanho)));
+        }
+        
+        return tarefas.stream()
+            .map(this::toResponse)
+            .collect(Collectors.toList());
+    }
+    
     /**
      * Busca uma tarefa por ID
      */
@@ -110,14 +191,11 @@ public class TarefaService {
         if (id == null)
             throw new IllegalArgumentException("ID do usuário não podem ser nulos");
         log.info("Buscando tarefa ID: {}", id);
+        // Valida se a tarefa pertence a um projeto do usuário
+        autorizacaoService.verificarTarefa(id, usuarioId, "Você não tem permissão para acessar esta tarefa");
         Tarefa tarefa = tarefaRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Tarefa não encontrada"));
         
-        // Valida se a tarefa pertence a um projeto do usuário
-        if (!tarefa.getProjeto().getUsuario().getId().equals(usuarioId)) {
-            throw new BusinessException("Você não tem permissão para acessar esta tarefa");
-        }
-        
         return toResponse(tarefa);
     }
     
@@ -129,13 +207,12 @@ public class TarefaService {
         if (id == null)
             throw new IllegalArgumentException("ID do usuário não podem ser nulos");
         log.info("Atualizando tarefa ID: {}", id);
+        // Valida se a tarefa pertence a um projeto do usuário
+        autorizacaoService.verificarTarefa(id, usuarioId, "Você não tem permissão para atualizar esta tarefa");
         Tarefa tarefa = tarefaRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Tarefa não encontrada"));
-        
-        // Valida se a tarefa pertence a um projeto do usuário
-        if (!tarefa.getProjeto().getUsuario().getId().equals(usuarioId)) {
-            throw new BusinessException("Você não tem permissão para atualizar esta tarefa");
-        }
+        StatusTarefa statusAnterior = tarefa.getStatus();
+        LocalDate dataFimAnterior = tarefa.getDataFim();
         
         // Valida datas
         if (request.getDataInicio() != null && request.getDataFim() != null) {
@@ -157,6 +234,12 @@ public class TarefaService {
                 throw new BusinessException("A tarefa predecessora deve pertencer ao mesmo projeto");
             }
             
+            // Ciclos longos (A → B → C → A) só são detectáveis pelo grafo do projeto
+            if (tarefa.getTarefaPredecessora() == null
+                || !tarefa.getTarefaPredecessora().getId().equals(tarefaPredecessora.getId())) {
+                cronogramaService.validarPredecessora(tarefa.getProjeto().getId(), id, tarefaPredecessora.getId());
+            }
+            
             tarefa.setTarefaPredecessora(tarefaPredecessora);
         } else {
             tarefa.setTarefaPredecessora(null);
@@ -171,6 +254,7 @@ public class TarefaService {
         }
         
         tarefa = tarefaRepository.save(tarefa);
+        publicar(TipoAlteracao.ATUALIZADO, tarefa, usuarioId, statusAnterior, dataFimAnterior);
         log.info("Tarefa atualizada com sucesso: ID {}", tarefa.getId());
         
         return toResponse(tarefa);
@@ -184,27 +268,44 @@ public class TarefaService {
         if (id == null)
             throw new IllegalArgumentException("ID do usuário não podem ser nulos");
         log.info("Excluindo tarefa ID: {}", id);
+        // Valida se a tarefa pertence a um projeto do usuário
+        autorizacaoService.verificarTarefa(id, usuarioId, "Você não tem permissão para excluir esta tarefa");
         Tarefa tarefa = tarefaRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Tarefa não encontrada"));
         
-        // Valida se a tarefa pertence a um projeto do usuário
-        if (!tarefa.getProjeto().getUsuario().getId().equals(usuarioId)) {
-            throw new BusinessException("Você não tem permissão para excluir esta tarefa");
-        }
-        
         // Valida se a tarefa é predecessora de outra
         if (tarefaRepository.existsByTarefaPredecessoraId(id)) {
             throw new BusinessException("Não é possível excluir uma tarefa que é predecessora de outra");
         }
         
         tarefaRepository.delete(tarefa);
+        publicar(TipoAlteracao.EXCLUIDO, tarefa, usuarioId, tarefa.getStatus(), tarefa.getDataFim());
         log.info("Tarefa excluída com sucesso: ID {}", id);
     }
     
     /**
-     * Converte Tarefa para TarefaResponse
+     * Busca por descrição no índice em memória (ordenado por relevância);
+     * usa a consulta no banco enquanto o índice não estiver pronto
+     */
+    private List<Tarefa> buscarPorDescricao(Long usuarioId, Long projetoId, String descricao) {
+        if (!indiceBuscaService.isPronto())
+            return tarefaRepository.findByProjetoIdAndDescricaoContaining(projetoId, descricao);
+        
+        List<Long> ids = indiceBuscaService.buscarTarefas(usuarioId, projetoId, descricao);
+        if (ids.isEmpty())
+            return List.of();
+        return CursorUtil.ordenarConforme(tarefaRepository.findByIdIn(ids), ids, Tarefa::getId);
+    }
+    
+    private void publicar(TipoAlteracao tipo, Tarefa tarefa, Long usuarioId,
+                          StatusTarefa statusAnterior, LocalDate dataFimAnterior) {
+        eventPublisher.publishEvent(TarefaAlteradaEvent.de(tipo, usuarioId, tarefa, statusAnterior, dataFimAnterior));
+    }
+    
+    /**
+     * Converte Tarefa para TarefaResponse (visível no pacote para os benchmarks)
      */
-    private TarefaResponse toResponse(Tarefa tarefa) {
+    TarefaResponse toResponse(Tarefa tarefa) {
         TarefaResponse response = new TarefaResponse();
         response.setId(tarefa.getId());
         response.setDescricao(tarefa.getDescricao());
@@ -0,0 +1,190 @@
+package com.projectasks.minimundoproject.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.projectasks.minimundoproject.event.ProjetoAlteradoEvent;
+import com.projectasks.minimundoproject.event.TarefaAlteradaEvent;
+import com.projectasks.minimundoproject.event.TipoAlteracao;
+import com.projectasks.minimundoproject.exception.ResourceNotFoundException;
+import com.projectasks.minimundoproject.repository.ProjetoRepository;
+import com.projectasks.minimundoproject.repository.TarefaRepository;
+import com.projectasks.minimundoproject.repository.VersaoProjetoRepository;
+import com.projectasks.minimundoproject.repository.VersaoUsuarioRepository;
+import com.projectasks.minimundoproject.repository.projection.VersaoProjection;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Versões (ETag forte + Last-Modified) para GET condicional.
+ *
+ * As listagens de projetos do usuário e o projeto com as suas tarefas usam contadores de
+ * versão (versoes_usuario, versoes_projeto) incrementados antes do commit de cada transação
+ * que altera projetos ou tarefas: a versão é uma linha lida pela chave, sem percorrer as
+ * tarefas. Só quem nunca gravou desde a criação das tabelas (sem linha) cai na consulta
+ * agregada, que nesse caso não tem tarefas a percorrer. A tarefa individual continua numa
+ * consulta de uma linha.
+ */
+@Service
+@RequiredArgsConstructor
+public class VersaoService {
+
+    private final ProjetoRepository projetoRepository;
+    private final TarefaRepository tarefaRepository;
+    private final VersaoUsuarioRepository versaoUsuarioRepository;
+    private final VersaoProjetoRepository versaoProjetoRepository;
+    private final AutorizacaoService autorizacaoService;
+
+    // Chave das alterações da transação em TransactionSynchronizationManager
+    private final Object chaveAlterados = new Object();
+
+    public record Versao(String etag, long ultimaModificacao) {
+    }
+
+    /**
+     * Listagens de projetos do usuário
+     */
+    @Transactional(readOnly = true)
+    public Versao projetos(Long usuarioId) {
+        return versaoUsuarioRepository.findById(usuarioId)
+            .map(v -> versao("ps", v.getVersao(), v.getAtualizadoEm()))
+            .orElseGet(() -> versao("ps", projetoRepository.findVersaoByUsuarioId(usuarioId)));
+    }
+
+    /**
+     * Projeto e listagens das suas tarefas
+     */
+    @Transactional(readOnly = true)
+    public Versao projeto(Long projetoId, Long usuarioId) {
+        autorizacaoService.verificarProjeto(projetoId, usuarioId, "Você não tem permissão para acessar este projeto");
+        return versaoProjetoRepository.findById(projetoId)
+            .map(v -> versao("p", v.getVersao(), v.getAtualizadoEm()))
+            .orElseGet(() -> versao("p", existente(projetoRepository.findVersaoById(projetoId), "Projeto não encontrado")));
+    }
+
+    @Transactional(readOnly = true)
+    public Versao tarefa(Long tarefaId, Long usuarioId) {
+        autorizacaoService.verificarTarefa(tarefaId, usuarioId, "Você não tem permissão para acessar esta tarefa");
+        return versao("t", existente(tarefaRepository.findVersaoById(tarefaId), "Tarefa não encontrada"));
+    }
+
+    /**
+     * Projeto alterado: muda a versão dele e a das listagens do usuário
+     */
+    @EventListener
+    public void onAlteracao(ProjetoAlteradoEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            alterados().registrar(event.getUsuarioId(), event.getProjetoId(), event.getTipo() == TipoAlteracao.EXCLUIDO);
+    }
+
+    /**
+     * Tarefa alterada: muda a versão do projeto e a das listagens do usuário (que trazem os totais)
+     */
+    @EventListener
+    public void onAlteracao(TarefaAlteradaEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            alterados().registrar(event.getUsuarioId(), event.getProjetoId(), false);
+    }
+
+    private Alterados alterados() {
+        Alterados alterados = (Alterados) TransactionSynchronizationManager.getResource(chaveAlterados);
+        if (alterados != null)
+            return alterados;
+
+        Alterados novos = new Alterados();
+        TransactionSynchronizationManager.bindResource(chaveAlterados, novos);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                incrementar(novos);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(chaveAlterados);
+            }
+        });
+        return novos;
+    }
+
+    /**
+     * Um UPDATE por projeto e por usuário da transação; sem linha, ela é criada na versão 1
+     */
+    private void incrementar(Alterados alterados) {
+        LocalDateTime agora = LocalDateTime.now();
+        alterados.projetos.forEach((projetoId, alteracao) -> {
+            if (alteracao.excluido)
+                versaoProjetoRepository.excluir(projetoId);
+            else if (versaoProjetoRepository.incrementar(projetoId, agora) == 0)
+                versaoProjetoRepository.inserir(projetoId, alteracao.usuarioId, agora);
+        });
+        for (Long usuarioId : alterados.usuarios) {
+            if (versaoUsuarioRepository.incrementar(usuarioId, agora) == 0)
+                versaoUsuarioRepository.inserir(usuarioId, agora);
+        }
+    }
+
+    private static final class Alterados {
+
+        private final Map<Long, AlteracaoProjeto> projetos = new LinkedHashMap<>();
+        private final Set<Long> usuarios = new LinkedHashSet<>();
+
+        void registrar(Long usuarioId, Long projetoId, boolean excluido) {
+            usuarios.add(usuarioId);
+            AlteracaoProjeto alteracao = projetos.computeIfAbsent(projetoId, id -> new AlteracaoProjeto(usuarioId));
+            // Excluído na transação continua excluído, mesmo com eventos de tarefas depois
+            alteracao.excluido |= excluido;
+        }
+    }
+
+    private static final class AlteracaoProjeto {
+
+        private final Long usuarioId;
+        private boolean excluido;
+
+        AlteracaoProjeto(Long usuarioId) {
+            this.usuarioId = usuarioId;
+        }
+    }
+
+    /**
+     * Excluído entre a verificação de permissão e a consulta: sem linha (tarefa) ou com
+     * total 0 (agregado do projeto) → 404, como o GET sem condição
+     */
+    private static VersaoProjection existente(VersaoProjection projecao, String mensagem) {
+        if (projecao == null || projecao.getTotal() == null || projecao.getTotal() == 0)
+            throw new ResourceNotFoundException(mensagem);
+        return projecao;
+    }
+
+    /**
+     * Versão mantida pelos contadores; o instante entra na ETag para que uma linha recriada
+     * (versão de volta a 1) não repita uma ETag antiga
+     */
+    private static Versao versao(String tipo, long numero, LocalDateTime atualizadoEm) {
+        long ultimaModificacao = epochMilli(atualizadoEm);
+        return new Versao("\"" + tipo + "-v" + numero + "-" + Long.toHexString(ultimaModificacao) + "\"", ultimaModificacao);
+    }
+
+    private static Versao versao(String tipo, VersaoProjection projecao) {
+        long ultimaModificacao = Math.max(
+            epochMilli(projecao.getAtualizadoEm()), epochMilli(projecao.getRelacionadosAtualizadosEm()));
+        String etag = "\"" + tipo + "-" + Long.toHexString(ultimaModificacao)
+            + "-" + projecao.getTotal() + "-" + projecao.getTotalRelacionados() + "\"";
+        return new Versao(etag, ultimaModificacao);
+    }
+
+    private static long epochMilli(LocalDateTime dataHora) {
+        return dataHora == null ? 0L : dataHora.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
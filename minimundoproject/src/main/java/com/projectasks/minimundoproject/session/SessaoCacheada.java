@@ -0,0 +1,152 @@
+package com.projectasks.minimundoproject.session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+
+/**
+ * Sessão entregue pelo {@link SessaoCacheadaRepository}: uma cópia da sessão em cache
+ * que registra o que foi alterado durante a requisição, para gravar só o necessário.
+ */
+public class SessaoCacheada implements Session {
+
+    private final MapSession sessao;
+    private final String primaryId;
+    private boolean nova;
+    private String idOriginal;
+    private final Set<String> atributosAlterados = new HashSet<>();
+    private boolean intervaloAlterado;
+
+    SessaoCacheada(MapSession sessao, String primaryId, boolean nova) {
+        this.sessao = sessao;
+        this.primaryId = primaryId;
+        this.nova = nova;
+        this.idOriginal = sessao.getId();
+    }
+
+    @Override
+    public String getId() {
+        return sessao.getId();
+    }
+
+    @Override
+    public String changeSessionId() {
+        return sessao.changeSessionId();
+    }
+
+    @Override
+    public <T> T getAttribute(String attributeName) {
+        return sessao.getAttribute(attributeName);
+    }
+
+    @Override
+    public Set<String> getAttributeNames() {
+        return sessao.getAttributeNames();
+    }
+
+    /**
+     * Regravar o mesmo valor imutável (ex.: o mesmo usuarioId) não conta como alteração;
+     * a mesma instância de um objeto mutável conta, pois pode ter sido alterada.
+     */
+    @Override
+    public void setAttribute(String attributeName, Object attributeValue) {
+        Object anterior = sessao.getAttribute(attributeName);
+        boolean igual = attributeValue != anterior
+            ? Objects.equals(attributeValue, anterior)
+            : imutavel(attributeValue);
+
+        sessao.setAttribute(attributeName, attributeValue);
+        if (!igual)
+            atributosAlterados.add(attributeName);
+    }
+
+    @Override
+    public void removeAttribute(String attributeName) {
+        if (sessao.getAttribute(attributeName) != null)
+            atributosAlterados.add(attributeName);
+        sessao.removeAttribute(attributeName);
+    }
+
+    @Override
+    public Instant getCreationTime() {
+        return sessao.getCreationTime();
+    }
+
+    @Override
+    public void setLastAccessedTime(Instant lastAccessedTime) {
+        sessao.setLastAccessedTime(lastAccessedTime);
+    }
+
+    @Override
+    public Instant getLastAccessedTime() {
+        return sessao.getLastAccessedTime();
+    }
+
+    @Override
+    public void setMaxInactiveInterval(Duration interval) {
+        if (!interval.equals(sessao.getMaxInactiveInterval()))
+            intervaloAlterado = true;
+        sessao.setMaxInactiveInterval(interval);
+    }
+
+    @Override
+    public Duration getMaxInactiveInterval() {
+        return sessao.getMaxInactiveInterval();
+    }
+
+    @Override
+    public boolean isExpired() {
+        return sessao.isExpired();
+    }
+
+    MapSession dados() {
+        return sessao;
+    }
+
+    String primaryId() {
+        return primaryId;
+    }
+
+    boolean isNova() {
+        return nova;
+    }
+
+    String idOriginal() {
+        return idOriginal;
+    }
+
+    Set<String> atributosAlterados() {
+        return atributosAlterados;
+    }
+
+    /**
+     * Houve mudança além do último acesso (atributos, ID ou tempo de inatividade)
+     */
+    boolean isAlterada() {
+        return !atributosAlterados.isEmpty() || intervaloAlterado || !idOriginal.equals(getId());
+    }
+
+    /**
+     * Após gravar, a mesma instância pode ser salva de novo na requisição sem repetir a escrita
+     */
+    void marcarGravada() {
+        nova = false;
+        idOriginal = getId();
+        atributosAlterados.clear();
+        intervaloAlterado = false;
+    }
+
+    private static boolean imutavel(Object valor) {
+        return valor == null
+            || valor instanceof String
+            || valor instanceof Number
+            || valor instanceof Boolean
+            || valor instanceof Character
+            || valor instanceof Enum<?>;
+    }
+}
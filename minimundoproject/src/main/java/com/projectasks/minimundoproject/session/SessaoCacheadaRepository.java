@@ -0,0 +1,274 @@
+package com.projectasks.minimundoproject.session;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.MapSession;
+import org.springframework.session.PrincipalNameIndexResolver;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.projectasks.minimundoproject.util.CacheLimitado;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Repositório de sessões sobre as tabelas do spring-session-jdbc com cache local.
+ *
+ * - Leituras são atendidas pelo cache, conferido a cada leitura por uma consulta só ao
+ *   PRIMARY_ID e ao LAST_ACCESS_TIME (índice de SESSION_ID). Sessão excluída, recriada ou
+ *   gravada por outra instância (último acesso mais novo que o do cache) é relida por
+ *   completo, assim como a entrada que passa da validade. Dispensa sticky session.
+ * - Gravações completas só ocorrem quando atributos, ID ou tempo de inatividade mudam,
+ *   e apenas os atributos alterados são regravados.
+ * - O último acesso fica pendente em memória e é gravado em lote no intervalo de flush.
+ * - Sessões expiradas são removidas em lote por um único DELETE.
+ */
+@Slf4j
+public class SessaoCacheadaRepository implements SessionRepository<SessaoCacheada> {
+
+    private record Entrada(String primaryId, MapSession sessao, long carregadaEm) {
+    }
+
+    private record Acesso(long ultimoAcesso, long expiraEm) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transacao;
+    private final Duration intervaloPadrao;
+    private final long validadeCacheMs;
+    private final CacheLimitado<String, Entrada> cache;
+    // PRIMARY_ID → último acesso ainda não gravado
+    private final Map<String, Acesso> acessosPendentes = new ConcurrentHashMap<>();
+
+    private final SerializingConverter serializar = new SerializingConverter();
+    private final DeserializingConverter desserializar;
+    private final PrincipalNameIndexResolver<Session> principal = new PrincipalNameIndexResolver<>();
+
+    private final String sqlCarregar;
+    private final String sqlConferir;
+    private final String sqlInserirSessao;
+    private final String sqlAtualizarSessao;
+    private final String sqlAtualizarAcesso;
+    private final String sqlExcluir;
+    private final String sqlExcluirExpiradas;
+    private final String sqlInserirAtributo;
+    private final String sqlExcluirAtributo;
+
+    public SessaoCacheadaRepository(JdbcTemplate jdbcTemplate, TransactionTemplate transacao, String tabela,
+                                    Duration intervaloPadrao, int tamanhoCache, long validadeCacheMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transacao = transacao;
+        this.intervaloPadrao = intervaloPadrao;
+        this.validadeCacheMs = validadeCacheMs;
+        this.cache = new CacheLimitado<>(tamanhoCache);
+        this.desserializar = new DeserializingConverter(getClass().getClassLoader());
+
+        String atributos = tabela + "_ATTRIBUTES";
+        this.sqlCarregar = "SELECT S.PRIMARY_ID, S.CREATION_TIME, S.LAST_ACCESS_TIME, S.MAX_INACTIVE_INTERVAL, "
+            + "A.ATTRIBUTE_NAME, A.ATTRIBUTE_BYTES FROM " + tabela + " S "
+            + "LEFT JOIN " + atributos + " A ON S.PRIMARY_ID = A.SESSION_PRIMARY_ID WHERE S.SESSION_ID = ?";
+        this.sqlConferir = "SELECT PRIMARY_ID, LAST_ACCESS_TIME FROM " + tabela + " WHERE SESSION_ID = ?";
+        this.sqlInserirSessao = "INSERT INTO " + tabela + " (PRIMARY_ID, SESSION_ID, CREATION_TIME, LAST_ACCESS_TIME, "
+            + "MAX_INACTIVE_INTERVAL, EXPIRY_TIME, PRINCIPAL_NAME) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        this.sqlAtualizarSessao = "UPDATE " + tabela + " SET SESSION_ID = ?, LAST_ACCESS_TIME = ?, "
+            + "MAX_INACTIVE_INTERVAL = ?, EXPIRY_TIME = ?, PRINCIPAL_NAME = ? WHERE PRIMARY_ID = ?";
+        this.sqlAtualizarAcesso = "UPDATE " + tabela + " SET LAST_ACCESS_TIME = ?, EXPIRY_TIME = ? WHERE PRIMARY_ID = ?";
+        this.sqlExcluir = "DELETE FROM " + tabela + " WHERE SESSION_ID = ?";
+        this.sqlExcluirExpiradas = "DELETE FROM " + tabela + " WHERE EXPIRY_TIME < ?";
+        this.sqlInserirAtributo = "INSERT INTO " + atributos
+            + " (SESSION_PRIMARY_ID, ATTRIBUTE_NAME, ATTRIBUTE_BYTES) VALUES (?, ?, ?)";
+        this.sqlExcluirAtributo = "DELETE FROM " + atributos + " WHERE SESSION_PRIMARY_ID = ? AND ATTRIBUTE_NAME = ?";
+    }
+
+    @Override
+    public SessaoCacheada createSession() {
+        MapSession sessao = new MapSession();
+        sessao.setMaxInactiveInterval(intervaloPadrao);
+        return new SessaoCacheada(sessao, UUID.randomUUID().toString(), true);
+    }
+
+    @Override
+    public void save(SessaoCacheada sessao) {
+        if (sessao.isNova()) {
+            transacao.executeWithoutResult(status -> inserir(sessao));
+        } else if (sessao.isAlterada()) {
+            transacao.executeWithoutResult(status -> atualizar(sessao));
+            acessosPendentes.remove(sessao.primaryId());
+        } else {
+            Entrada atual = cache.get(sessao.getId());
+            if (atual == null || !atual.sessao().getLastAccessedTime().equals(sessao.getLastAccessedTime()))
+                acessosPendentes.put(sessao.primaryId(), acesso(sessao));
+        }
+
+        if (!sessao.idOriginal().equals(sessao.getId()))
+            cache.remove(sessao.idOriginal());
+        sessao.marcarGravada();
+        cache.put(sessao.getId(), new Entrada(sessao.primaryId(), new MapSession(sessao.dados()), System.currentTimeMillis()));
+    }
+
+    @Override
+    public SessaoCacheada findById(String id) {
+        Entrada entrada = cache.get(id);
+        if (entrada != null && (System.currentTimeMillis() - entrada.carregadaEm() > validadeCacheMs
+                || !atualNoBanco(id, entrada)))
+            entrada = null;
+        if (entrada == null) {
+            entrada = carregar(id);
+            if (entrada == null) {
+                cache.remove(id);
+                return null;
+            }
+            cache.put(id, entrada);
+        }
+
+        MapSession copia = new MapSession(entrada.sessao());
+        if (copia.isExpired()) {
+            deleteById(id);
+            return null;
+        }
+        return new SessaoCacheada(copia, entrada.primaryId(), false);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        Entrada entrada = cache.get(id);
+        cache.remove(id);
+        if (entrada != null)
+            acessosPendentes.remove(entrada.primaryId());
+        jdbcTemplate.update(sqlExcluir, id);
+    }
+
+    /**
+     * Grava em lote os últimos acessos pendentes
+     */
+    @Scheduled(fixedDelayString = "${sessao.flush-ms:10000}")
+    @PreDestroy
+    public void gravarAcessos() {
+        if (acessosPendentes.isEmpty())
+            return;
+
+        List<Object[]> lote = new ArrayList<>(acessosPendentes.size());
+        for (String primaryId : List.copyOf(acessosPendentes.keySet())) {
+            Acesso acesso = acessosPendentes.remove(primaryId);
+            if (acesso != null)
+                lote.add(new Object[] { acesso.ultimoAcesso(), acesso.expiraEm(), primaryId });
+        }
+        jdbcTemplate.batchUpdate(sqlAtualizarAcesso, lote);
+        log.debug("Último acesso gravado para {} sessões", lote.size());
+    }
+
+    /**
+     * Remove as sessões expiradas do banco e do cache; grava os acessos pendentes antes
+     * para não excluir sessões ativas cujo último acesso ainda não foi gravado
+     */
+    @Scheduled(cron = "${sessao.limpeza-cron:0 * * * * *}")
+    public void limparExpiradas() {
+        gravarAcessos();
+        int removidas = jdbcTemplate.update(sqlExcluirExpiradas, System.currentTimeMillis());
+        cache.removerSe(entrada -> entrada.sessao().isExpired());
+        if (removidas > 0)
+            log.debug("{} sessões expiradas removidas", removidas);
+    }
+
+    private void inserir(SessaoCacheada sessao) {
+        MapSession dados = sessao.dados();
+        Acesso acesso = acesso(sessao);
+        jdbcTemplate.update(sqlInserirSessao, sessao.primaryId(), dados.getId(),
+            dados.getCreationTime().toEpochMilli(), acesso.ultimoAcesso(),
+            (int) dados.getMaxInactiveInterval().getSeconds(), acesso.expiraEm(),
+            principal.resolveIndexValueFor(dados));
+        gravarAtributos(sessao.primaryId(), dados, dados.getAttributeNames());
+    }
+
+    private void atualizar(SessaoCacheada sessao) {
+        MapSession dados = sessao.dados();
+        Acesso acesso = acesso(sessao);
+        jdbcTemplate.update(sqlAtualizarSessao, dados.getId(), acesso.ultimoAcesso(),
+            (int) dados.getMaxInactiveInterval().getSeconds(), acesso.expiraEm(),
+            principal.resolveIndexValueFor(dados), sessao.primaryId());
+
+        if (!sessao.atributosAlterados().isEmpty()) {
+            List<Object[]> exclusoes = sessao.atributosAlterados().stream()
+                .map(nome -> new Object[] { sessao.primaryId(), nome })
+                .toList();
+            jdbcTemplate.batchUpdate(sqlExcluirAtributo, exclusoes);
+            gravarAtributos(sessao.primaryId(), dados, sessao.atributosAlterados());
+        }
+    }
+
+    private void gravarAtributos(String primaryId, MapSession dados, Iterable<String> nomes) {
+        List<Object[]> insercoes = new ArrayList<>();
+        for (String nome : nomes) {
+            Object valor = dados.getAttribute(nome);
+            if (valor != null)
+                insercoes.add(new Object[] { primaryId, nome, serializar.convert(valor) });
+        }
+        if (!insercoes.isEmpty())
+            jdbcTemplate.batchUpdate(sqlInserirAtributo, insercoes);
+    }
+
+    /**
+     * A entrada do cache ainda corresponde ao banco: mesma sessão e nenhum acesso gravado
+     * depois do último visto aqui (os acessos desta instância só chegam ao banco pelo flush,
+     * com o mesmo valor do cache)
+     */
+    private boolean atualNoBanco(String id, Entrada entrada) {
+        return Boolean.TRUE.equals(jdbcTemplate.query(sqlConferir, rs -> rs.next()
+            && entrada.primaryId().equals(rs.getString("PRIMARY_ID"))
+            && rs.getLong("LAST_ACCESS_TIME") <= entrada.sessao().getLastAccessedTime().toEpochMilli(), id));
+    }
+
+    private Entrada carregar(String id) {
+        Entrada entrada = jdbcTemplate.query(sqlCarregar, rs -> {
+            MapSession sessao = null;
+            String primaryId = null;
+            while (rs.next()) {
+                if (sessao == null) {
+                    primaryId = rs.getString("PRIMARY_ID");
+                    sessao = lerSessao(id, rs);
+                }
+                String nome = rs.getString("ATTRIBUTE_NAME");
+                if (nome != null)
+                    sessao.setAttribute(nome, desserializar.convert(rs.getBytes("ATTRIBUTE_BYTES")));
+            }
+            return sessao != null ? new Entrada(primaryId, sessao, System.currentTimeMillis()) : null;
+        }, id);
+
+        if (entrada != null) {
+            // O banco pode estar atrás do último acesso ainda pendente
+            Acesso pendente = acessosPendentes.get(entrada.primaryId());
+            if (pendente != null && pendente.ultimoAcesso() > entrada.sessao().getLastAccessedTime().toEpochMilli())
+                entrada.sessao().setLastAccessedTime(Instant.ofEpochMilli(pendente.ultimoAcesso()));
+        }
+        return entrada;
+    }
+
+    private static MapSession lerSessao(String id, ResultSet rs) throws SQLException {
+        MapSession sessao = new MapSession(id);
+        sessao.setCreationTime(Instant.ofEpochMilli(rs.getLong("CREATION_TIME")));
+        sessao.setLastAccessedTime(Instant.ofEpochMilli(rs.getLong("LAST_ACCESS_TIME")));
+        sessao.setMaxInactiveInterval(Duration.ofSeconds(rs.getInt("MAX_INACTIVE_INTERVAL")));
+        return sessao;
+    }
+
+    private static Acesso acesso(SessaoCacheada sessao) {
+        long ultimoAcesso = sessao.getLastAccessedTime().toEpochMilli();
+        Duration intervalo = sessao.getMaxInactiveInterval();
+        long expiraEm = intervalo.isNegative() ? Long.MAX_VALUE : ultimoAcesso + intervalo.toMillis();
+        return new Acesso(ultimoAcesso, expiraEm);
+    }
+}
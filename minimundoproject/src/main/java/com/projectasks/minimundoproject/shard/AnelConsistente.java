@@ -0,0 +1,50 @@
+package com.projectasks.minimundoproject.shard;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Anel de hash consistente que distribui usuários entre os shards 1..N.
+ *
+ * Cada shard ocupa vários pontos do anel (nós virtuais) e o usuário pertence ao primeiro
+ * ponto a partir do hash do seu id. As posições dependem só do número do shard: incluir o
+ * shard N+1 move para ele cerca de 1/(N+1) dos usuários, sem trocar os demais de lugar.
+ */
+public final class AnelConsistente {
+
+    private final TreeMap<Long, Integer> pontos = new TreeMap<>();
+    private final int totalShards;
+
+    public AnelConsistente(int totalShards, int nosVirtuais) {
+        if (totalShards < 1)
+            throw new IllegalArgumentException("O anel precisa de pelo menos um shard");
+        this.totalShards = totalShards;
+        for (int shard = 1; shard <= totalShards; shard++) {
+            for (int no = 0; no < nosVirtuais; no++) {
+                pontos.put(misturar(((long) shard << 32) | no), shard);
+            }
+        }
+    }
+
+    /**
+     * Shard do usuário segundo o anel
+     */
+    public int shardDe(long usuarioId) {
+        Map.Entry<Long, Integer> ponto = pontos.ceilingEntry(misturar(usuarioId));
+        return (ponto != null ? ponto : pontos.firstEntry()).getValue();
+    }
+
+    public int getTotalShards() {
+        return totalShards;
+    }
+
+    /**
+     * Finalizador do SplitMix64: espalha valores próximos (ids sequenciais) pelo anel
+     */
+    private static long misturar(long valor) {
+        long z = valor + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,23 @@
+package com.projectasks.minimundoproject.shard;
+
+import java.util.Optional;
+
+import com.projectasks.minimundoproject.model.Usuario;
+
+/**
+ * Acesso a usuários pelo email, antes de se saber em que banco eles estão.
+ * Sem sharding é o próprio UsuarioRepository; com sharding passa pelo diretório global.
+ */
+public interface DiretorioUsuarios {
+
+    boolean emailCadastrado(String email);
+
+    /**
+     * Grava o novo usuário e devolve com o id atribuído
+     */
+    Usuario registrar(Usuario usuario);
+
+    Optional<Usuario> buscarPorEmail(String email);
+
+    void atualizarSenha(Long usuarioId, String hash);
+}
@@ -0,0 +1,40 @@
+package com.projectasks.minimundoproject.shard;
+
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+
+import com.projectasks.minimundoproject.model.Usuario;
+import com.projectasks.minimundoproject.repository.UsuarioRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Banco único: o diretório é a própria tabela de usuários
+ */
+@Component
+@RequiredArgsConstructor
+public class DiretorioUsuariosLocal implements DiretorioUsuarios {
+
+    private final UsuarioRepository usuarioRepository;
+
+    @Override
+    public boolean emailCadastrado(String email) {
+        return usuarioRepository.existsByEmail(email);
+    }
+
+    @Override
+    public Usuario registrar(Usuario usuario) {
+        return usuarioRepository.save(usuario);
+    }
+
+    @Override
+    public Optional<Usuario> buscarPorEmail(String email) {
+        return usuarioRepository.findByEmail(email);
+    }
+
+    @Override
+    public void atualizarSenha(Long usuarioId, String hash) {
+        usuarioRepository.atualizarSenha(usuarioId, hash);
+    }
+}
@@ -0,0 +1,121 @@
+package com.projectasks.minimundoproject.shard;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
+
+import com.projectasks.minimundoproject.exception.BusinessException;
+import com.projectasks.minimundoproject.model.Usuario;
+import com.projectasks.minimundoproject.repository.UsuarioRepository;
+import com.projectasks.minimundoproject.util.CacheLimitado;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Diretório global do modo sharding: tabela diretorio_usuarios (email → id → shard) no
+ * banco do diretório.
+ *
+ * O id do usuário é gerado pelo diretório e o shard é escolhido pelo anel a partir dele;
+ * a linha em usuarios é gravada no shard com esse id. Consultas por email vão primeiro ao
+ * diretório e depois ao shard; o shard de cada id fica em cache.
+ */
+@Slf4j
+public class DiretorioUsuariosShards implements DiretorioUsuarios {
+
+    private final JdbcTemplate diretorio;
+    private final SimpleJdbcInsert insercao;
+    private final UsuarioRepository usuarioRepository;
+    private final AnelConsistente anel;
+    private final CacheLimitado<Long, Integer> shardPorUsuario;
+
+    public DiretorioUsuariosShards(DataSource diretorio, UsuarioRepository usuarioRepository,
+                                   AnelConsistente anel, int tamanhoCache) {
+        this.diretorio = new JdbcTemplate(diretorio);
+        this.insercao = new SimpleJdbcInsert(diretorio)
+            .withTableName("diretorio_usuarios")
+            .usingColumns("email", "shard")
+            .usingGeneratedKeyColumns("usuario_id");
+        this.usuarioRepository = usuarioRepository;
+        this.anel = anel;
+        this.shardPorUsuario = new CacheLimitado<>(tamanhoCache);
+    }
+
+    @Override
+    public boolean emailCadastrado(String email) {
+        Integer total = diretorio.queryForObject(
+            "SELECT COUNT(*) FROM diretorio_usuarios WHERE email = ?", Integer.class, email);
+        return total != null && total > 0;
+    }
+
+    @Override
+    public Usuario registrar(Usuario usuario) {
+        long id;
+        try {
+            // Shard 0 até a linha existir no shard: a reconstrução do diretório descarta pendentes
+            id = insercao.executeAndReturnKey(Map.of("email", usuario.getEmail(), "shard", 0)).longValue();
+        } catch (DuplicateKeyException e) {
+            throw new BusinessException("Email já cadastrado no sistema");
+        }
+
+        int shard = anel.shardDe(id);
+        LocalDateTime agora = LocalDateTime.now();
+        try {
+            ShardContexto.executar(shard, () -> usuarioRepository.inserir(
+                id, usuario.getNome(), usuario.getEmail(), usuario.getSenha(), agora));
+        } catch (RuntimeException e) {
+            diretorio.update("DELETE FROM diretorio_usuarios WHERE usuario_id = ?", id);
+            throw e;
+        }
+        diretorio.update("UPDATE diretorio_usuarios SET shard = ? WHERE usuario_id = ?", shard, id);
+        shardPorUsuario.put(id, shard);
+        log.debug("Usuário ID {} registrado no shard {}", id, shard);
+
+        usuario.setId(id);
+        usuario.setCreatedAt(agora);
+        return usuario;
+    }
+
+    @Override
+    public Optional<Usuario> buscarPorEmail(String email) {
+        List<Map<String, Object>> linhas = diretorio.queryForList(
+            "SELECT usuario_id, shard FROM diretorio_usuarios WHERE email = ? AND shard > 0", email);
+        if (linhas.isEmpty())
+            return Optional.empty();
+
+        Long id = ((Number) linhas.get(0).get("usuario_id")).longValue();
+        int shard = ((Number) linhas.get(0).get("shard")).intValue();
+        shardPorUsuario.put(id, shard);
+        return ShardContexto.executar(shard, () -> usuarioRepository.findById(id));
+    }
+
+    @Override
+    public void atualizarSenha(Long usuarioId, String hash) {
+        ShardContexto.executar(shardDe(usuarioId), () -> usuarioRepository.atualizarSenha(usuarioId, hash));
+    }
+
+    /**
+     * Shard em que o usuário está; fora do diretório (não deveria ocorrer), o do anel
+     */
+    public int shardDe(Long usuarioId) {
+        Integer shard = shardPorUsuario.get(usuarioId, id -> {
+            List<Integer> encontrados = diretorio.queryForList(
+                "SELECT shard FROM diretorio_usuarios WHERE usuario_id = ? AND shard > 0", Integer.class, id);
+            return encontrados.isEmpty() ? null : encontrados.get(0);
+        });
+        return shard != null ? shard : anel.shardDe(usuarioId);
+    }
+
+    /**
+     * Descarta o shard em cache (usuário movido pelo rebalanceamento)
+     */
+    public void invalidar(Long usuarioId) {
+        shardPorUsuario.remove(usuarioId);
+    }
+}
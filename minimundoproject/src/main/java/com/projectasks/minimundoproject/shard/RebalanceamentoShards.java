@@ -0,0 +1,191 @@
+package com.projectasks.minimundoproject.shard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ferramenta de rebalanceamento, executada com datasource.shards.rebalancear=true.
+ *
+ * 1. Reconstrói o diretório a partir dos usuários de cada shard (inclui os de um banco único
+ *    reaproveitado como shard 1) e descarta registros pendentes.
+ * 2. Move para o shard indicado pelo anel cada usuário que está em outro, com projetos,
+ *    tarefas, exclusões, contadores e versões: copia no destino, aponta o diretório e só então
+ *    exclui na origem. Uma execução interrompida pode ser repetida: a cópia parcial no
+ *    destino é descartada antes de copiar de novo.
+ *
+ * Deve rodar sem tráfego (janela de manutenção); ao final encerra a aplicação se
+ * datasource.shards.rebalancear-e-sair=true.
+ */
+@Slf4j
+public class RebalanceamentoShards implements ApplicationRunner {
+
+    private static final String TAREFAS_DO_USUARIO =
+        "projeto_id IN (SELECT id FROM projetos WHERE usuario_id = ?)";
+
+    private final ShardDataSource shards;
+    private final JdbcTemplate diretorio;
+    private final AnelConsistente anel;
+    private final DiretorioUsuariosShards diretorioUsuarios;
+    private final ConfigurableApplicationContext contexto;
+    private final boolean sair;
+
+    public RebalanceamentoShards(ShardDataSource shards, DataSource diretorio, AnelConsistente anel,
+                                 DiretorioUsuariosShards diretorioUsuarios,
+                                 ConfigurableApplicationContext contexto, boolean sair) {
+        this.shards = shards;
+        this.diretorio = new JdbcTemplate(diretorio);
+        this.anel = anel;
+        this.diretorioUsuarios = diretorioUsuarios;
+        this.contexto = contexto;
+        this.sair = sair;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long inicio = System.currentTimeMillis();
+        int registrados = reconstruirDiretorio();
+
+        int movidos = 0;
+        List<Map<String, Object>> usuarios = diretorio.queryForList(
+            "SELECT usuario_id, shard FROM diretorio_usuarios ORDER BY usuario_id");
+        for (Map<String, Object> linha : usuarios) {
+            long usuarioId = ((Number) linha.get("usuario_id")).longValue();
+            int atual = ((Number) linha.get("shard")).intValue();
+            int destino = anel.shardDe(usuarioId);
+            if (atual != destino) {
+                mover(usuarioId, atual, destino);
+                movidos++;
+            }
+        }
+        log.info("Rebalanceamento concluído: {} usuários incluídos no diretório, {} de {} movidos em {} ms",
+            registrados, movidos, usuarios.size(), System.currentTimeMillis() - inicio);
+
+        if (sair)
+            System.exit(SpringApplication.exit(contexto, () -> 0));
+    }
+
+    /**
+     * Inclui no diretório os usuários que só existem nos shards e ajusta a geração de ids
+     */
+    private int reconstruirDiretorio() {
+        int registrados = 0;
+        for (int shard = 1; shard <= shards.getTotalShards(); shard++) {
+            for (Map<String, Object> usuario : jdbc(shard).queryForList("SELECT id, email FROM usuarios")) {
+                Object id = usuario.get("id");
+                Integer existentes = diretorio.queryForObject(
+                    "SELECT COUNT(*) FROM diretorio_usuarios WHERE usuario_id = ?", Integer.class, id);
+                if (existentes != null && existentes > 0) {
+                    diretorio.update("UPDATE diretorio_usuarios SET shard = ? WHERE usuario_id = ? AND shard = 0",
+                        shard, id);
+                    continue;
+                }
+                diretorio.update("INSERT INTO diretorio_usuarios (usuario_id, email, shard) VALUES (?, ?, ?)",
+                    id, usuario.get("email"), shard);
+                registrados++;
+            }
+        }
+
+        int pendentes = diretorio.update("DELETE FROM diretorio_usuarios WHERE shard = 0");
+        if (pendentes > 0)
+            log.info("Registros pendentes descartados do diretório: {}", pendentes);
+
+        // Ids incluídos explicitamente: a identidade continua depois do maior deles
+        Long maior = diretorio.queryForObject("SELECT COALESCE(MAX(usuario_id), 0) FROM diretorio_usuarios", Long.class);
+        diretorio.execute("ALTER TABLE diretorio_usuarios ALTER COLUMN usuario_id RESTART WITH " + (maior + 1));
+        return registrados;
+    }
+
+    private void mover(long usuarioId, int origem, int destino) {
+        JdbcTemplate deOrigem = jdbc(origem);
+        JdbcTemplate paraDestino = jdbc(destino);
+
+        transacao(destino).executeWithoutResult(status -> {
+            excluir(paraDestino, usuarioId);
+            copiar(deOrigem, paraDestino, usuarioId);
+        });
+        diretorio.update("UPDATE diretorio_usuarios SET shard = ? WHERE usuario_id = ?", destino, usuarioId);
+        diretorioUsuarios.invalidar(usuarioId);
+        transacao(origem).executeWithoutResult(status -> excluir(deOrigem, usuarioId));
+
+        log.info("Usuário ID {} movido do shard {} para o shard {}", usuarioId, origem, destino);
+    }
+
+    private static void copiar(JdbcTemplate origem, JdbcTemplate destino, long usuarioId) {
+        copiarLinhas(origem, destino, "usuarios", "id = ?", usuarioId, null);
+        copiarLinhas(origem, destino, "projetos", "usuario_id = ?", usuarioId, null);
+        // Predecessoras apontam para tarefas do mesmo lote: gravadas depois de todas existirem
+        List<Map<String, Object>> tarefas = copiarLinhas(origem, destino, "tarefas", TAREFAS_DO_USUARIO,
+            usuarioId, "tarefa_predecessora_id");
+        List<Object[]> predecessoras = new ArrayList<>();
+        for (Map<String, Object> tarefa : tarefas) {
+            Object predecessora = tarefa.get("tarefa_predecessora_id");
+            if (predecessora != null)
+                predecessoras.add(new Object[] { predecessora, tarefa.get("id") });
+        }
+        destino.batchUpdate("UPDATE tarefas SET tarefa_predecessora_id = ? WHERE id = ?", predecessoras);
+
+        copiarLinhas(origem, destino, "exclusoes", "usuario_id = ?", usuarioId, null);
+        copiarLinhas(origem, destino, "contadores_usuario", "usuario_id = ?", usuarioId, null);
+        copiarLinhas(origem, destino, "contadores_projeto", "usuario_id = ?", usuarioId, null);
+        copiarLinhas(origem, destino, "versoes_usuario", "usuario_id = ?", usuarioId, null);
+        copiarLinhas(origem, destino, "versoes_projeto", "usuario_id = ?", usuarioId, null);
+    }
+
+    /**
+     * Copia as linhas da tabela que atendem ao filtro, com a coluna adiada gravada nula
+     *
+     * @return as linhas lidas na origem
+     */
+    private static List<Map<String, Object>> copiarLinhas(JdbcTemplate origem, JdbcTemplate destino, String tabela,
+                                                          String filtro, long usuarioId, String colunaAdiada) {
+        List<Map<String, Object>> linhas = origem.queryForList(
+            "SELECT * FROM " + tabela + " WHERE " + filtro, usuarioId);
+        if (linhas.isEmpty())
+            return linhas;
+
+        List<String> colunas = new ArrayList<>(linhas.get(0).keySet());
+        String sql = "INSERT INTO " + tabela + " (" + String.join(", ", colunas) + ") VALUES ("
+            + String.join(", ", colunas.stream().map(coluna -> "?").toList()) + ")";
+        List<Object[]> valores = new ArrayList<>();
+        for (Map<String, Object> linha : linhas) {
+            valores.add(colunas.stream()
+                .map(coluna -> coluna.equalsIgnoreCase(colunaAdiada) ? null : linha.get(coluna))
+                .toArray());
+        }
+        destino.batchUpdate(sql, valores);
+        return linhas;
+    }
+
+    private static void excluir(JdbcTemplate banco, long usuarioId) {
+        banco.update("UPDATE tarefas SET tarefa_predecessora_id = NULL WHERE " + TAREFAS_DO_USUARIO, usuarioId);
+        banco.update("DELETE FROM tarefas WHERE " + TAREFAS_DO_USUARIO, usuarioId);
+        banco.update("DELETE FROM contadores_projeto WHERE usuario_id = ?", usuarioId);
+        banco.update("DELETE FROM projetos WHERE usuario_id = ?", usuarioId);
+        banco.update("DELETE FROM exclusoes WHERE usuario_id = ?", usuarioId);
+        banco.update("DELETE FROM contadores_usuario WHERE usuario_id = ?", usuarioId);
+        banco.update("DELETE FROM versoes_projeto WHERE usuario_id = ?", usuarioId);
+        banco.update("DELETE FROM versoes_usuario WHERE usuario_id = ?", usuarioId);
+        banco.update("DELETE FROM usuarios WHERE id = ?", usuarioId);
+    }
+
+    private JdbcTemplate jdbc(int shard) {
+        return new JdbcTemplate(shards.shard(shard));
+    }
+
+    private TransactionTemplate transacao(int shard) {
+        return new TransactionTemplate(new DataSourceTransactionManager(shards.shard(shard)));
+    }
+}
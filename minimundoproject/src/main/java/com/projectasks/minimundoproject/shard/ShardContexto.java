@@ -0,0 +1,51 @@
+package com.projectasks.minimundoproject.shard;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard da thread atual, consultado pelo ShardDataSource ao obter uma conexão.
+ * Sem shard definido as conexões vão ao banco do diretório.
+ */
+public final class ShardContexto {
+
+    private static final ThreadLocal<Integer> ATUAL = new ThreadLocal<>();
+
+    private ShardContexto() {
+    }
+
+    public static Integer atual() {
+        return ATUAL.get();
+    }
+
+    public static void definir(Integer shard) {
+        if (shard == null)
+            ATUAL.remove();
+        else
+            ATUAL.set(shard);
+    }
+
+    public static void limpar() {
+        ATUAL.remove();
+    }
+
+    /**
+     * Executa no shard informado e restaura o anterior. A transação deve começar dentro
+     * da chamada: uma conexão já obtida continua no banco em que foi aberta.
+     */
+    public static <T> T executar(Integer shard, Supplier<T> acao) {
+        Integer anterior = ATUAL.get();
+        definir(shard);
+        try {
+            return acao.get();
+        } finally {
+            definir(anterior);
+        }
+    }
+
+    public static void executar(Integer shard, Runnable acao) {
+        executar(shard, () -> {
+            acao.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,65 @@
+package com.projectasks.minimundoproject.shard;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * DataSource da aplicação no modo sharding: cada conexão vai ao shard do ShardContexto
+ * (1..N) ou, sem shard definido, ao banco do diretório (usuários por email, sessões).
+ */
+public class ShardDataSource extends AbstractDataSource {
+
+    private final DataSource diretorio;
+    private final List<HikariDataSource> shards;
+
+    public ShardDataSource(DataSource diretorio, List<HikariDataSource> shards) {
+        this.diretorio = diretorio;
+        this.shards = shards;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return alvo().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return alvo().getConnection(username, password);
+    }
+
+    /**
+     * Banco do diretório, independente do shard da requisição
+     */
+    public DataSource getDiretorio() {
+        return diretorio;
+    }
+
+    public DataSource shard(int numero) {
+        if (numero < 1 || numero > shards.size())
+            throw new IllegalStateException("Shard inexistente: " + numero);
+        return shards.get(numero - 1);
+    }
+
+    public int getTotalShards() {
+        return shards.size();
+    }
+
+    /**
+     * Fecha os pools dos shards (o do diretório é um bean próprio)
+     */
+    public void close() {
+        shards.forEach(HikariDataSource::close);
+    }
+
+    private DataSource alvo() {
+        Integer shard = ShardContexto.atual();
+        return shard != null ? shard(shard) : diretorio;
+    }
+}
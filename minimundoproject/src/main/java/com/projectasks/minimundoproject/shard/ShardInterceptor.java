@@ -0,0 +1,44 @@
+package com.projectasks.minimundoproject.shard;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.projectasks.minimundoproject.util.UsuarioAtual;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Define o shard do usuário autenticado durante o controller e a view; requisições sem
+ * usuário (login, registro) ficam no diretório e o AuthService escolhe o shard.
+ */
+public class ShardInterceptor implements AsyncHandlerInterceptor {
+
+    private final DiretorioUsuariosShards diretorio;
+
+    public ShardInterceptor(DiretorioUsuariosShards diretorio) {
+        this.diretorio = diretorio;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Long usuarioId = UsuarioAtual.id();
+        ShardContexto.definir(usuarioId != null ? diretorio.shardDe(usuarioId) : null);
+        return true;
+    }
+
+    /**
+     * A thread da requisição volta ao Tomcat; a resposta assíncrona já recebeu o shard do
+     * ShardTaskDecorator quando foi submetida ao executor
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        ShardContexto.limpar();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        ShardContexto.limpar();
+    }
+}
@@ -0,0 +1,21 @@
+package com.projectasks.minimundoproject.shard;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Leva o shard da requisição às tarefas executadas em outra thread. Aplicado pelo Spring Boot
+ * ao applicationTaskExecutor e pelo StreamingConfig ao executor das listagens em streaming.
+ * O shard é capturado na submissão, ainda na thread da requisição.
+ */
+@Component
+public class ShardTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable tarefa) {
+        Integer shard = ShardContexto.atual();
+        if (shard == null)
+            return tarefa;
+        return () -> ShardContexto.executar(shard, tarefa);
+    }
+}
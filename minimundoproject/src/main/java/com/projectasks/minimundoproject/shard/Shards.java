@@ -0,0 +1,37 @@
+package com.projectasks.minimundoproject.shard;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Execução em todos os shards para rotinas sem usuário na requisição (reconciliação,
+ * reconstrução de índice, expurgos). Sem sharding, executa uma vez no banco padrão.
+ */
+@Component
+public class Shards {
+
+    private final int total;
+
+    public Shards(@Value("${datasource.shards.urls:}") List<String> urls) {
+        this.total = (int) urls.stream().filter(url -> !url.isBlank()).count();
+    }
+
+    public boolean isAtivo() {
+        return total > 0;
+    }
+
+    /**
+     * Executa a ação em cada shard; transações devem começar dentro da ação
+     */
+    public void paraCada(Runnable acao) {
+        if (total == 0) {
+            acao.run();
+            return;
+        }
+        for (int shard = 1; shard <= total; shard++) {
+            ShardContexto.executar(shard, acao);
+        }
+    }
+}
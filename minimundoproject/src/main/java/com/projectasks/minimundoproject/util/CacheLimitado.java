@@ -0,0 +1,139 @@
+package com.projectasks.minimundoproject.util;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Cache em memória com número máximo de entradas e, opcionalmente, peso total máximo
+ * (ex.: bytes). Leituras sem bloqueio; ao estourar um dos limites, descarta uma fração das entradas.
+ */
+public class CacheLimitado<K, V> {
+
+    private final Map<K, V> entradas = new ConcurrentHashMap<>();
+    private final int tamanhoMaximo;
+    private final long pesoMaximo;
+    private final ToLongFunction<V> peso;
+    private final AtomicLong pesoTotal = new AtomicLong();
+
+    public CacheLimitado(int tamanhoMaximo) {
+        this(tamanhoMaximo, Long.MAX_VALUE, null);
+    }
+
+    /**
+     * Valores mais pesados que o próprio limite não são guardados
+     */
+    public CacheLimitado(int tamanhoMaximo, long pesoMaximo, ToLongFunction<V> peso) {
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.pesoMaximo = pesoMaximo;
+        this.peso = peso;
+    }
+
+    public V get(K chave) {
+        return entradas.get(chave);
+    }
+
+    /**
+     * Valor em cache ou carregado pela função; valores nulos não são guardados
+     */
+    public V get(K chave, Function<K, V> carregar) {
+        V valor = entradas.get(chave);
+        if (valor == null) {
+            valor = carregar.apply(chave);
+            if (valor != null)
+                put(chave, valor);
+        }
+        return valor;
+    }
+
+    /**
+     * Como {@link #get(Object, Function)}, mas a criação é atômica em relação a um put concorrente
+     */
+    public V computeIfAbsent(K chave, Function<K, V> criar) {
+        V valor = entradas.get(chave);
+        if (valor != null)
+            return valor;
+        if (entradas.size() >= tamanhoMaximo || pesoTotal.get() > pesoMaximo)
+            liberarEspaco();
+        return entradas.computeIfAbsent(chave, k -> {
+            V criado = criar.apply(k);
+            pesoTotal.addAndGet(pesoDe(criado));
+            return criado;
+        });
+    }
+
+    /**
+     * Atualização atômica da entrada (como ConcurrentHashMap.compute); resultado nulo remove
+     */
+    public V compute(K chave, BiFunction<K, V, V> atualizar) {
+        if (!entradas.containsKey(chave) && (entradas.size() >= tamanhoMaximo || pesoTotal.get() > pesoMaximo))
+            liberarEspaco();
+        return entradas.compute(chave, (k, anterior) -> {
+            V novo = atualizar.apply(k, anterior);
+            pesoTotal.addAndGet(pesoDe(novo) - pesoDe(anterior));
+            return novo;
+        });
+    }
+
+    public void put(K chave, V valor) {
+        long novo = pesoDe(valor);
+        if (novo > pesoMaximo)
+            return;
+        if (entradas.size() >= tamanhoMaximo || pesoTotal.get() + novo > pesoMaximo)
+            liberarEspaco();
+        V anterior = entradas.put(chave, valor);
+        pesoTotal.addAndGet(novo - pesoDe(anterior));
+    }
+
+    public void remove(K chave) {
+        pesoTotal.addAndGet(-pesoDe(entradas.remove(chave)));
+    }
+
+    /**
+     * Remove as entradas cujo valor atende ao critério
+     */
+    public void removerSe(Predicate<V> criterio) {
+        entradas.forEach((chave, valor) -> {
+            if (criterio.test(valor) && entradas.remove(chave, valor))
+                pesoTotal.addAndGet(-pesoDe(valor));
+        });
+    }
+
+    public void clear() {
+        entradas.keySet().forEach(this::remove);
+    }
+
+    public int size() {
+        return entradas.size();
+    }
+
+    /**
+     * Soma dos pesos das entradas (0 sem função de peso)
+     */
+    public long peso() {
+        return pesoTotal.get();
+    }
+
+    private long pesoDe(V valor) {
+        return peso == null || valor == null ? 0L : peso.applyAsLong(valor);
+    }
+
+    /**
+     * Descarta uma fração das entradas e, com peso, continua até ficar abaixo de 90% do peso máximo
+     */
+    private void liberarEspaco() {
+        int remover = Math.max(1, tamanhoMaximo / 10);
+        long pesoAlvo = pesoMaximo - pesoMaximo / 10;
+        Iterator<Map.Entry<K, V>> itens = entradas.entrySet().iterator();
+        while ((remover-- > 0 || pesoTotal.get() > pesoAlvo) && itens.hasNext()) {
+            Map.Entry<K, V> item = itens.next();
+            if (entradas.remove(item.getKey(), item.getValue()))
+                pesoTotal.addAndGet(-pesoDe(item.getValue()));
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.projectasks.minimundoproject.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Limit;
+
+import com.projectasks.minimundoproject.dto.response.PageResponse;
+import com.projectasks.minimundoproject.exception.BusinessException;
+import com.projectasks.minimundoproject.util.IndiceTexto.Relevancia;
+
+/**
+ * Utilitário de paginação por cursor (keyset) sobre o ID.
+ * O cursor é opaco para o cliente: Base64 do último ID retornado, ou da relevância do último
+ * item nas buscas pelo índice em memória.
+ */
+public final class CursorUtil {
+
+    public static final int TAMANHO_PADRAO = 20;
+    public static final int TAMANHO_MAXIMO = 100;
+
+    private static final String PREFIXO = "id:";
+    private static final String PREFIXO_RELEVANCIA = "rel:";
+
+    private CursorUtil() {
+    }
+
+    /**
+     * Limita o tamanho de página solicitado ao máximo do servidor
+     */
+    public static int normalizarTamanho(Integer tamanho) {
+        if (tamanho == null || tamanho <= 0)
+            return TAMANHO_PADRAO;
+        return Math.min(tamanho, TAMANHO_MAXIMO);
+    }
+
+    /**
+     * Limite da consulta: um registro a mais para saber se existe próxima página
+     */
+    public static Limit limiteConsulta(int tamanho) {
+        return Limit.of(tamanho + 1);
+    }
+
+    public static String encode(Long id) {
+        if (id == null)
+            return null;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIXO + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica o cursor; cursor ausente equivale ao início da listagem
+     */
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank())
+            return 0L;
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!valor.startsWith(PREFIXO))
+                throw new BusinessException("Cursor de paginação inválido");
+            return Long.parseLong(valor.substring(PREFIXO.length()));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Cursor de paginação inválido");
+        }
+    }
+
+    /**
+     * Monta a página a partir das linhas lidas com {@link #limiteConsulta(int)}
+     */
+    public static <E, T> PageResponse<T> toPage(List<E> linhas, int tamanho,
+                                                Function<E, Long> id, Function<E, T> mapper) {
+        boolean temProxima = linhas.size() > tamanho;
+        List<E> pagina = temProxima ? linhas.subList(0, tamanho) : linhas;
+
+        List<T> itens = pagina.stream()
+            .map(mapper)
+            .collect(Collectors.toList());
+
+        String proximoCursor = temProxima ? encode(id.apply(pagina.get(pagina.size() - 1))) : null;
+        return new PageResponse<>(itens, proximoCursor, itens.size());
+    }
+
+    /**
+     * Monta a página de uma busca no índice: o cursor é a relevância do último item, e não
+     * o ID, para a página seguinte continuar na ordem de relevância
+     */
+    public static <E, T> PageResponse<T> toPageRelevancia(List<E> linhas, int tamanho, Map<Long, Relevancia> relevancias,
+                                                          Function<E, Long> id, Function<E, T> mapper) {
+        boolean temProxima = linhas.size() > tamanho;
+        List<E> pagina = temProxima ? linhas.subList(0, tamanho) : linhas;
+
+        List<T> itens = pagina.stream()
+            .map(mapper)
+            .collect(Collectors.toList());
+
+        String proximoCursor = temProxima
+            ? encodeRelevancia(relevancias.get(id.apply(pagina.get(pagina.size() - 1))))
+            : null;
+        return new PageResponse<>(itens, proximoCursor, itens.size());
+    }
+
+    /**
+     * Aplica o cursor ao resultado do índice de busca (já em ordem de relevância): itens
+     * depois do cursor, limitados como em {@link #limiteConsulta(int)}
+     */
+    public static List<Relevancia> recortar(List<Relevancia> resultado, String cursor, int tamanho) {
+        Relevancia apos = decodeRelevancia(cursor);
+        return resultado.stream()
+            .filter(item -> apos == null || item.compareTo(apos) > 0)
+            .limit(tamanho + 1L)
+            .collect(Collectors.toList());
+    }
+
+    public static String encodeRelevancia(Relevancia relevancia) {
+        String valor = PREFIXO_RELEVANCIA + relevancia.peso() + "," + relevancia.posicao() + ","
+            + relevancia.tamanho() + "," + relevancia.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Cursor de busca no índice; ausente equivale ao início do resultado
+     */
+    public static Relevancia decodeRelevancia(String cursor) {
+        if (cursor == null || cursor.isBlank())
+            return null;
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!valor.startsWith(PREFIXO_RELEVANCIA))
+                throw new BusinessException("Cursor de paginação inválido");
+            String[] partes = valor.substring(PREFIXO_RELEVANCIA.length()).split(",");
+            if (partes.length != 4)
+                throw new BusinessException("Cursor de paginação inválido");
+            return new Relevancia(Long.parseLong(partes[3]), Integer.parseInt(partes[1]),
+                Integer.parseInt(partes[0]), Integer.parseInt(partes[2]));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Cursor de paginação inválido");
+        }
+    }
+
+    /**
+     * Reordena as entidades carregadas por IDs conforme a ordem da lista de IDs
+     */
+    public static <E> List<E> ordenarConforme(List<E> entidades, List<Long> ids, Function<E, Long> id) {
+        Map<Long, Integer> posicoes = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            posicoes.put(ids.get(i), i);
+        }
+        return entidades.stream()
+            .sorted(Comparator.comparingInt((E e) -> posicoes.getOrDefault(id.apply(e), Integer.MAX_VALUE)))
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,210 @@
+package com.projectasks.minimundoproject.util;
+
+import java.util.Arrays;
+
+/**
+ * Grafo de dependências das tarefas de um projeto (tarefaPredecessora → tarefa)
+ * em arrays primitivos, com algoritmos O(V+E): ordem topológica, detecção de
+ * ciclos e método do caminho crítico (CPM).
+ *
+ * Os tempos são deslocamentos em dias a partir de uma data de origem; uma tarefa
+ * ocupa os dias [inicio, inicio + duracao).
+ */
+public final class GrafoDependencias {
+
+    private final long[] ids;
+    private final int[] predecessora;
+    private final int[] duracao;
+    private final int[] inicioMinimo;
+    private final int n;
+
+    // Sucessores em formato CSR: filhos[inicioFilhos[i] .. inicioFilhos[i + 1])
+    private final int[] inicioFilhos;
+    private final int[] filhos;
+
+    private int[] ordem;
+
+    /**
+     * @param ids            IDs das tarefas em ordem crescente
+     * @param predecessoras  ID da predecessora de cada tarefa, ou 0 quando não há
+     * @param duracao        duração de cada tarefa em dias
+     * @param inicioMinimo   dia mais cedo permitido para o início de cada tarefa
+     */
+    public GrafoDependencias(long[] ids, long[] predecessoras, int[] duracao, int[] inicioMinimo) {
+        this.n = ids.length;
+        this.ids = ids;
+        this.duracao = duracao;
+        this.inicioMinimo = inicioMinimo;
+        this.predecessora = new int[n];
+
+        int[] quantidadeFilhos = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            predecessora[i] = predecessoras[i] == 0 ? -1 : indice(predecessoras[i]);
+            if (predecessora[i] >= 0)
+                quantidadeFilhos[predecessora[i] + 1]++;
+        }
+
+        inicioFilhos = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            inicioFilhos[i + 1] = inicioFilhos[i] + quantidadeFilhos[i + 1];
+        }
+        filhos = new int[inicioFilhos[n]];
+        int[] proximo = Arrays.copyOf(inicioFilhos, n);
+        for (int i = 0; i < n; i++) {
+            if (predecessora[i] >= 0)
+                filhos[proximo[predecessora[i]]++] = i;
+        }
+    }
+
+    public int tamanho() {
+        return n;
+    }
+
+    public long id(int indice) {
+        return ids[indice];
+    }
+
+    /**
+     * Índice da tarefa pelo ID, ou -1 se não pertence ao grafo
+     */
+    public int indice(long id) {
+        int indice = Arrays.binarySearch(ids, id);
+        return indice >= 0 ? indice : -1;
+    }
+
+    public int predecessora(int indice) {
+        return predecessora[indice];
+    }
+
+    public int duracao(int indice) {
+        return duracao[indice];
+    }
+
+    /**
+     * Ordem topológica (algoritmo de Kahn). Tarefas em ciclo ficam de fora.
+     */
+    public int[] ordemTopologica() {
+        if (ordem != null)
+            return ordem;
+
+        int[] fila = new int[n];
+        int fim = 0;
+        for (int i = 0; i < n; i++) {
+            if (predecessora[i] < 0)
+                fila[fim++] = i;
+        }
+        // Cada tarefa tem no máximo uma predecessora: entra na fila quando ela sai
+        for (int inicio = 0; inicio < fim; inicio++) {
+            int atual = fila[inicio];
+            for (int k = inicioFilhos[atual]; k < inicioFilhos[atual + 1]; k++) {
+                fila[fim++] = filhos[k];
+            }
+        }
+        ordem = Arrays.copyOf(fila, fim);
+        return ordem;
+    }
+
+    public boolean temCiclo() {
+        return ordemTopologica().length < n;
+    }
+
+    /**
+     * IDs das tarefas que fazem parte de (ou dependem de) um ciclo
+     */
+    public long[] tarefasEmCiclo() {
+        boolean[] ordenada = new boolean[n];
+        for (int i : ordemTopologica()) {
+            ordenada[i] = true;
+        }
+        long[] resultado = new long[n - ordemTopologica().length];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            if (!ordenada[i])
+                resultado[k++] = ids[i];
+        }
+        return resultado;
+    }
+
+    /**
+     * Verifica se definir novaPredecessora como predecessora de tarefa fecha um ciclo:
+     * percorre a cadeia de predecessoras a partir de novaPredecessora (no máximo V passos).
+     */
+    public boolean criariaCiclo(long tarefaId, long novaPredecessoraId) {
+        if (tarefaId == novaPredecessoraId)
+            return true;
+        int tarefa = indice(tarefaId);
+        int atual = indice(novaPredecessoraId);
+        for (int passos = 0; atual >= 0 && passos <= n; passos++) {
+            if (atual == tarefa)
+                return true;
+            atual = predecessora[atual];
+        }
+        return atual >= 0;
+    }
+
+    /**
+     * Método do caminho crítico: passagem para frente (início/fim mais cedo) e
+     * para trás (início/fim mais tarde) na ordem topológica.
+     */
+    public Calculo calcular() {
+        int[] ordemTopologica = ordemTopologica();
+        int[] inicioCedo = new int[n];
+        int[] fimCedo = new int[n];
+        int[] inicioTarde = new int[n];
+        int[] fimTarde = new int[n];
+
+        int fimProjeto = 0;
+        for (int i : ordemTopologica) {
+            int p = predecessora[i];
+            inicioCedo[i] = Math.max(inicioMinimo[i], p >= 0 ? fimCedo[p] : 0);
+            fimCedo[i] = inicioCedo[i] + duracao[i];
+            fimProjeto = Math.max(fimProjeto, fimCedo[i]);
+        }
+
+        for (int k = ordemTopologica.length - 1; k >= 0; k--) {
+            int i = ordemTopologica[k];
+            int limite = fimProjeto;
+            for (int j = inicioFilhos[i]; j < inicioFilhos[i + 1]; j++) {
+                limite = Math.min(limite, inicioTarde[filhos[j]]);
+            }
+            fimTarde[i] = limite;
+            inicioTarde[i] = limite - duracao[i];
+        }
+
+        return new Calculo(ordemTopologica, inicioCedo, fimCedo, inicioTarde, fimTarde, fimProjeto,
+            caminhoCritico(ordemTopologica, fimCedo, inicioCedo, inicioTarde, fimProjeto));
+    }
+
+    /**
+     * Cadeia sem folga que termina na tarefa de maior fim mais cedo (desempate pelo menor ID)
+     */
+    private int[] caminhoCritico(int[] ordemTopologica, int[] fimCedo, int[] inicioCedo,
+                                 int[] inicioTarde, int fimProjeto) {
+        int ultima = -1;
+        for (int i : ordemTopologica) {
+            if (fimCedo[i] == fimProjeto && (ultima < 0 || i < ultima))
+                ultima = i;
+        }
+        int[] caminho = new int[ordemTopologica.length];
+        int tamanho = 0;
+        for (int atual = ultima; atual >= 0 && inicioTarde[atual] == inicioCedo[atual]; atual = predecessora[atual]) {
+            caminho[tamanho++] = atual;
+        }
+        int[] resultado = new int[tamanho];
+        for (int k = 0; k < tamanho; k++) {
+            resultado[k] = caminho[tamanho - 1 - k];
+        }
+        return resultado;
+    }
+
+    /**
+     * Resultado do CPM, indexado pelo índice da tarefa no grafo
+     */
+    public record Calculo(int[] ordem, int[] inicioCedo, int[] fimCedo, int[] inicioTarde, int[] fimTarde,
+                          int fimProjeto, int[] caminhoCritico) {
+
+        public int folga(int indice) {
+            return inicioTarde[indice] - inicioCedo[indice];
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.projectasks.minimundoproject.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido de trigramas para busca por trecho de texto ("contém").
+ * Insensível a maiúsculas e acentos. Cada documento pode pertencer a um grupo
+ * (ex.: o projeto de uma tarefa) para restringir a busca.
+ * Thread-safe: leituras concorrentes, escritas exclusivas.
+ */
+public class IndiceTexto {
+
+    private static final int N = 3;
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+
+    private final Map<Long, Documento> documentos = new HashMap<>();
+    private final Map<String, Set<Long>> trigramas = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private record Documento(String texto, Long grupoId) {
+    }
+
+    /**
+     * Posição de um documento no resultado; a ordem é total (o ID desempata), então serve
+     * de cursor para continuar a busca depois dele
+     */
+    public record Relevancia(Long id, int posicao, int peso, int tamanho) implements Comparable<Relevancia> {
+
+        private static final Comparator<Relevancia> ORDEM = Comparator.comparingInt(Relevancia::peso)
+            .thenComparingInt(Relevancia::posicao)
+            .thenComparingInt(Relevancia::tamanho)
+            .thenComparing(Relevancia::id);
+
+        @Override
+        public int compareTo(Relevancia outra) {
+            return ORDEM.compare(this, outra);
+        }
+    }
+
+    /**
+     * Remove acentos e converte para minúsculas ("Ação" → "acao")
+     */
+    public static String normalizar(String texto) {
+        if (texto == null)
+            return "";
+        String semAcentos = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return semAcentos.toLowerCase(Locale.ROOT).trim();
+    }
+
+    /**
+     * Insere ou substitui o texto indexado de um documento
+     */
+    public void indexar(Long id, String texto, Long grupoId) {
+        String normalizado = normalizar(texto);
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+            documentos.put(id, new Documento(normalizado, grupoId));
+            for (String trigrama : trigramasDe(normalizado)) {
+                trigramas.computeIfAbsent(trigrama, k -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Long id) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isVazio() {
+        lock.readLock().lock();
+        try {
+            return documentos.isEmpty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * IDs dos documentos que contêm o termo, ordenados por relevância:
+     * início do texto, depois início de palavra, depois posição e tamanho do texto.
+     *
+     * @param grupoId restringe ao grupo informado; nulo busca em todos
+     */
+    public List<Long> buscar(String termo, Long grupoId) {
+        List<Relevancia> resultados = buscarPorRelevancia(termo, grupoId);
+        List<Long> ids = new ArrayList<>(resultados.size());
+        for (Relevancia resultado : resultados) {
+            ids.add(resultado.id());
+        }
+        return ids;
+    }
+
+    /**
+     * Como {@link #buscar(String, Long)}, com a posição de cada documento na ordenação
+     */
+    public List<Relevancia> buscarPorRelevancia(String termo, Long grupoId) {
+        String normalizado = normalizar(termo);
+        if (normalizado.isEmpty())
+            return List.of();
+
+        List<Relevancia> resultados = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Long id : candidatos(normalizado)) {
+                Documento documento = documentos.get(id);
+                if (documento == null || (grupoId != null && !grupoId.equals(documento.grupoId())))
+                    continue;
+                int posicao = documento.texto().indexOf(normalizado);
+                if (posicao < 0)
+                    continue;
+                resultados.add(new Relevancia(id, posicao, peso(documento.texto(), posicao), documento.texto().length()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        resultados.sort(Comparator.naturalOrder());
+        return resultados;
+    }
+
+    /**
+     * Interseção das listas de trigramas do termo, começando pela menor.
+     * Termos menores que um trigrama percorrem todos os documentos.
+     */
+    private Set<Long> candidatos(String termo) {
+        if (termo.length() < N)
+            return documentos.keySet();
+
+        List<Set<Long>> listas = new ArrayList<>();
+        for (String trigrama : trigramasDe(termo)) {
+            Set<Long> ids = trigramas.get(trigrama);
+            if (ids == null)
+                return Set.of();
+            listas.add(ids);
+        }
+        listas.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> resultado = new HashSet<>(listas.get(0));
+        for (int i = 1; i < listas.size() && !resultado.isEmpty(); i++) {
+            resultado.retainAll(listas.get(i));
+        }
+        return resultado;
+    }
+
+    private void removerSemLock(Long id) {
+        Documento anterior = documentos.remove(id);
+        if (anterior == null)
+            return;
+        for (String trigrama : trigramasDe(anterior.texto())) {
+            Set<Long> ids = trigramas.get(trigrama);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty())
+                    trigramas.remove(trigrama);
+            }
+        }
+    }
+
+    private static Set<String> trigramasDe(String texto) {
+        Set<String> resultado = new HashSet<>();
+        for (int i = 0; i + N <= texto.length(); i++) {
+            resultado.add(texto.substring(i, i + N));
+        }
+        return resultado;
+    }
+
+    private static int peso(String texto, int posicao) {
+        if (posicao == 0)
+            return 0;
+        return Character.isLetterOrDigit(texto.charAt(posicao - 1)) ? 2 : 1;
+    }
+}
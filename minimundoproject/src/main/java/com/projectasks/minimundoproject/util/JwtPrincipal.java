@@ -0,0 +1,17 @@
+package com.projectasks.minimundoproject.util;
+
+import lombok.Value;
+
+/**
+ * Dados imutáveis extraídos de um token JWT já verificado
+ */
+@Value
+public class JwtPrincipal {
+    Long usuarioId;
+    String email;
+    long expiraEm;
+
+    public boolean isExpirado(long agora) {
+        return expiraEm <= agora;
+    }
+}
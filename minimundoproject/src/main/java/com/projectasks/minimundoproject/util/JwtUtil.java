@@ -1,101 +1,163 @@
 package com.projectasks.minimundoproject.util;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 
 @Component
 public class JwtUtil {
-    
+
     @Value("${jwt.secret}")
     private String secret;
-    
+
     @Value("${jwt.expiration}")
     private Long expiration;
-    
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+
+    @Value("${jwt.cache.max-size:10000}")
+    private int cacheMaxSize;
+
+    // Chave e parser são imutáveis e thread-safe: montados uma única vez
+    private Key signingKey;
+    private JwtParser parser;
+
+    // Tokens já verificados, indexados pelo hash SHA-256 do token
+    private CacheLimitado<String, JwtPrincipal> tokensVerificados;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        tokensVerificados = new CacheLimitado<>(cacheMaxSize);
     }
-    
+
     /**
      * Gera um token JWT para o usuário
      */
     public String generateToken(String email, Long usuarioId) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
-        
+
         return Jwts.builder()
                 .setSubject(email)
                 .claim("userId", usuarioId)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
-    
+
+    /**
+     * Verifica o token e extrai os dados do usuário em uma única leitura.
+     * Tokens já verificados e ainda válidos são atendidos pelo cache,
+     * sem refazer HMAC nem parse do JSON.
+     */
+    public Optional<JwtPrincipal> verify(String token) {
+        if (token == null || token.isEmpty())
+            return Optional.empty();
+
+        long agora = System.currentTimeMillis();
+        String chave = hash(token);
+
+        JwtPrincipal principal = tokensVerificados.get(chave);
+        if (principal != null) {
+            if (!principal.isExpirado(agora))
+                return Optional.of(principal);
+            tokensVerificados.remove(chave);
+            return Optional.empty();
+        }
+
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            // Sem exp o token nunca venceria: inválido
+            Date expiracao = claims.getExpiration();
+            if (expiracao == null)
+                return Optional.empty();
+            principal = new JwtPrincipal(
+                    claims.get("userId", Long.class),
+                    claims.getSubject(),
+                    expiracao.getTime());
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        if (principal.getUsuarioId() == null)
+            return Optional.empty();
+
+        guardar(chave, principal, agora);
+        return Optional.of(principal);
+    }
+
     /**
      * Extrai o email do token
      */
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        
-        return claims.getSubject();
+        return parseClaims(token).getSubject();
     }
-    
+
     /**
      * Extrai o ID do usuário do token
      */
     public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        
-        return claims.get("userId", Long.class);
+        return parseClaims(token).get("userId", Long.class);
     }
-    
+
     /**
      * Valida o token JWT
      */
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return verify(token).isPresent();
     }
-    
+
     /**
      * Verifica se o token está expirado
      */
     public boolean isTokenExpired(String token) {
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            
-            return claims.getExpiration().before(new Date());
+            Date expiracao = parseClaims(token).getExpiration();
+            return expiracao == null || expiracao.before(new Date());
         } catch (JwtException e) {
             return true;
         }
     }
-}
\ No newline at end of file
+
+    private Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Mantém o cache limitado: ao atingir o máximo, descarta os expirados e, se ainda
+     * estiver cheio, o CacheLimitado descarta só uma fração (os demais tokens seguem em cache).
+     */
+    private void guardar(String chave, JwtPrincipal principal, long agora) {
+        if (tokensVerificados.size() >= cacheMaxSize)
+            tokensVerificados.removerSe(p -> p.isExpirado(agora));
+        tokensVerificados.put(chave, principal);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
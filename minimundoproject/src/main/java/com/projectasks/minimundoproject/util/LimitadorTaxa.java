@@ -0,0 +1,63 @@
+package com.projectasks.minimundoproject.util;
+
+import java.time.Duration;
+
+/**
+ * Token bucket por chave, com número máximo de chaves (CacheLimitado).
+ *
+ * Cada balde é um único long com o "tempo teórico de chegada" (GCRA, equivalente ao token
+ * bucket): cada tentativa aceita avança o tempo em um intervalo de reposição, e a tentativa
+ * é recusada quando ele ficaria mais de capacidade × intervalo à frente de agora.
+ * Um balde cujo tempo já passou está cheio e equivale a um balde novo, então pode ser
+ * descartado sem alterar o resultado: é assim que {@link #limparOciosos()} remove os ociosos.
+ *
+ * A tentativa é atômica com a remoção (compute no mapa e remoção condicionada ao valor
+ * lido), então um balde nunca é consumido depois de descartado. Com o limite de chaves
+ * atingido, uma fração das chaves é descartada: um balde descartado volta cheio.
+ */
+public final class LimitadorTaxa {
+
+    private final CacheLimitado<String, Long> baldes;
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+
+    /**
+     * @param capacidade tentativas permitidas em rajada
+     * @param periodo    período em que a capacidade é reposta por completo
+     * @param maxChaves  chaves mantidas em memória
+     */
+    public LimitadorTaxa(int capacidade, Duration periodo, int maxChaves) {
+        this.intervaloNanos = periodo.toNanos() / capacidade;
+        this.toleranciaNanos = intervaloNanos * capacidade;
+        this.baldes = new CacheLimitado<>(maxChaves);
+    }
+
+    /**
+     * Consome uma ficha do balde da chave
+     *
+     * @return false quando o balde está vazio
+     */
+    public boolean tentar(String chave) {
+        long agora = System.nanoTime();
+        boolean[] aceita = new boolean[1];
+        baldes.compute(chave, (k, chegada) -> {
+            long proxima = Math.max(chegada == null ? 0 : chegada - agora, 0) + agora + intervaloNanos;
+            aceita[0] = proxima - agora <= toleranciaNanos;
+            return aceita[0] ? proxima : chegada;
+        });
+        return aceita[0];
+    }
+
+    /**
+     * Remove os baldes cheios (ociosos desde a última reposição completa); chamado pela
+     * limpeza agendada, nunca durante uma tentativa
+     */
+    public void limparOciosos() {
+        long agora = System.nanoTime();
+        baldes.removerSe(chegada -> chegada - agora <= 0);
+    }
+
+    public int tamanho() {
+        return baldes.size();
+    }
+}
@@ -0,0 +1,58 @@
+package com.projectasks.minimundoproject.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * Sequências de id (H2 e PostgreSQL): estado lido do catálogo, sem nextval, para que
+ * ajustes na subida não consumam blocos de ids.
+ */
+public final class SequenciasBanco {
+
+    // Próximo valor e incremento da sequência
+    private static final String ESTADO_H2 = "SELECT BASE_VALUE, INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES "
+        + "WHERE SEQUENCE_SCHEMA = CURRENT_SCHEMA AND UPPER(SEQUENCE_NAME) = UPPER(?)";
+    private static final String ESTADO_POSTGRES = "SELECT COALESCE(last_value + increment_by, start_value), "
+        + "increment_by FROM pg_sequences WHERE schemaname = current_schema() AND sequencename = ?";
+
+    private SequenciasBanco() {
+    }
+
+    /**
+     * Próximo valor e incremento ({proximo, incremento}); null se a sequência não existe
+     */
+    public static long[] estado(Connection conexao, String sequencia) throws SQLException {
+        String produto = conexao.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+        try (PreparedStatement consulta = conexao.prepareStatement(
+                produto.contains("postgres") ? ESTADO_POSTGRES : ESTADO_H2)) {
+            consulta.setString(1, sequencia);
+            try (ResultSet rs = consulta.executeQuery()) {
+                return rs.next() ? new long[] { rs.getLong(1), rs.getLong(2) } : null;
+            }
+        }
+    }
+
+    /**
+     * Garante que os próximos ids passem de minimo. O Hibernate (allocationSize = incremento)
+     * usa os valores abaixo do retornado, então a sequência vai a minimo + incremento.
+     * Nunca faz a sequência voltar: outras instâncias podem ter blocos já reservados.
+     *
+     * @return true se a sequência foi reiniciada
+     */
+    public static boolean avancarAcima(Connection conexao, String sequencia, long minimo) throws SQLException {
+        long[] atual = estado(conexao, sequencia);
+        if (atual == null)
+            throw new IllegalStateException("Sequência " + sequencia + " não encontrada");
+        long alvo = minimo + atual[1];
+        if (atual[0] >= alvo)
+            return false;
+        try (Statement comando = conexao.createStatement()) {
+            comando.execute("ALTER SEQUENCE " + sequencia + " RESTART WITH " + alvo);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,29 @@
+package com.projectasks.minimundoproject.util;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Usuário da requisição em andamento, para quem decide algo fora dos controllers
+ */
+public final class UsuarioAtual {
+
+    private UsuarioAtual() {
+    }
+
+    /**
+     * Principal do JWT (API) ou atributo "usuarioId" da sessão (telas); nulo sem usuário
+     */
+    public static Long id() {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacao != null && autenticacao.getPrincipal() instanceof Long usuarioId)
+            return usuarioId;
+        RequestAttributes requisicao = RequestContextHolder.getRequestAttributes();
+        if (requisicao != null
+                && requisicao.getAttribute("usuarioId", RequestAttributes.SCOPE_SESSION) instanceof Long usuarioId)
+            return usuarioId;
+        return null;
+    }
+}
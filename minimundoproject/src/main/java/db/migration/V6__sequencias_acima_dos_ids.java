@@ -0,0 +1,43 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import com.projectasks.minimundoproject.util.SequenciasBanco;
+
+/**
+ * Sequências de id em bancos anteriores ao Flyway.
+ *
+ * Esses bancos entram com baseline na V1, então o CREATE SEQUENCE da V1 nunca rodou neles:
+ * ou não têm projetos_seq/tarefas_seq, ou têm as criadas pelo ddl-auto começando em 1, abaixo
+ * dos ids gerados por IDENTITY. A sequência é criada se faltar e avançada para além do maior
+ * id da tabela. Em Java porque o reinício a partir de MAX(id) difere entre H2 e PostgreSQL.
+ */
+public class V6__sequencias_acima_dos_ids extends BaseJavaMigration {
+
+    private static final String[][] SEQUENCIAS = {
+        { "projetos", "projetos_seq" }, { "tarefas", "tarefas_seq" }, { "exclusoes", "exclusoes_seq" } };
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection conexao = context.getConnection();
+        for (String[] sequencia : SEQUENCIAS) {
+            try (Statement comando = conexao.createStatement()) {
+                // Incremento igual ao allocationSize das entidades
+                comando.execute("CREATE SEQUENCE IF NOT EXISTS " + sequencia[1] + " START WITH 1 INCREMENT BY 50");
+                long maximo;
+                try (ResultSet rs = comando.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + sequencia[0])) {
+                    rs.next();
+                    maximo = rs.getLong(1);
+                }
+                if (maximo > 0)
+                    SequenciasBanco.avancarAcima(conexao, sequencia[1], maximo);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+-- ===================================
+-- Esquema inicial (o mesmo que o ddl-auto=update gerava).
+-- Bancos já existentes entram com baseline nesta versão e seguem a partir da V2.
+-- ===================================
+
+CREATE TABLE usuarios (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome        VARCHAR(255) NOT NULL,
+    email       VARCHAR(255) NOT NULL,
+    senha       VARCHAR(255) NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_usuarios_email UNIQUE (email)
+);
+
+-- Incremento igual ao allocationSize das entidades (batch de INSERT)
+CREATE SEQUENCE projetos_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE tarefas_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE projetos (
+    id                    BIGINT PRIMARY KEY,
+    nome                  VARCHAR(255) NOT NULL,
+    descricao             TEXT,
+    status                VARCHAR(20) NOT NULL,
+    orcamento_disponivel  NUMERIC(15, 2),
+    usuario_id            BIGINT NOT NULL,
+    created_at            TIMESTAMP(6) NOT NULL,
+    updated_at            TIMESTAMP(6),
+    CONSTRAINT uk_projetos_nome UNIQUE (nome),
+    CONSTRAINT fk_projetos_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id)
+);
+
+CREATE TABLE tarefas (
+    id                      BIGINT PRIMARY KEY,
+    descricao               VARCHAR(255) NOT NULL,
+    projeto_id              BIGINT NOT NULL,
+    data_inicio             DATE,
+    data_fim                DATE,
+    tarefa_predecessora_id  BIGINT,
+    status                  VARCHAR(20) NOT NULL,
+    created_at              TIMESTAMP(6) NOT NULL,
+    updated_at              TIMESTAMP(6),
+    CONSTRAINT fk_tarefas_projeto FOREIGN KEY (projeto_id) REFERENCES projetos (id),
+    CONSTRAINT fk_tarefas_predecessora FOREIGN KEY (tarefa_predecessora_id) REFERENCES tarefas (id)
+);
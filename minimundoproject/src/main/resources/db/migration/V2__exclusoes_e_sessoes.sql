@@ -0,0 +1,41 @@
+-- ===================================
+-- Tabelas criadas depois do esquema inicial (ddl-auto e script do Spring Session).
+-- IF NOT EXISTS: em bancos migrados por baseline elas já podem existir.
+-- ===================================
+
+-- Registro de exclusões consumido pela sincronização (/api/sync)
+CREATE SEQUENCE IF NOT EXISTS exclusoes_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS exclusoes (
+    id           BIGINT PRIMARY KEY,
+    usuario_id   BIGINT NOT NULL,
+    tipo         VARCHAR(20) NOT NULL,
+    entidade_id  BIGINT NOT NULL,
+    projeto_id   BIGINT NOT NULL,
+    excluido_em  TIMESTAMP(6) NOT NULL
+);
+
+-- Sessões HTTP das telas MVC (SessaoCacheadaRepository), no formato do spring-session-jdbc
+CREATE TABLE IF NOT EXISTS SPRING_SESSION (
+    PRIMARY_ID             CHAR(36) NOT NULL,
+    SESSION_ID             CHAR(36) NOT NULL,
+    CREATION_TIME          BIGINT NOT NULL,
+    LAST_ACCESS_TIME       BIGINT NOT NULL,
+    MAX_INACTIVE_INTERVAL  INT NOT NULL,
+    EXPIRY_TIME            BIGINT NOT NULL,
+    PRINCIPAL_NAME         VARCHAR(100),
+    CONSTRAINT SPRING_SESSION_PK PRIMARY KEY (PRIMARY_ID)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS SPRING_SESSION_IX1 ON SPRING_SESSION (SESSION_ID);
+CREATE INDEX IF NOT EXISTS SPRING_SESSION_IX2 ON SPRING_SESSION (EXPIRY_TIME);
+CREATE INDEX IF NOT EXISTS SPRING_SESSION_IX3 ON SPRING_SESSION (PRINCIPAL_NAME);
+
+CREATE TABLE IF NOT EXISTS SPRING_SESSION_ATTRIBUTES (
+    SESSION_PRIMARY_ID  CHAR(36) NOT NULL,
+    ATTRIBUTE_NAME      VARCHAR(200) NOT NULL,
+    ATTRIBUTE_BYTES     BYTEA NOT NULL,
+    CONSTRAINT SPRING_SESSION_ATTRIBUTES_PK PRIMARY KEY (SESSION_PRIMARY_ID, ATTRIBUTE_NAME),
+    CONSTRAINT SPRING_SESSION_ATTRIBUTES_FK FOREIGN KEY (SESSION_PRIMARY_ID)
+        REFERENCES SPRING_SESSION (PRIMARY_ID) ON DELETE CASCADE
+);
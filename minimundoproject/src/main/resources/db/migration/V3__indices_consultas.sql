@@ -0,0 +1,36 @@
+-- ===================================
+-- Índices das consultas dos repositórios. Cada índice termina em id quando a
+-- consulta pagina por cursor (WHERE ... AND id > ? ORDER BY id), para a página
+-- sair do índice já ordenada.
+-- ===================================
+
+-- Substituídos pelas versões compostas abaixo (criados pelo ddl-auto em bancos antigos)
+DROP INDEX IF EXISTS idx_projetos_updated_at;
+DROP INDEX IF EXISTS idx_tarefas_updated_at;
+DROP INDEX IF EXISTS idx_exclusoes_usuario_excluido_em;
+
+-- ProjetoRepository
+-- findByUsuarioId, findByUsuarioIdAndIdGreaterThan..., findVersaoByUsuarioId, streamByUsuarioId,
+-- AutorizacaoService (dono do projeto) e FK projetos.usuario_id
+CREATE INDEX IF NOT EXISTS idx_projetos_usuario_id ON projetos (usuario_id, id);
+-- findByUsuarioIdAndStatus, findByUsuarioIdAndStatusAndIdGreaterThan...
+CREATE INDEX IF NOT EXISTS idx_projetos_usuario_status ON projetos (usuario_id, status, id);
+-- findByUsuarioIdAndUpdatedAtAfter... (sincronização)
+CREATE INDEX IF NOT EXISTS idx_projetos_usuario_updated_at ON projetos (usuario_id, updated_at);
+
+-- TarefaRepository
+-- findByProjetoId, findByProjetoIdAndIdGreaterThan..., streamByProjetoId, contarPorProjetos,
+-- findDependenciasByProjetoId(In), findIdsByProjetoIdAndIdIn e FK tarefas.projeto_id
+CREATE INDEX IF NOT EXISTS idx_tarefas_projeto_id ON tarefas (projeto_id, id);
+-- findByProjetoIdAndStatus, findByProjetoIdAndStatusAndIdGreaterThan...
+CREATE INDEX IF NOT EXISTS idx_tarefas_projeto_status ON tarefas (projeto_id, status, id);
+-- existsByTarefaPredecessoraId (a cada exclusão) e FK tarefas.tarefa_predecessora_id
+CREATE INDEX IF NOT EXISTS idx_tarefas_predecessora ON tarefas (tarefa_predecessora_id);
+-- findAlteradasDesde (sincronização) e MAX(updated_at) das versões: um intervalo por projeto do usuário
+CREATE INDEX IF NOT EXISTS idx_tarefas_projeto_updated_at ON tarefas (projeto_id, updated_at);
+
+-- ExclusaoRepository
+-- findByUsuarioIdAndExcluidoEmAfter...
+CREATE INDEX IF NOT EXISTS idx_exclusoes_usuario_excluido_em ON exclusoes (usuario_id, excluido_em);
+-- excluirAnterioresA (expurgo)
+CREATE INDEX IF NOT EXISTS idx_exclusoes_excluido_em ON exclusoes (excluido_em);
@@ -0,0 +1,23 @@
+-- ===================================
+-- Contadores do dashboard, mantidos pelos eventos de alteração (DashboardService)
+-- e recalculados pela reconciliação. Preenchidos na subida da aplicação.
+-- ===================================
+
+CREATE TABLE contadores_usuario (
+    usuario_id          BIGINT PRIMARY KEY,
+    total_projetos      BIGINT NOT NULL,
+    total_tarefas       BIGINT NOT NULL,
+    tarefas_concluidas  BIGINT NOT NULL,
+    tarefas_atrasadas   BIGINT NOT NULL
+);
+
+CREATE TABLE contadores_projeto (
+    projeto_id          BIGINT PRIMARY KEY,
+    usuario_id          BIGINT NOT NULL,
+    total_tarefas       BIGINT NOT NULL,
+    tarefas_concluidas  BIGINT NOT NULL,
+    tarefas_atrasadas   BIGINT NOT NULL
+);
+
+-- Reconciliação por usuário (DELETE/INSERT ... WHERE usuario_id = ?)
+CREATE INDEX idx_contadores_projeto_usuario ON contadores_projeto (usuario_id);
@@ -0,0 +1,12 @@
+-- ===================================
+-- Diretório global do modo sharding (datasource.shards.*): email → id → shard.
+-- Usado só no banco do diretório; nos shards e no modo de banco único fica vazio.
+-- shard = 0: registro em andamento (usuário ainda não gravado no shard).
+-- ===================================
+
+CREATE TABLE diretorio_usuarios (
+    usuario_id  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email       VARCHAR(255) NOT NULL,
+    shard       INT NOT NULL,
+    CONSTRAINT uk_diretorio_usuarios_email UNIQUE (email)
+);
@@ -0,0 +1,30 @@
+-- ===================================
+-- Versões para GET condicional (ETag/Last-Modified, VersaoService): incrementadas antes do
+-- commit de cada transação que altera projetos ou tarefas, para que a versão de uma
+-- listagem seja a leitura de uma linha pela chave primária.
+-- ===================================
+
+-- Listagens de projetos do usuário
+CREATE TABLE versoes_usuario (
+    usuario_id     BIGINT PRIMARY KEY,
+    versao         BIGINT NOT NULL,
+    atualizado_em  TIMESTAMP(6) NOT NULL
+);
+
+-- Projeto e listagens das suas tarefas
+CREATE TABLE versoes_projeto (
+    projeto_id     BIGINT PRIMARY KEY,
+    usuario_id     BIGINT NOT NULL,
+    versao         BIGINT NOT NULL,
+    atualizado_em  TIMESTAMP(6) NOT NULL
+);
+
+-- Rebalanceamento dos shards (cópia e exclusão por usuário)
+CREATE INDEX idx_versoes_projeto_usuario ON versoes_projeto (usuario_id);
+
+-- Dados existentes começam na versão 1 a partir de agora: respostas guardadas antes revalidam uma vez
+INSERT INTO versoes_usuario (usuario_id, versao, atualizado_em)
+SELECT DISTINCT usuario_id, 1, CURRENT_TIMESTAMP FROM projetos;
+
+INSERT INTO versoes_projeto (projeto_id, usuario_id, versao, atualizado_em)
+SELECT id, usuario_id, 1, CURRENT_TIMESTAMP FROM projetos;
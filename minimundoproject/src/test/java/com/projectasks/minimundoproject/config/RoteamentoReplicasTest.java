@@ -0,0 +1,122 @@
+package com.projectasks.minimundoproject.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.projectasks.minimundoproject.dto.request.ProjetoRequest;
+import com.projectasks.minimundoproject.dto.request.RegisterRequest;
+import com.projectasks.minimundoproject.dto.response.ProjetoResponse;
+import com.projectasks.minimundoproject.service.AuthService;
+import com.projectasks.minimundoproject.service.ProjetoService;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Roteamento de leituras com duas H2 como réplicas. Não há replicação: o que cada banco
+ * devolve mostra para onde a transação foi.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:roteamento_primario;DB_CLOSE_DELAY=-1",
+    "datasource.replicas.urls=" + RoteamentoReplicasTest.REPLICA_1 + "," + RoteamentoReplicasTest.REPLICA_2,
+    "datasource.replicas.migrar=true",
+    "datasource.replicas.estrategia=ROUND_ROBIN",
+    "datasource.replicas.fixar-primario-ms=60000"
+})
+class RoteamentoReplicasTest {
+
+    static final String REPLICA_1 = "jdbc:h2:mem:roteamento_replica1;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_2 = "jdbc:h2:mem:roteamento_replica2;DB_CLOSE_DELAY=-1";
+
+    /** Usuário que só existe nas réplicas: nunca gravou, então não está fixado no primário */
+    private static final long USUARIO_SO_NAS_REPLICAS = 900_001L;
+
+    @Autowired
+    private ProjetoService projetoService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private HikariDataSource primarioDataSource;
+
+    @AfterEach
+    void limparAutenticacao() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void leiturasSomenteLeituraAlternamEntreAsReplicas() {
+        semear(REPLICA_1, "Projeto da réplica 1");
+        semear(REPLICA_2, "Projeto da réplica 2");
+        autenticar(USUARIO_SO_NAS_REPLICAS);
+
+        Set<String> nomes = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            List<ProjetoResponse> projetos = projetoService.findAll(USUARIO_SO_NAS_REPLICAS, null, null);
+            assertThat(projetos).hasSize(1);
+            nomes.add(projetos.get(0).getNome());
+        }
+
+        assertThat(nomes).containsExactlyInAnyOrder("Projeto da réplica 1", "Projeto da réplica 2");
+        assertThat(contarProjetos(new JdbcTemplate(primarioDataSource), USUARIO_SO_NAS_REPLICAS)).isZero();
+    }
+
+    @Test
+    void escritaVaiAoPrimarioELeituraSeguinteFicaNoPrimario() {
+        Long usuarioId = registrar("roteamento@teste.com");
+        autenticar(usuarioId);
+
+        ProjetoRequest request = new ProjetoRequest();
+        request.setNome("Projeto gravado no primário");
+        projetoService.create(request, usuarioId);
+
+        // Dentro da janela de fixação a leitura vê a própria gravação, ausente nas réplicas
+        assertThat(projetoService.findAll(usuarioId, null, null))
+            .extracting(ProjetoResponse::getNome)
+            .containsExactly("Projeto gravado no primário");
+        assertThat(contarProjetos(new JdbcTemplate(primarioDataSource), usuarioId)).isEqualTo(1);
+        assertThat(contarProjetos(replica(REPLICA_1), usuarioId)).isZero();
+        assertThat(contarProjetos(replica(REPLICA_2), usuarioId)).isZero();
+    }
+
+    private Long registrar(String email) {
+        RegisterRequest request = new RegisterRequest();
+        request.setNome("Usuário de teste");
+        request.setEmail(email);
+        request.setSenha("senha123");
+        return authService.register(request).getUsuarioId();
+    }
+
+    private static void autenticar(Long usuarioId) {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(usuarioId, null, List.of()));
+    }
+
+    private static void semear(String url, String nomeProjeto) {
+        JdbcTemplate jdbc = replica(url);
+        jdbc.update("INSERT INTO usuarios (id, nome, email, senha, created_at) VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)",
+            USUARIO_SO_NAS_REPLICAS, "Usuário da réplica", "replica@teste.com", "x");
+        jdbc.update("INSERT INTO projetos (id, nome, status, usuario_id, created_at, updated_at) "
+                + "VALUES (?, ?, 'ATIVO', ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+            USUARIO_SO_NAS_REPLICAS, nomeProjeto, USUARIO_SO_NAS_REPLICAS);
+    }
+
+    private static int contarProjetos(JdbcTemplate jdbc, Long usuarioId) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM projetos WHERE usuario_id = ?", Integer.class, usuarioId);
+    }
+
+    private static JdbcTemplate replica(String url) {
+        return new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+    }
+}
@@ -0,0 +1,105 @@
+package com.projectasks.minimundoproject.diario;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.projectasks.minimundoproject.event.TarefaAlteradaEvent;
+import com.projectasks.minimundoproject.event.TipoAlteracao;
+import com.projectasks.minimundoproject.model.Tarefa.StatusTarefa;
+
+/**
+ * Escrita, rotação de segmentos e reprodução do diário, com reabertura do escritor.
+ */
+class DiarioAlteracoesTest {
+
+    // Cabe poucos registros por segmento: força a rotação
+    private static final int TAMANHO_SEGMENTO = 512;
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void reproduzEmOrdemOsRegistrosDeTodosOsSegmentos() throws IOException {
+        try (DiarioAlteracoes diario = new DiarioAlteracoes(diretorio, TAMANHO_SEGMENTO)) {
+            for (long i = 1; i <= 20; i++) {
+                assertThat(diario.anexar(registro(i))).isEqualTo(i);
+            }
+            diario.sincronizar();
+        }
+
+        assertThat(LeitorDiario.segmentos(diretorio)).hasSizeGreaterThan(1);
+
+        List<RegistroDiario> lidos = reproduzir(0);
+        assertThat(lidos).extracting(RegistroDiario::sequencia)
+            .containsExactlyElementsOf(sequencia(1, 20));
+        RegistroDiario setimo = lidos.get(6);
+        assertThat(setimo.entidade()).isEqualTo(RegistroDiario.Entidade.TAREFA);
+        assertThat(setimo.tipo()).isEqualTo(TipoAlteracao.ATUALIZADO);
+        assertThat(setimo.entidadeId()).isEqualTo(7L);
+        assertThat(setimo.texto()).isEqualTo("Tarefa 7");
+        assertThat(setimo.statusAnterior()).isEqualTo(StatusTarefa.NAO_CONCLUIDA);
+        assertThat(setimo.status()).isEqualTo(StatusTarefa.CONCLUIDA);
+        assertThat(setimo.dataFimAnterior()).isNull();
+        assertThat(setimo.dataFim()).isEqualTo(LocalDate.of(2024, 1, 7));
+        assertThat(setimo.paraEvento()).isInstanceOf(TarefaAlteradaEvent.class);
+    }
+
+    @Test
+    void reproducaoParcialComecaDepoisDaSequenciaInformada() throws IOException {
+        try (DiarioAlteracoes diario = new DiarioAlteracoes(diretorio, TAMANHO_SEGMENTO)) {
+            for (long i = 1; i <= 20; i++) {
+                diario.anexar(registro(i));
+            }
+        }
+
+        assertThat(reproduzir(12)).extracting(RegistroDiario::sequencia)
+            .containsExactlyElementsOf(sequencia(13, 20));
+        assertThat(reproduzir(20)).isEmpty();
+    }
+
+    @Test
+    void reaberturaContinuaASequenciaEmSegmentoNovo() throws IOException {
+        try (DiarioAlteracoes diario = new DiarioAlteracoes(diretorio, TAMANHO_SEGMENTO)) {
+            for (long i = 1; i <= 5; i++) {
+                diario.anexar(registro(i));
+            }
+        }
+        int segmentosAntes = LeitorDiario.segmentos(diretorio).size();
+
+        try (DiarioAlteracoes diario = new DiarioAlteracoes(diretorio, TAMANHO_SEGMENTO)) {
+            assertThat(diario.getProximaSequencia()).isEqualTo(6);
+            assertThat(diario.anexar(registro(6))).isEqualTo(6);
+        }
+
+        assertThat(LeitorDiario.segmentos(diretorio)).hasSize(segmentosAntes + 1);
+        assertThat(reproduzir(0)).extracting(RegistroDiario::sequencia)
+            .containsExactlyElementsOf(sequencia(1, 6));
+    }
+
+    private List<RegistroDiario> reproduzir(long desde) throws IOException {
+        List<RegistroDiario> lidos = new ArrayList<>();
+        LeitorDiario.reproduzir(diretorio, desde, lidos::add);
+        return lidos;
+    }
+
+    private static RegistroDiario registro(long i) {
+        return RegistroDiario.de(new TarefaAlteradaEvent(TipoAlteracao.ATUALIZADO, 1L, 10L, i, "Tarefa " + i,
+            StatusTarefa.NAO_CONCLUIDA, null, StatusTarefa.CONCLUIDA, LocalDate.of(2024, 1, (int) i)));
+    }
+
+    private static List<Long> sequencia(long de, long ate) {
+        List<Long> valores = new ArrayList<>();
+        for (long i = de; i <= ate; i++) {
+            valores.add(i);
+        }
+        return valores;
+    }
+}
@@ -0,0 +1,82 @@
+package com.projectasks.minimundoproject.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Plano das consultas dos repositórios no esquema das migrações (H2): cada consulta
+ * sai do índice da V3 feito para ela, sem varrer a tabela.
+ */
+class IndicesConsultasTest {
+
+    private static final String URL = "jdbc:h2:mem:indices_consultas;DB_CLOSE_DELAY=-1";
+
+    private static Connection conexao;
+
+    @BeforeAll
+    static void migrar() throws SQLException {
+        Flyway.configure().dataSource(URL, "sa", "").locations("classpath:db/migration").load().migrate();
+        conexao = DriverManager.getConnection(URL, "sa", "");
+    }
+
+    @AfterAll
+    static void fechar() throws SQLException {
+        try (Statement comando = conexao.createStatement()) {
+            comando.execute("SHUTDOWN");
+        }
+        conexao.close();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', value = {
+        // ProjetoRepository
+        "projetos por usuário (cursor)   | SELECT * FROM projetos WHERE usuario_id = 1 AND id > 0 ORDER BY id | IDX_PROJETOS_USUARIO_ID",
+        "projetos por usuário e status    | SELECT * FROM projetos WHERE usuario_id = 1 AND status = 'ATIVO' AND id > 0 ORDER BY id | IDX_PROJETOS_USUARIO_STATUS",
+        "projetos alterados (sync)        | SELECT * FROM projetos WHERE usuario_id = 1 AND updated_at >= TIMESTAMP '2024-01-01 00:00:00' AND (updated_at > TIMESTAMP '2024-01-01 00:00:00' OR id > 0) ORDER BY updated_at, id | IDX_PROJETOS_USUARIO_UPDATED_AT",
+        // TarefaRepository
+        "tarefas por projeto (cursor)     | SELECT * FROM tarefas WHERE projeto_id = 1 AND id > 0 ORDER BY id | IDX_TAREFAS_PROJETO_ID",
+        "tarefas por projeto e status     | SELECT * FROM tarefas WHERE projeto_id = 1 AND status = 'CONCLUIDA' AND id > 0 ORDER BY id | IDX_TAREFAS_PROJETO_STATUS",
+        "tarefas alteradas (sync)         | SELECT * FROM tarefas WHERE projeto_id = 1 AND updated_at >= TIMESTAMP '2024-01-01 00:00:00' AND (updated_at > TIMESTAMP '2024-01-01 00:00:00' OR id > 0) ORDER BY updated_at, id | IDX_TAREFAS_PROJETO_UPDATED_AT",
+        // ExclusaoRepository
+        "exclusões do usuário (sync)      | SELECT * FROM exclusoes WHERE usuario_id = 1 AND excluido_em >= TIMESTAMP '2024-01-01 00:00:00' AND (excluido_em > TIMESTAMP '2024-01-01 00:00:00' OR id > 0) ORDER BY excluido_em, id | IDX_EXCLUSOES_USUARIO_EXCLUIDO_EM",
+        "expurgo de exclusões             | DELETE FROM exclusoes WHERE excluido_em < TIMESTAMP '2024-01-01 00:00:00' | IDX_EXCLUSOES_EXCLUIDO_EM",
+        // Contadores do dashboard (reconciliação por usuário)
+        "contadores dos projetos          | SELECT * FROM contadores_projeto WHERE usuario_id = 1 | IDX_CONTADORES_PROJETO_USUARIO"
+    })
+    void consultaUsaIndice(String consulta, String sql, String indice) throws SQLException {
+        assertThat(plano(sql))
+            .as(consulta)
+            .contains("PUBLIC." + indice + ":")
+            .doesNotContain("tableScan");
+    }
+
+    /**
+     * existsByTarefaPredecessoraId: vale o índice da V3 ou o que o banco cria para a FK
+     */
+    @Test
+    void predecessoraEmUsoNaoVarreTarefas() throws SQLException {
+        assertThat(plano("SELECT COUNT(*) > 0 FROM tarefas WHERE tarefa_predecessora_id = 1"))
+            .contains("TAREFA_PREDECESSORA_ID = 1")
+            .doesNotContain("tableScan");
+    }
+
+    private static String plano(String sql) throws SQLException {
+        try (Statement comando = conexao.createStatement();
+             ResultSet rs = comando.executeQuery("EXPLAIN " + sql)) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.projectasks.minimundoproject.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.projectasks.minimundoproject.dto.request.ProjetoRequest;
+import com.projectasks.minimundoproject.dto.request.RegisterRequest;
+import com.projectasks.minimundoproject.dto.request.TarefaRequest;
+import com.projectasks.minimundoproject.dto.response.DashboardResponse;
+import com.projectasks.minimundoproject.model.Tarefa.StatusTarefa;
+
+/**
+ * Reconstrução do estado derivado pela reprodução do diário: contadores do dashboard e
+ * índice de busca voltam ao que as alterações produziram. Lotes de 3 registros para o diário
+ * ocupar várias transações, com projeto e tarefas do mesmo projeto em lotes diferentes.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:diario_reconstrucao;DB_CLOSE_DELAY=-1",
+    "diario.diretorio=${java.io.tmpdir}/diario-reconstrucao-${random.uuid}",
+    "diario.lote-reproducao=3"
+})
+class DiarioReconstrucaoTest {
+
+    @Autowired
+    private DiarioService diarioService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private IndiceBuscaService indiceBuscaService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private ProjetoService projetoService;
+
+    @Autowired
+    private TarefaService tarefaService;
+
+    @Test
+    void reproducaoRefazContadoresEIndice() {
+        Long usuarioId = registrar("diario@teste.com");
+        Long alfa = criarProjeto("Projeto alfa", usuarioId);
+        Long excluido = criarProjeto("Projeto excluído", usuarioId);
+        projetoService.delete(excluido, usuarioId);
+
+        criarTarefa(alfa, "Revisar contrato", null, usuarioId);
+        Long concluida = criarTarefa(alfa, "Enviar proposta", null, usuarioId);
+        criarTarefa(alfa, "Pagar fornecedor", LocalDate.now().minusDays(3), usuarioId);
+        Long removida = criarTarefa(alfa, "Tarefa descartada", null, usuarioId);
+
+        TarefaRequest conclusao = new TarefaRequest();
+        conclusao.setProjetoId(alfa);
+        conclusao.setDescricao("Enviar proposta");
+        conclusao.setStatus(StatusTarefa.CONCLUIDA);
+        tarefaService.update(concluida, conclusao, usuarioId);
+        tarefaService.delete(removida, usuarioId);
+
+        DashboardResponse esperado = dashboardService.usuario(usuarioId);
+        assertThat(esperado).isEqualTo(new DashboardResponse(1, 3, 1, 1));
+
+        // Contadores apagados: só a reprodução pode refazê-los
+        dashboardService.zerar();
+        assertThat(dashboardService.usuario(usuarioId)).isEqualTo(new DashboardResponse(0, 0, 0, 0));
+
+        long reaplicados = diarioService.reconstruirEstadoDerivado();
+
+        // Usuário, 2 projetos criados e 1 excluído, 4 tarefas criadas, 1 atualizada e 1 excluída
+        assertThat(reaplicados).isEqualTo(10);
+        assertThat(dashboardService.usuario(usuarioId)).isEqualTo(esperado);
+        assertThat(dashboardService.projeto(alfa, usuarioId)).isEqualTo(new DashboardResponse(1, 3, 1, 1));
+        assertThat(indiceBuscaService.buscarProjetos(usuarioId, "projeto")).containsExactly(alfa);
+        assertThat(indiceBuscaService.buscarTarefas(usuarioId, alfa, "descartada")).isEmpty();
+        assertThat(indiceBuscaService.buscarTarefas(usuarioId, alfa, "proposta")).containsExactly(concluida);
+    }
+
+    private Long registrar(String email) {
+        RegisterRequest request = new RegisterRequest();
+        request.setNome("Usuário de teste");
+        request.setEmail(email);
+        request.setSenha("senha123");
+        return authService.register(request).getUsuarioId();
+    }
+
+    private Long criarProjeto(String nome, Long usuarioId) {
+        ProjetoRequest request = new ProjetoRequest();
+        request.setNome(nome);
+        return projetoService.create(request, usuarioId).getId();
+    }
+
+    private Long criarTarefa(Long projetoId, String descricao, LocalDate dataFim, Long usuarioId) {
+        TarefaRequest request = new TarefaRequest();
+        request.setProjetoId(projetoId);
+        request.setDescricao(descricao);
+        request.setDataFim(dataFim);
+        return tarefaService.create(request, usuarioId).getId();
+    }
+}
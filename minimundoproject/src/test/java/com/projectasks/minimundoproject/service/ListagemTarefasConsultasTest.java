@@ -0,0 +1,122 @@
+package com.projectasks.minimundoproject.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.projectasks.minimundoproject.dto.request.ProjetoRequest;
+import com.projectasks.minimundoproject.dto.request.RegisterRequest;
+import com.projectasks.minimundoproject.dto.request.TarefaRequest;
+import com.projectasks.minimundoproject.dto.response.TarefaResponse;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Listagens de tarefas sem N+1: projeto e predecessora vêm na mesma consulta, então o
+ * número de comandos SQL não cresce com o número de tarefas.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:listagem_tarefas;DB_CLOSE_DELAY=-1",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ListagemTarefasConsultasTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private ProjetoService projetoService;
+
+    @Autowired
+    private TarefaService tarefaService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+
+    private Long usuarioId;
+
+    @BeforeEach
+    void preparar() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        RegisterRequest request = new RegisterRequest();
+        request.setNome("Usuário de teste");
+        request.setEmail("listagem" + System.nanoTime() + "@teste.com");
+        request.setSenha("senha123");
+        usuarioId = authService.register(request).getUsuarioId();
+    }
+
+    @Test
+    void listagemCompletaNaoCarregaAssociacoesPorTarefa() {
+        Long pequeno = projetoComTarefas(2);
+        Long grande = projetoComTarefas(10);
+
+        long comandosPequeno = comandos(() -> tarefaService.findByProjeto(pequeno, usuarioId, null, null));
+        long comandosGrande = comandos(() -> tarefaService.findByProjeto(grande, usuarioId, null, null));
+
+        assertThat(comandosGrande).isEqualTo(comandosPequeno);
+        assertThat(estatisticas.getEntityFetchCount()).isZero();
+    }
+
+    @Test
+    void listagemPaginadaNaoCarregaAssociacoesPorTarefa() {
+        Long pequeno = projetoComTarefas(2);
+        Long grande = projetoComTarefas(10);
+
+        long comandosPequeno = comandos(() -> tarefaService.findByProjetoPaginado(pequeno, usuarioId, null, null, null, 20));
+        long comandosGrande = comandos(() -> tarefaService.findByProjetoPaginado(grande, usuarioId, null, null, null, 20));
+
+        assertThat(comandosGrande).isEqualTo(comandosPequeno);
+        assertThat(estatisticas.getEntityFetchCount()).isZero();
+    }
+
+    @Test
+    void respostaTrazNomeDoProjetoEDescricaoDaPredecessora() {
+        Long projetoId = projetoComTarefas(3);
+
+        List<TarefaResponse> tarefas = tarefaService.findByProjeto(projetoId, usuarioId, null, null);
+
+        assertThat(tarefas).hasSize(3);
+        assertThat(tarefas).allSatisfy(tarefa -> assertThat(tarefa.getProjetoNome()).isEqualTo("Projeto com 3 tarefas"));
+        assertThat(tarefas).filteredOn(tarefa -> tarefa.getDescricao().equals("Tarefa 2"))
+            .singleElement()
+            .extracting(TarefaResponse::getTarefaPredecessoraDescricao)
+            .isEqualTo("Tarefa 1");
+    }
+
+    /**
+     * Comandos SQL preparados durante a chamada
+     */
+    private long comandos(Runnable chamada) {
+        estatisticas.clear();
+        chamada.run();
+        return estatisticas.getPrepareStatementCount();
+    }
+
+    /**
+     * Projeto com tarefas encadeadas: cada tarefa depois da primeira tem a anterior como predecessora
+     */
+    private Long projetoComTarefas(int quantidade) {
+        ProjetoRequest projeto = new ProjetoRequest();
+        projeto.setNome("Projeto com " + quantidade + " tarefas");
+        Long projetoId = projetoService.create(projeto, usuarioId).getId();
+
+        Long anterior = null;
+        for (int i = 0; i < quantidade; i++) {
+            TarefaRequest tarefa = new TarefaRequest();
+            tarefa.setProjetoId(projetoId);
+            tarefa.setDescricao("Tarefa " + i);
+            tarefa.setTarefaPredecessoraId(anterior);
+            anterior = tarefaService.create(tarefa, usuarioId).getId();
+        }
+        return projetoId;
+    }
+}
@@ -0,0 +1,168 @@
+package com.projectasks.minimundoproject.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectasks.minimundoproject.dto.request.LoginRequest;
+import com.projectasks.minimundoproject.dto.request.RegisterRequest;
+import com.projectasks.minimundoproject.dto.response.AuthResponse;
+import com.projectasks.minimundoproject.service.AuthService;
+
+/**
+ * Sharding com três H2 em memória: cada usuário grava e lê no seu shard, o login passa
+ * pelo diretório de emails e o rebalanceamento move os dados para o shard do anel.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:roteamento_diretorio;DB_CLOSE_DELAY=-1",
+    "datasource.shards.urls=jdbc:h2:mem:roteamento_shard1;DB_CLOSE_DELAY=-1,"
+        + "jdbc:h2:mem:roteamento_shard2;DB_CLOSE_DELAY=-1,jdbc:h2:mem:roteamento_shard3;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+class RoteamentoShardsTest {
+
+    private static final int TOTAL_SHARDS = 3;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private DiretorioUsuariosShards diretorio;
+
+    @Autowired
+    private AnelConsistente anel;
+
+    @Autowired
+    private ShardDataSource shards;
+
+    @Autowired
+    private ConfigurableApplicationContext contexto;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void cadaUsuarioGravaELeNoSeuShard() throws Exception {
+        Map<Integer, AuthResponse> porShard = umUsuarioPorShard("roteamento");
+        assertThat(porShard).containsOnlyKeys(1, 2, 3);
+
+        for (Map.Entry<Integer, AuthResponse> entrada : porShard.entrySet()) {
+            Long usuarioId = entrada.getValue().getUsuarioId();
+            assertThat(diretorio.shardDe(usuarioId)).isEqualTo(anel.shardDe(usuarioId)).isEqualTo(entrada.getKey());
+            criarProjeto(entrada.getValue().getToken(), "Projeto no shard " + entrada.getKey());
+        }
+
+        for (Map.Entry<Integer, AuthResponse> entrada : porShard.entrySet()) {
+            Long usuarioId = entrada.getValue().getUsuarioId();
+            for (int shard = 1; shard <= TOTAL_SHARDS; shard++) {
+                assertThat(contarProjetos(shard, usuarioId))
+                    .as("projetos do usuário %d no shard %d", usuarioId, shard)
+                    .isEqualTo(shard == entrada.getKey() ? 1 : 0);
+            }
+            assertThat(listarProjetos(entrada.getValue().getToken()))
+                .containsExactly("Projeto no shard " + entrada.getKey());
+        }
+    }
+
+    @Test
+    void loginEncontraOUsuarioPeloDiretorio() {
+        Map<Integer, AuthResponse> porShard = umUsuarioPorShard("login");
+
+        for (Map.Entry<Integer, AuthResponse> entrada : porShard.entrySet()) {
+            LoginRequest request = new LoginRequest();
+            request.setEmail(entrada.getValue().getEmail());
+            request.setSenha("senha123");
+
+            assertThat(authService.login(request).getUsuarioId()).isEqualTo(entrada.getValue().getUsuarioId());
+        }
+    }
+
+    @Test
+    void rebalanceamentoMoveOsDadosParaOShardDoAnel() throws Exception {
+        Map<Integer, AuthResponse> porShard = umUsuarioPorShard("rebalanceamento");
+        for (Map.Entry<Integer, AuthResponse> entrada : porShard.entrySet()) {
+            criarProjeto(entrada.getValue().getToken(), "Projeto a mover " + entrada.getKey());
+        }
+
+        // Anel com um só shard: todos os usuários pertencem ao shard 1
+        new RebalanceamentoShards(shards, shards.getDiretorio(), new AnelConsistente(1, 16),
+            diretorio, contexto, false).run(null);
+
+        for (Map.Entry<Integer, AuthResponse> entrada : porShard.entrySet()) {
+            Long usuarioId = entrada.getValue().getUsuarioId();
+            assertThat(diretorio.shardDe(usuarioId)).isEqualTo(1);
+            assertThat(contarProjetos(1, usuarioId)).isEqualTo(1);
+            for (int shard = 2; shard <= TOTAL_SHARDS; shard++) {
+                assertThat(contarProjetos(shard, usuarioId)).isZero();
+            }
+            assertThat(listarProjetos(entrada.getValue().getToken()))
+                .containsExactly("Projeto a mover " + entrada.getKey());
+        }
+    }
+
+    /**
+     * Registra usuários até haver um em cada shard
+     */
+    private Map<Integer, AuthResponse> umUsuarioPorShard(String prefixo) {
+        Map<Integer, AuthResponse> porShard = new HashMap<>();
+        for (int i = 0; porShard.size() < TOTAL_SHARDS && i < 100; i++) {
+            AuthResponse usuario = registrar(prefixo + "-" + i + "@teste.com");
+            porShard.putIfAbsent(diretorio.shardDe(usuario.getUsuarioId()), usuario);
+        }
+        return porShard;
+    }
+
+    private AuthResponse registrar(String email) {
+        RegisterRequest request = new RegisterRequest();
+        request.setNome("Usuário de teste");
+        request.setEmail(email);
+        request.setSenha("senha123");
+        return authService.register(request);
+    }
+
+    private void criarProjeto(String token, String nome) throws Exception {
+        mvc.perform(post("/api/projetos")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("nome", nome))))
+            .andExpect(status().isCreated());
+    }
+
+    private List<String> listarProjetos(String token) throws Exception {
+        String corpo = mvc.perform(get("/api/projetos")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        List<String> nomes = new ArrayList<>();
+        for (JsonNode projeto : objectMapper.readTree(corpo).get("itens")) {
+            nomes.add(projeto.get("nome").asText());
+        }
+        return nomes;
+    }
+
+    private int contarProjetos(int shard, Long usuarioId) {
+        return new JdbcTemplate(shards.shard(shard)).queryForObject(
+            "SELECT COUNT(*) FROM projetos WHERE usuario_id = ?", Integer.class, usuarioId);
+    }
+}
@@ -0,0 +1,95 @@
+package com.projectasks.minimundoproject.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectasks.minimundoproject.dto.request.RegisterRequest;
+import com.projectasks.minimundoproject.dto.response.AuthResponse;
+import com.projectasks.minimundoproject.service.AuthService;
+
+/**
+ * Listagem em streaming com sharding: a resposta é escrita na thread do executor de
+ * streaming e precisa ler do shard do usuário, não do banco do diretório.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:streaming_diretorio;DB_CLOSE_DELAY=-1",
+    "datasource.shards.urls=jdbc:h2:mem:streaming_shard1;DB_CLOSE_DELAY=-1,jdbc:h2:mem:streaming_shard2;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+class StreamingShardsTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private DiretorioUsuariosShards diretorio;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void streamingLeDoShardDoUsuario() throws Exception {
+        // Um usuário em cada shard
+        Map<Integer, AuthResponse> porShard = new HashMap<>();
+        for (int i = 0; porShard.size() < 2 && i < 50; i++) {
+            AuthResponse usuario = registrar("streaming" + i + "@teste.com");
+            porShard.putIfAbsent(diretorio.shardDe(usuario.getUsuarioId()), usuario);
+        }
+        assertThat(porShard).containsOnlyKeys(1, 2);
+
+        for (Map.Entry<Integer, AuthResponse> entrada : porShard.entrySet()) {
+            String token = entrada.getValue().getToken();
+            String nome = "Projeto do shard " + entrada.getKey();
+            mvc.perform(post("/api/projetos")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(Map.of("nome", nome))))
+                .andExpect(status().isCreated());
+
+            JsonNode projetos = stream(token);
+
+            assertThat(projetos).hasSize(1);
+            assertThat(projetos.get(0).get("nome").asText()).isEqualTo(nome);
+        }
+    }
+
+    private AuthResponse registrar(String email) {
+        RegisterRequest request = new RegisterRequest();
+        request.setNome("Usuário de teste");
+        request.setEmail(email);
+        request.setSenha("senha123");
+        return authService.register(request);
+    }
+
+    private JsonNode stream(String token) throws Exception {
+        MvcResult inicio = mvc.perform(get("/api/projetos/stream")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        MvcResult resultado = mvc.perform(asyncDispatch(inicio))
+            .andExpect(status().isOk())
+            .andReturn();
+        return objectMapper.readTree(resultado.getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,119 @@
+package db.migration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Banco anterior ao Flyway (ids por IDENTITY) migrado com baseline na V1: as sequências
+ * passam a gerar blocos (allocationSize 50) inteiramente acima dos ids já gravados.
+ */
+class V6SequenciasAcimaDosIdsTest {
+
+    private static final String ESQUEMA_LEGADO = """
+        CREATE TABLE usuarios (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+            nome VARCHAR(255) NOT NULL, email VARCHAR(255) NOT NULL UNIQUE, senha VARCHAR(255) NOT NULL,
+            created_at TIMESTAMP(6) NOT NULL);
+        CREATE TABLE projetos (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+            nome VARCHAR(255) NOT NULL UNIQUE, descricao TEXT, status VARCHAR(20) NOT NULL,
+            orcamento_disponivel NUMERIC(15, 2), usuario_id BIGINT NOT NULL REFERENCES usuarios (id),
+            created_at TIMESTAMP(6) NOT NULL, updated_at TIMESTAMP(6));
+        CREATE TABLE tarefas (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+            descricao VARCHAR(255) NOT NULL, projeto_id BIGINT NOT NULL REFERENCES projetos (id),
+            data_inicio DATE, data_fim DATE, tarefa_predecessora_id BIGINT REFERENCES tarefas (id),
+            status VARCHAR(20) NOT NULL, created_at TIMESTAMP(6) NOT NULL, updated_at TIMESTAMP(6));
+        INSERT INTO usuarios (id, nome, email, senha, created_at) VALUES (1, 'Ana', 'ana@x.com', 'x', CURRENT_TIMESTAMP);
+        INSERT INTO projetos (id, nome, status, usuario_id, created_at) VALUES (120, 'Legado', 'ATIVO', 1, CURRENT_TIMESTAMP);
+        INSERT INTO tarefas (id, descricao, projeto_id, status, created_at) VALUES (75, 'Legada', 120, 'NAO_CONCLUIDA', CURRENT_TIMESTAMP);
+        """;
+
+    @Test
+    void criaSequenciasAusentesAcimaDoMaiorId() throws SQLException {
+        String url = banco(ESQUEMA_LEGADO);
+
+        migrar(url);
+
+        try (Connection conexao = DriverManager.getConnection(url, "sa", "")) {
+            assertThat(primeiroIdDoBloco(conexao, "projetos_seq")).isGreaterThan(120);
+            assertThat(primeiroIdDoBloco(conexao, "tarefas_seq")).isGreaterThan(75);
+            assertThat(proximoValor(conexao, "exclusoes_seq")).isEqualTo(1);
+        }
+    }
+
+    /**
+     * Sequências criadas pelo ddl-auto depois da troca para SEQUENCE começam em 1
+     */
+    @Test
+    void avancaSequenciasExistentesAbaixoDoMaiorId() throws SQLException {
+        String url = banco(ESQUEMA_LEGADO + """
+            CREATE SEQUENCE projetos_seq START WITH 1 INCREMENT BY 50;
+            CREATE SEQUENCE tarefas_seq START WITH 1 INCREMENT BY 50;
+            """);
+
+        migrar(url);
+
+        try (Connection conexao = DriverManager.getConnection(url, "sa", "")) {
+            assertThat(primeiroIdDoBloco(conexao, "projetos_seq")).isGreaterThan(120);
+            assertThat(primeiroIdDoBloco(conexao, "tarefas_seq")).isGreaterThan(75);
+        }
+    }
+
+    @Test
+    void naoRecuaSequenciaJaAcimaDoMaiorId() throws SQLException {
+        String url = banco(ESQUEMA_LEGADO + """
+            CREATE SEQUENCE projetos_seq START WITH 1001 INCREMENT BY 50;
+            CREATE SEQUENCE tarefas_seq START WITH 1001 INCREMENT BY 50;
+            """);
+
+        migrar(url);
+
+        try (Connection conexao = DriverManager.getConnection(url, "sa", "")) {
+            assertThat(proximoValor(conexao, "projetos_seq")).isEqualTo(1001);
+        }
+    }
+
+    private static String banco(String ddl) throws SQLException {
+        String url = "jdbc:h2:mem:v6_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        try (Connection conexao = DriverManager.getConnection(url, "sa", "");
+             Statement comando = conexao.createStatement()) {
+            comando.execute(ddl);
+        }
+        return url;
+    }
+
+    /**
+     * Mesma configuração de application.properties
+     */
+    private static void migrar(String url) {
+        Flyway.configure()
+            .dataSource(url, "sa", "")
+            .locations("classpath:db/migration")
+            .baselineOnMigrate(true)
+            .baselineVersion("1")
+            .load()
+            .migrate();
+    }
+
+    private static long proximoValor(Connection conexao, String sequencia) throws SQLException {
+        try (Statement comando = conexao.createStatement();
+             ResultSet rs = comando.executeQuery("SELECT NEXT VALUE FOR " + sequencia)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * O otimizador pooled do Hibernate usa o valor da sequência como fim do bloco
+     */
+    private static long primeiroIdDoBloco(Connection conexao, String sequencia) throws SQLException {
+        return proximoValor(conexao, sequencia) - 49;
+    }
+}